@@ -0,0 +1,132 @@
+package com.modelisation.benchmarks;
+
+import com.modelisation.model.Drawing;
+import com.modelisation.model.graph.Graph;
+import com.modelisation.model.graph.GraphConstructionMode;
+import com.modelisation.model.graph.Node;
+import com.modelisation.model.graph.ShapeGraphCache;
+import com.modelisation.model.shapes.Circle;
+import com.modelisation.model.shapes.Shape;
+import javafx.scene.paint.Color;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Génération de dessins reproductibles pour les benchmarks
+ * La surface du canvas croît avec le nombre de formes (densité constante d'environ
+ * une forme par carré de 20 unités de côté), comme un dessin que l'on agrandit.
+ */
+public final class BenchmarkDrawings {
+
+    /** Graine fixe : les mêmes dessins d'une exécution à l'autre */
+    public static final long SEED = 42;
+    private static final double SPACING = 20.0;
+    /** Nombre moyen de formes par groupe pour la disposition CLUSTERED */
+    private static final int SHAPES_PER_CLUSTER = 1_000;
+
+    /**
+     * Disposition des formes sur le canvas
+     */
+    public enum Layout {
+        /** Centres uniformes dans un carré */
+        RANDOM,
+        /** Grille régulière, la plus proche possible d'un carré */
+        GRID,
+        /** Groupes gaussiens autour de centres uniformes */
+        CLUSTERED
+    }
+
+    private BenchmarkDrawings() {
+    }
+
+    /**
+     * Crée un dessin de cercles selon la disposition demandée
+     * @param layout Disposition des formes
+     * @param shapeCount Nombre de formes
+     * @return Le dessin, rempli en une seule notification
+     */
+    public static Drawing createDrawing(Layout layout, int shapeCount) {
+        Drawing drawing = new Drawing("Benchmark " + layout + " " + shapeCount, "Dessin généré");
+        drawing.addAll(createShapes(layout, shapeCount));
+        return drawing;
+    }
+
+    /**
+     * Construit le graphe de proximité d'un dessin, comme le mode plus court chemin du contrôleur
+     */
+    public static Graph buildGraph(Drawing drawing) {
+        return buildGraph(drawing, GraphConstructionMode.PROXIMITY);
+    }
+
+    /**
+     * Construit le graphe des formes d'un dessin selon un mode de construction
+     */
+    public static Graph buildGraph(Drawing drawing, GraphConstructionMode mode) {
+        ShapeGraphCache cache = new ShapeGraphCache(drawing);
+        cache.setConstructionMode(mode);
+        Graph graph = cache.getGraph();
+        cache.dispose();
+        return graph;
+    }
+
+    /**
+     * Choisit deux nœuds aux coins opposés du dessin (plus court chemin le plus long possible)
+     * @return {nœud en haut à gauche, nœud en bas à droite}
+     */
+    public static Node[] oppositeCorners(Graph graph) {
+        Node first = null, last = null;
+        for (Node node : graph.getNodes()) {
+            double sum = node.getX() + node.getY();
+            if (first == null || sum < first.getX() + first.getY()) {
+                first = node;
+            }
+            if (last == null || sum > last.getX() + last.getY()) {
+                last = node;
+            }
+        }
+        return new Node[]{first, last};
+    }
+
+    static List<Shape> createShapes(Layout layout, int shapeCount) {
+        Random random = new Random(SEED);
+        double side = Math.sqrt((double) shapeCount) * SPACING;
+        List<Shape> shapes = new ArrayList<>(shapeCount);
+
+        switch (layout) {
+            case RANDOM:
+                for (int i = 0; i < shapeCount; i++) {
+                    shapes.add(circle(random.nextDouble() * side, random.nextDouble() * side, random));
+                }
+                break;
+            case GRID:
+                int columns = (int) Math.ceil(Math.sqrt(shapeCount));
+                for (int i = 0; i < shapeCount; i++) {
+                    shapes.add(circle((i % columns) * SPACING, (i / columns) * SPACING, random));
+                }
+                break;
+            case CLUSTERED:
+                int clusterCount = Math.max(1, shapeCount / SHAPES_PER_CLUSTER);
+                double[] centers = new double[clusterCount * 2];
+                for (int c = 0; c < centers.length; c++) {
+                    centers[c] = random.nextDouble() * side;
+                }
+                // Écart-type d'un dixième de l'espace moyen par groupe : groupes denses et séparés
+                double sigma = side / Math.sqrt(clusterCount) / 10.0;
+                for (int i = 0; i < shapeCount; i++) {
+                    int c = random.nextInt(clusterCount);
+                    shapes.add(circle(centers[2 * c] + random.nextGaussian() * sigma,
+                                      centers[2 * c + 1] + random.nextGaussian() * sigma, random));
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Disposition non supportée: " + layout);
+        }
+        return shapes;
+    }
+
+    private static Shape circle(double x, double y, Random random) {
+        return new Circle(x, y, 2 + random.nextDouble() * 3, Color.BLACK, 1.0);
+    }
+}
@@ -0,0 +1,77 @@
+package com.modelisation.benchmarks;
+
+import com.modelisation.model.graph.Graph;
+import com.modelisation.model.graph.Node;
+import com.modelisation.model.graph.algorithms.DeltaSteppingStrategy;
+import com.modelisation.model.graph.algorithms.ShortestPathStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Passage à l'échelle du delta-stepping parallèle selon le nombre de cœurs
+ * Arbre complet des plus courts chemins depuis un coin, sur un pool ForkJoin de 1 à N threads.
+ * La référence séquentielle est ShortestPathBenchmark.dijkstraAlgorithmAllPaths.
+ * Pour aller jusqu'au nombre de cœurs de la machine :
+ *     java -jar target/benchmarks.jar DeltaStepping -p threads=1,2,4,8,16,32
+ * et pour comparer des largeurs de seau : -p bucketWidth=5,20,80 (0 = automatique)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class DeltaSteppingScalingBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int shapeCount;
+
+    @Param({"RANDOM", "GRID"})
+    public BenchmarkDrawings.Layout layout;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    /** Largeur des seaux ; 0 pour la largeur automatique (poids moyen des arcs) */
+    @Param({"0"})
+    public double bucketWidth;
+
+    private Graph graph;
+    private Node source;
+    private ForkJoinPool pool;
+    private DeltaSteppingStrategy deltaStepping;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = BenchmarkDrawings.buildGraph(BenchmarkDrawings.createDrawing(layout, shapeCount));
+        source = BenchmarkDrawings.oppositeCorners(graph)[0];
+        graph.toCsr(); // Instantané construit hors mesure
+        pool = new ForkJoinPool(threads);
+        deltaStepping = new DeltaSteppingStrategy(
+            bucketWidth > 0 ? bucketWidth : DeltaSteppingStrategy.AUTOMATIC_BUCKET_WIDTH, pool);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public ShortestPathStrategy.ShortestPathResult deltaSteppingAllPaths() {
+        return deltaStepping.findShortestPaths(graph, source);
+    }
+}
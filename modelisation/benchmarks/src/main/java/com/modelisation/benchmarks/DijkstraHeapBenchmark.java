@@ -0,0 +1,187 @@
+package com.modelisation.benchmarks;
+
+import com.modelisation.model.graph.CsrGraph;
+import com.modelisation.model.graph.Edge;
+import com.modelisation.model.graph.Graph;
+import com.modelisation.model.graph.Node;
+import com.modelisation.model.graph.NodeGrid;
+import com.modelisation.model.graph.algorithms.DijkstraAlgorithm;
+import com.modelisation.model.graph.algorithms.IndexedMinHeap;
+import com.modelisation.model.graph.algorithms.ShortestPathStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Files de priorité de Dijkstra sur des graphes de proximité aléatoires (10^5 à 10^6 arêtes)
+ * PriorityQueue avec remove() en O(n), PriorityQueue avec doublons, IndexedMinHeap avec
+ * diminution de clé, et DijkstraAlgorithm pour référence. Arbre complet depuis le nœud 0.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class DijkstraHeapBenchmark {
+
+    /** Degré moyen ~8 : environ 10^5 et 10^6 arêtes */
+    @Param({"25000", "250000"})
+    public int nodeCount;
+
+    private static final double AVERAGE_DEGREE = 8;
+
+    private Graph graph;
+    private CsrGraph csr;
+    private Node source;
+
+    private final DijkstraAlgorithm dijkstraAlgorithm = new DijkstraAlgorithm();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = randomProximityGraph(nodeCount, AVERAGE_DEGREE, 42);
+        csr = graph.toCsr();
+        source = csr.getNode(0);
+
+        // Les variantes doivent calculer les mêmes distances
+        double[] reference = indexedHeap(csr, 0);
+        check(reference, lazyDeletion(csr, 0));
+        check(reference, removeAndReinsert(csr, 0));
+    }
+
+    @Benchmark
+    public double[] priorityQueueRemove() {
+        return removeAndReinsert(csr, 0);
+    }
+
+    @Benchmark
+    public double[] priorityQueueLazyDeletion() {
+        return lazyDeletion(csr, 0);
+    }
+
+    @Benchmark
+    public double[] indexedMinHeap() {
+        return indexedHeap(csr, 0);
+    }
+
+    @Benchmark
+    public ShortestPathStrategy.ShortestPathResult dijkstraAlgorithmAllPaths() {
+        return dijkstraAlgorithm.findShortestPaths(graph, source);
+    }
+
+    /**
+     * Graphe de proximité : points uniformes dans un carré, reliés sous un rayon donnant le degré moyen voulu
+     */
+    private static Graph randomProximityGraph(int nodeCount, double averageDegree, long seed) {
+        Random random = new Random(seed);
+        double side = 1000;
+        double radius = Math.sqrt(averageDegree * side * side / (Math.PI * nodeCount));
+        Graph graph = new Graph(false);
+        List<Node> nodes = new ArrayList<>(nodeCount);
+        for (int i = 0; i < nodeCount; i++) {
+            Node node = new Node("N" + i, random.nextDouble() * side, random.nextDouble() * side);
+            nodes.add(node);
+            graph.addNode(node);
+        }
+        new NodeGrid(nodes, radius).forEachPairWithin(radius,
+                (a, b) -> graph.addEdge(new Edge(a, b, a.distanceTo(b))));
+        return graph;
+    }
+
+    private static void check(double[] expected, double[] actual) {
+        for (int i = 0; i < expected.length; i++) {
+            if (Math.abs(expected[i] - actual[i]) > 1e-9) {
+                throw new IllegalStateException("Distances différentes pour le nœud " + i);
+            }
+        }
+    }
+
+    private static double[] indexedHeap(CsrGraph csr, int source) {
+        int n = csr.getNodeCount();
+        double[] dist = new double[n];
+        boolean[] settled = new boolean[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        dist[source] = 0;
+        IndexedMinHeap heap = new IndexedMinHeap(n);
+        heap.insert(source, 0);
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            settled[u] = true;
+            for (int arc = csr.firstArc(u), end = csr.endArc(u); arc < end; arc++) {
+                int v = csr.arcTarget(arc);
+                double d = dist[u] + csr.arcWeight(arc);
+                if (!settled[v] && d < dist[v]) {
+                    dist[v] = d;
+                    heap.insertOrDecrease(v, d);
+                }
+            }
+        }
+        return dist;
+    }
+
+    private static double[] removeAndReinsert(CsrGraph csr, int source) {
+        int n = csr.getNodeCount();
+        double[] dist = new double[n];
+        boolean[] settled = new boolean[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        dist[source] = 0;
+        PriorityQueue<Integer> queue = new PriorityQueue<>((a, b) -> Double.compare(dist[a], dist[b]));
+        queue.add(source);
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            settled[u] = true;
+            for (int arc = csr.firstArc(u), end = csr.endArc(u); arc < end; arc++) {
+                int v = csr.arcTarget(arc);
+                double d = dist[u] + csr.arcWeight(arc);
+                if (!settled[v] && d < dist[v]) {
+                    queue.remove(v);
+                    dist[v] = d;
+                    queue.add(v);
+                }
+            }
+        }
+        return dist;
+    }
+
+    private static double[] lazyDeletion(CsrGraph csr, int source) {
+        int n = csr.getNodeCount();
+        double[] dist = new double[n];
+        boolean[] settled = new boolean[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        dist[source] = 0;
+        PriorityQueue<double[]> queue = new PriorityQueue<>((a, b) -> Double.compare(a[0], b[0]));
+        queue.add(new double[] {0, source});
+        while (!queue.isEmpty()) {
+            int u = (int) queue.poll()[1];
+            if (settled[u]) {
+                continue;
+            }
+            settled[u] = true;
+            for (int arc = csr.firstArc(u), end = csr.endArc(u); arc < end; arc++) {
+                int v = csr.arcTarget(arc);
+                double d = dist[u] + csr.arcWeight(arc);
+                if (!settled[v] && d < dist[v]) {
+                    dist[v] = d;
+                    queue.add(new double[] {d, v});
+                }
+            }
+        }
+        return dist;
+    }
+}
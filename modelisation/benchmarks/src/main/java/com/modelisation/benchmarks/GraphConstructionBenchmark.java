@@ -0,0 +1,53 @@
+package com.modelisation.benchmarks;
+
+import com.modelisation.model.Drawing;
+import com.modelisation.model.graph.Graph;
+import com.modelisation.model.graph.GraphConstructionMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construction complète du graphe des formes d'un dessin (arêtes et connexité),
+ * telle que la déclenche le passage en mode plus court chemin, pour chaque mode de construction
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class GraphConstructionBenchmark {
+
+    @Param({"100", "1000", "10000", "100000", "1000000"})
+    public int shapeCount;
+
+    @Param({"RANDOM", "GRID", "CLUSTERED"})
+    public BenchmarkDrawings.Layout layout;
+
+    @Param({"PROXIMITY", "NEAREST_NEIGHBORS", "DELAUNAY", "RELATIVE_NEIGHBORHOOD"})
+    public GraphConstructionMode mode;
+
+    private Drawing drawing;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        drawing = BenchmarkDrawings.createDrawing(layout, shapeCount);
+    }
+
+    @Benchmark
+    public Graph buildGraph() {
+        return BenchmarkDrawings.buildGraph(drawing, mode);
+    }
+}
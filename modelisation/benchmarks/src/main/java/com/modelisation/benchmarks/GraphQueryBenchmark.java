@@ -0,0 +1,74 @@
+package com.modelisation.benchmarks;
+
+import com.modelisation.model.graph.Graph;
+import com.modelisation.model.graph.Node;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requêtes élémentaires sur le graphe : voisinage d'un nœud et connexité
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class GraphQueryBenchmark {
+
+    /** Nombre de nœuds interrogés par appel de neighbors() */
+    private static final int SAMPLED_NODES = 1024;
+
+    @Param({"100", "1000", "10000", "100000", "1000000"})
+    public int shapeCount;
+
+    @Param({"RANDOM", "GRID", "CLUSTERED"})
+    public BenchmarkDrawings.Layout layout;
+
+    private Graph graph;
+    private Node[] sample;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = BenchmarkDrawings.buildGraph(BenchmarkDrawings.createDrawing(layout, shapeCount));
+        List<Node> nodes = new ArrayList<>(graph.getNodes());
+        Collections.shuffle(nodes, new Random(BenchmarkDrawings.SEED));
+        sample = new Node[SAMPLED_NODES];
+        for (int i = 0; i < SAMPLED_NODES; i++) {
+            sample[i] = nodes.get(i % nodes.size());
+        }
+    }
+
+    /**
+     * Temps pour SAMPLED_NODES appels à getNeighbors, sur des nœuds tirés au hasard
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void neighbors(Blackhole blackhole) {
+        for (Node node : sample) {
+            blackhole.consume(graph.getNeighbors(node));
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public boolean isConnected() {
+        return graph.isConnected();
+    }
+}
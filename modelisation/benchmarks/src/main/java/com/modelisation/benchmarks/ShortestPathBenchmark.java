@@ -0,0 +1,85 @@
+package com.modelisation.benchmarks;
+
+import com.modelisation.model.graph.Graph;
+import com.modelisation.model.graph.Node;
+import com.modelisation.model.graph.algorithms.BFSAlgorithm;
+import com.modelisation.model.graph.algorithms.DijkstraAlgorithm;
+import com.modelisation.model.graph.algorithms.DijkstraStrategy;
+import com.modelisation.model.graph.algorithms.ShortestPathStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plus courts chemins sur le graphe de proximité de dessins générés
+ * Requêtes point à point entre deux coins opposés (pire cas pour l'arrêt anticipé)
+ * et arbres complets depuis un coin.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class ShortestPathBenchmark {
+
+    @Param({"100", "1000", "10000", "100000", "1000000"})
+    public int shapeCount;
+
+    @Param({"RANDOM", "GRID", "CLUSTERED"})
+    public BenchmarkDrawings.Layout layout;
+
+    private Graph graph;
+    private Node source;
+    private Node target;
+
+    private final DijkstraStrategy dijkstraStrategy = new DijkstraStrategy();
+    private final DijkstraAlgorithm dijkstraAlgorithm = new DijkstraAlgorithm();
+    private final BFSAlgorithm bfs = new BFSAlgorithm();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = BenchmarkDrawings.buildGraph(BenchmarkDrawings.createDrawing(layout, shapeCount));
+        Node[] corners = BenchmarkDrawings.oppositeCorners(graph);
+        source = corners[0];
+        target = corners[1];
+        graph.toCsr(); // Instantané construit hors mesure, comme pour des requêtes répétées
+    }
+
+    @Benchmark
+    public List<Node> dijkstraStrategyPointToPoint() {
+        return dijkstraStrategy.findShortestPath(graph, source, target);
+    }
+
+    @Benchmark
+    public List<Node> dijkstraAlgorithmPointToPoint() {
+        return dijkstraAlgorithm.findShortestPath(graph, source, target);
+    }
+
+    @Benchmark
+    public ShortestPathStrategy.ShortestPathResult dijkstraAlgorithmAllPaths() {
+        return dijkstraAlgorithm.findShortestPaths(graph, source);
+    }
+
+    @Benchmark
+    public List<Node> bfsPointToPoint() {
+        return bfs.findShortestPath(graph, source, target);
+    }
+
+    @Benchmark
+    public ShortestPathStrategy.ShortestPathResult bfsAllPaths() {
+        return bfs.findShortestPaths(graph, source);
+    }
+}
@@ -22,27 +22,23 @@ import java.nio.file.Files;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Optional;
+import com.modelisation.model.geometry.ConvexHull;
 import com.modelisation.model.graph.Graph;
+import com.modelisation.model.graph.GraphConstructionMode;
 import com.modelisation.model.graph.Node;
 import com.modelisation.model.graph.Edge;
+import com.modelisation.model.graph.ShapeGraphCache;
 import com.modelisation.model.graph.algorithms.DijkstraStrategy;
 import com.modelisation.model.graph.algorithms.BFSAlgorithm;
+import com.modelisation.model.graph.algorithms.AStarStrategy;
+import com.modelisation.model.graph.algorithms.BidirectionalDijkstraStrategy;
+import com.modelisation.model.graph.algorithms.DeltaSteppingStrategy;
+import com.modelisation.model.graph.algorithms.LoggingTraceListener;
+import com.modelisation.model.graph.algorithms.SearchTraceListener;
 import com.modelisation.model.graph.algorithms.ShortestPathStrategy;
 import com.modelisation.model.shapes.Shape;
-import com.modelisation.model.shapes.Rectangle; // Assuming Rectangle is a primary shape type
-import com.modelisation.model.shapes.Circle;     // For getShapeCenter
-import com.modelisation.model.shapes.Line;     // For getShapeCenter
-import javafx.geometry.Point2D;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
-import java.util.Queue;
-import java.util.Set;
-import java.util.UUID; // For potentially more robust node IDs
 import javafx.application.Platform;
 
 /**
@@ -65,7 +61,10 @@ public class DrawingController {
     private boolean shortestPathMode = false;
     private Shape selectedStartShapeForPath = null;
     private Graph currentGraphForPathfinding = null;
-    private Map<Shape, Node> shapeToNodeMapForPathfinding = new HashMap<>();
+    private ShapeGraphCache graphCache;
+
+    // Trace détaillée des recherches (nœuds fixés, arcs relâchés), activée par -Dmodelisation.tracePathfinding=true
+    private static final boolean TRACE_PATHFINDING = Boolean.getBoolean("modelisation.tracePathfinding");
 
     // Algorithm selection
     private ShortestPathStrategy currentAlgorithm = new DijkstraStrategy();
@@ -76,6 +75,7 @@ public class DrawingController {
     
     public DrawingController(Drawing drawing, MainView mainView) {
         this.currentDrawing = drawing;
+        this.graphCache = new ShapeGraphCache(drawing);
         this.mainView = mainView;
         this.databaseManager = DatabaseManager.getInstance();
         this.persistenceManager = new DrawingPersistenceManager();
@@ -137,8 +137,7 @@ public class DrawingController {
         }
 
         if (newShape != null) {
-            currentDrawing.addShape(newShape);
-            mainView.getDrawingCanvas().redraw(); // Redraw the canvas
+            currentDrawing.addShape(newShape); // The canvas repaints the new shape's region on notification
             logAction(shapeNameForLog + " added at (" + String.format("%.2f", x) + ", " + String.format("%.2f", y) + ")");
             mainView.getStatusBar().setMessage(shapeNameForLog + " added.");
         } else {
@@ -171,7 +170,7 @@ public class DrawingController {
 
         // Mettre à jour la vue
         mainView.getDrawingCanvas().setDrawing(newDrawing);
-        currentDrawing = newDrawing;
+        setCurrentDrawing(newDrawing);
         currentFile = null;
 
         // Logger l'action
@@ -233,7 +232,7 @@ public class DrawingController {
 
                 // Mettre à jour la vue
                 mainView.getDrawingCanvas().setDrawing(newDrawing);
-                currentDrawing = newDrawing;
+                setCurrentDrawing(newDrawing);
                 currentFile = file;
                 currentDrawingId = -1; // Pas d'ID de base de données
 
@@ -284,7 +283,7 @@ public class DrawingController {
 
                     // Mettre à jour la vue
                     mainView.getDrawingCanvas().setDrawing(newDrawing);
-                    currentDrawing = newDrawing;
+                    setCurrentDrawing(newDrawing);
                     currentDrawingId = selectedDrawing.id;
                     currentFile = null;
 
@@ -495,6 +494,21 @@ public class DrawingController {
 
     // --- Shortest Path Functionality ---
 
+    /**
+     * Remplace le dessin courant et rattache le cache du graphe au nouveau dessin
+     */
+    private void setCurrentDrawing(Drawing drawing) {
+        graphCache.dispose();
+        currentDrawing = drawing;
+        GraphConstructionMode mode = graphCache.getConstructionMode();
+        int nearestNeighborCount = graphCache.getNearestNeighborCount();
+        graphCache = new ShapeGraphCache(drawing);
+        graphCache.setConstructionMode(mode);
+        graphCache.setNearestNeighborCount(nearestNeighborCount);
+        currentGraphForPathfinding = null;
+        selectedStartShapeForPath = null;
+    }
+
     public boolean isShortestPathModeActive() {
         return shortestPathMode;
     }
@@ -510,19 +524,19 @@ public class DrawingController {
             // Activer le mode de sélection de chemin dans le canvas
             mainView.getDrawingCanvas().setInteractionMode("PATH_SELECTION");
 
-            if (currentDrawing == null || currentDrawing.getShapes().size() < 2) {
+            if (currentDrawing == null || currentDrawing.getShapeCount() < 2) {
                 logAction("Shortest Path: Not enough shapes to find a path (<2).");
                 mainView.getStatusBar().setMessage("Veuillez dessiner au moins deux formes pour utiliser le mode plus court chemin.");
                 currentGraphForPathfinding = new Graph(false); // Ensure it's an empty graph if no shapes
-                if (currentDrawing != null && !currentDrawing.getShapes().isEmpty()) { // if 1 shape, build graph for it
-                    currentGraphForPathfinding = buildGraphFromDrawing(currentDrawing);
+                if (currentDrawing != null && currentDrawing.getShapeCount() > 0) { // if 1 shape, build graph for it
+                    currentGraphForPathfinding = graphCache.getGraph();
                 }
                 mainView.getDrawingCanvas().drawGraph(currentGraphForPathfinding);
                 return; // Exit if not enough shapes
             }
 
-            // Construire le graphe mais ne pas calculer automatiquement le chemin
-            currentGraphForPathfinding = buildGraphFromDrawing(currentDrawing);
+            // Obtenir le graphe (construit une seule fois puis tenu à jour) sans calculer de chemin
+            currentGraphForPathfinding = graphCache.getGraph();
             currentGraphForPathfinding.resetHighlights(); // Clear previous highlights
 
             if (currentGraphForPathfinding.getNodes().size() >= 2) {
@@ -542,16 +556,15 @@ public class DrawingController {
 
             if (currentGraphForPathfinding != null) {
                 currentGraphForPathfinding.resetHighlights();
-                // Redessiner le dessin normal sans le graphe
-                mainView.getDrawingCanvas().redraw();
             }
-            shapeToNodeMapForPathfinding.clear(); // Clear map when mode is off
+            // Retirer le graphe du calque de superposition
+            mainView.getDrawingCanvas().clearGraph();
         }
         // Ensure canvas reflects mode change (e.g., cursor, visual cues if any)
     }
 
     public void handleCanvasClickForShortestPath(double x, double y) {
-        if (!shortestPathMode || currentDrawing == null || currentDrawing.getShapes().isEmpty()) {
+        if (!shortestPathMode || currentDrawing == null || currentDrawing.getShapeCount() == 0) {
             return;
         }
     
@@ -561,19 +574,10 @@ public class DrawingController {
             return;
         }
     
-        // Ne reconstruire le graphe que si vraiment nécessaire
-        boolean needsRebuild = currentGraphForPathfinding == null ||
-                              currentDrawing.getShapes().size() != currentGraphForPathfinding.getNodes().size() ||
-                              shapeToNodeMapForPathfinding.size() != currentDrawing.getShapes().size();
-
-        if (needsRebuild) {
-            logAction("Shortest Path: Rebuilding graph due to changes in drawing");
-            currentGraphForPathfinding = buildGraphFromDrawing(currentDrawing);
-        } else {
-            logAction("Shortest Path: Using existing graph (no rebuild needed)");
-        }
+        // Le cache applique les modifications du dessin au graphe ; il ne le reconstruit que si nécessaire
+        currentGraphForPathfinding = graphCache.getGraph();
     
-        Node clickedGraphNode = shapeToNodeMapForPathfinding.get(clickedShape);
+        Node clickedGraphNode = graphCache.getNode(clickedShape);
     
         logAction(String.format("CanvasClick: Clicked Shape Hash: %s, Mapped to Node ID: %s, Label: %s, Hash: %s",
                                 System.identityHashCode(clickedShape),
@@ -596,7 +600,7 @@ public class DrawingController {
             mainView.getDrawingCanvas().drawGraph(currentGraphForPathfinding); // Redraw to show selection
         } else {
             // This is the second click, selecting the end shape
-            Node actualStartNode = shapeToNodeMapForPathfinding.get(selectedStartShapeForPath);
+            Node actualStartNode = graphCache.getNode(selectedStartShapeForPath);
             Node actualEndNode = clickedGraphNode; // Node for the currently clicked shape
     
             if (actualStartNode == null) {
@@ -606,7 +610,7 @@ public class DrawingController {
                 if (currentGraphForPathfinding != null) {
                     currentGraphForPathfinding.resetHighlights(); // Clear any visual selection
                      // Attempt to get the node for the previously selected shape to deselect it visually
-                    Node prevSelectedNode = shapeToNodeMapForPathfinding.get(selectedStartShapeForPath); // This will be null if selectedStartShapeForPath is null
+                    Node prevSelectedNode = graphCache.getNode(selectedStartShapeForPath); // This will be null if selectedStartShapeForPath is null
                     if (prevSelectedNode != null) {
                         prevSelectedNode.setSelected(false);
                     }
@@ -633,27 +637,40 @@ public class DrawingController {
 
             // Mesurer le temps d'exécution
             long startTime = System.currentTimeMillis();
-            List<Node> path = currentAlgorithm.findShortestPath(currentGraphForPathfinding, actualStartNode, actualEndNode);
+            // Écouteur propre à cette requête : la stratégie partagée reste sans état
+            SearchTraceListener trace = TRACE_PATHFINDING
+                ? new LoggingTraceListener(mainView.getCurrentLogger()) : SearchTraceListener.NONE;
+            // Requête point à point : la recherche s'arrête dès que la forme d'arrivée est atteinte
+            ShortestPathStrategy.ShortestPathResult pathResult = currentAlgorithm.findShortestPaths(
+                currentGraphForPathfinding, actualStartNode, actualEndNode, Double.POSITIVE_INFINITY, trace);
+            List<Node> path = pathResult.isSuccessful() ? pathResult.getPathTo(actualEndNode) : null;
             long executionTime = System.currentTimeMillis() - startTime;
+            if (pathResult.isSuccessful()) {
+                logAction("Shortest Path: " + pathResult.getSettledCount() + " nœuds explorés sur "
+                          + currentGraphForPathfinding.getNodes().size());
+            }
 
-            // DEBUG: Afficher des informations détaillées sur le chemin
-            logAction("DEBUG: Path calculation result:");
-            logAction("  - Path is null: " + (path == null));
-            logAction("  - Path size: " + (path != null ? path.size() : "N/A"));
-            if (path != null && !path.isEmpty()) {
-                StringBuilder pathStr = new StringBuilder("  - Path nodes: ");
-                for (int i = 0; i < path.size(); i++) {
-                    pathStr.append(path.get(i).getLabel());
-                    if (i < path.size() - 1) pathStr.append(" -> ");
+            // DEBUG: Afficher des informations détaillées sur le chemin (trace activée seulement)
+            if (TRACE_PATHFINDING) {
+                logAction("DEBUG: Path calculation result:");
+                logAction("  - Path is null: " + (path == null));
+                logAction("  - Path size: " + (path != null ? path.size() : "N/A"));
+                if (path != null && !path.isEmpty()) {
+                    StringBuilder pathStr = new StringBuilder("  - Path nodes: ");
+                    for (int i = 0; i < path.size(); i++) {
+                        pathStr.append(path.get(i).getLabel());
+                        if (i < path.size() - 1) pathStr.append(" -> ");
+                    }
+                    logAction(pathStr.toString());
                 }
-                logAction(pathStr.toString());
-            }
 
-            // DEBUG: Vérifier les arêtes du graphe
-            logAction("DEBUG: Graph edges count: " + currentGraphForPathfinding.getEdges().size());
-            for (int i = 0; i < Math.min(5, currentGraphForPathfinding.getEdges().size()); i++) {
-                var edge = currentGraphForPathfinding.getEdges().get(i);
-                logAction("  - Edge " + i + ": " + edge.getSource().getLabel() + " -> " + edge.getTarget().getLabel() + " (weight: " + edge.getWeight() + ")");
+                // DEBUG: Vérifier les arêtes du graphe
+                List<Edge> edges = currentGraphForPathfinding.getEdges();
+                logAction("DEBUG: Graph edges count: " + edges.size());
+                for (int i = 0; i < Math.min(5, edges.size()); i++) {
+                    var edge = edges.get(i);
+                    logAction("  - Edge " + i + ": " + edge.getSource().getLabel() + " -> " + edge.getTarget().getLabel() + " (weight: " + edge.getWeight() + ")");
+                }
             }
 
             currentGraphForPathfinding.resetHighlights(); // Clear previous highlights (like start node selection)
@@ -704,347 +721,19 @@ public class DrawingController {
         }
     }
 
-    private Graph buildGraphFromDrawing(Drawing drawing) {
-        Graph graph = new Graph(false); // Assuming undirected graph
-        if (drawing != null && drawing.getLogger() != null) {
-            graph.setLogger(drawing.getLogger());
-        }
-        logAction("BuildGraph: Initializing. shapeToNodeMap size before clear: " + shapeToNodeMapForPathfinding.size());
-        shapeToNodeMapForPathfinding.clear(); // Clear previous mapping
-        logAction("BuildGraph: shapeToNodeMap size after clear: " + shapeToNodeMapForPathfinding.size());
-    
-        if (drawing == null) { // Guard against null drawing
-            logError("BuildGraph: Drawing object is null.", null);
-            return graph; // Return empty graph
-        }
-    
-        List<Shape> shapes = drawing.getShapes();
-        logAction("BuildGraph: Number of shapes retrieved from drawing: " + (shapes != null ? shapes.size() : "null list"));
-    
-        if (shapes == null || shapes.isEmpty()) {
-            logAction("BuildGraph: No shapes in drawing (or shapes list is null) to build graph from.");
-            return graph; // Return empty graph if no shapes
-        }
-        logAction("BuildGraph: Starting node creation loop. Initial graph.getNodesMapSize(): " + graph.getNodesMapSize());
-    
-        // 1. Create nodes from shapes with alphabetic labels for circles and numeric for lines
-        int circleCounter = 0;
-        int lineCounter = 1; // Start lines at 1
-        int rectangleCounter = 0;
-
-        for (int i = 0; i < shapes.size(); i++) {
-            Shape shape = shapes.get(i);
-            Point2D center = getShapeCenter(shape);
-            // Using a more robust ID combining class name and a short UUID part
-            String nodeId = shape.getClass().getSimpleName() + "_" + UUID.randomUUID().toString().substring(0, 8);
-            Node node = new Node(nodeId, center.getX(), center.getY());
-
-            // Créer des labels personnalisés selon le type de forme
-            String label;
-            if (shape instanceof com.modelisation.model.shapes.Circle) {
-                // Cercles avec lettres : A, B, C, D, ...
-                label = String.valueOf((char)('A' + circleCounter));
-                circleCounter++;
-            } else if (shape instanceof com.modelisation.model.shapes.Line) {
-                // Lignes avec nombres : 1, 2, 3, 4, ...
-                label = String.valueOf(lineCounter);
-                lineCounter++;
-            } else if (shape instanceof com.modelisation.model.shapes.Rectangle) {
-                // Rectangles avec lettres : A, B, C, D, ... (partagent avec les cercles)
-                label = String.valueOf((char)('A' + rectangleCounter));
-                rectangleCounter++;
-            } else {
-                // Autres formes avec l'ancien système
-                label = shape.getClass().getSimpleName() + " " + i;
-            }
-
-            node.setLabel(label);
-            graph.addNode(node);
-            shapeToNodeMapForPathfinding.put(shape, node); // Store mapping
-            logAction(String.format("BuildGraph: Created Node ID: %s, Label: %s, Hash: %s for Shape Hash: %s (Class: %s). Current graph.getNodesMapSize(): %d, shapeToNodeMap size: %d",
-                                    nodeId, node.getLabel(), System.identityHashCode(node),
-                                    System.identityHashCode(shape), shape.getClass().getSimpleName(),
-                                    graph.getNodesMapSize(), shapeToNodeMapForPathfinding.size()));
-        }
-        logAction("BuildGraph: Finished node creation. Final graph.getNodesMapSize() before edge creation: " + graph.getNodesMapSize() + ", shapeToNodeMap size: " + shapeToNodeMapForPathfinding.size());
-    
-        // 2. Create edges based on proximity (not fully connected graph)
-        // Ensure we use the actual nodes from the graph for edge creation
-        Collection<Node> graphNodes = graph.getNodeCollection(); // Use the new method to get nodes directly from the map's values
-        logAction("BuildGraph: Number of nodes retrieved for edge creation: " + graphNodes.size());
-        List<Node> nodesForEdges = new ArrayList<>(graphNodes);
-
-        // Calculate dynamic proximity threshold based on canvas size and number of nodes
-        double proximityThreshold = calculateProximityThreshold(nodesForEdges);
-        logAction(String.format("BuildGraph: Using proximity threshold: %.2f", proximityThreshold));
-
-        int edgesCreated = 0;
-        for (int i = 0; i < nodesForEdges.size(); i++) {
-            for (int j = i + 1; j < nodesForEdges.size(); j++) {
-                Node node1 = nodesForEdges.get(i);
-                Node node2 = nodesForEdges.get(j);
-                double distance = Math.sqrt(Math.pow(node1.getX() - node2.getX(), 2) +
-                                           Math.pow(node1.getY() - node2.getY(), 2));
-
-                // Only create edge if nodes are within proximity threshold
-                if (distance > 0 && distance <= proximityThreshold) {
-                    graph.addEdge(new Edge(node1, node2, distance));
-                    edgesCreated++;
-                    logAction(String.format("BuildGraph: Created edge %s-%s (distance: %.2f)",
-                                          node1.getLabel(), node2.getLabel(), distance));
-                }
-            }
-        }
-
-        logAction(String.format("BuildGraph: Created %d edges with proximity threshold %.2f",
-                                edgesCreated, proximityThreshold));
-
-        // Vérifier la connectivité et ajouter des arêtes si nécessaire
-        ensureGraphConnectivity(graph, nodesForEdges, proximityThreshold);
-
-        logAction(String.format("BuildGraph: Finished. Final graph.getNodesMapSize(): %d, graph.getNodes().size(): %d, graph.getEdges().size(): %d, shapeToNodeMap size: %d",
-                                graph.getNodesMapSize(), graph.getNodes().size(), graph.getEdges().size(), shapeToNodeMapForPathfinding.size()));
-        return graph;
-    }
-
-    private Point2D getShapeCenter(Shape shape) {
-        // Ensure getX() and getY() from Shape are consistently the top-left for calculations here
-        if (shape instanceof Rectangle) {
-            Rectangle rect = (Rectangle) shape;
-            return new Point2D(rect.getX() + rect.getWidth() / 2,
-                               rect.getY() + rect.getHeight() / 2);
-        }
-        else if (shape instanceof Circle) {
-            Circle circle = (Circle) shape;
-            // For Circle, getX() and getY() from the parent Shape class store the center coordinates
-            return new Point2D(circle.getX(), circle.getY());
-        }
-        else if (shape instanceof Line) {
-            Line line = (Line) shape;
-            double midX = (line.getX() + line.getEndX()) / 2;
-            double midY = (line.getY() + line.getEndY()) / 2;
-            return new Point2D(midX, midY);
-        }
-        else {
-            // Default fallback: use the shape's primary (x,y) coordinates.
-            // This might be top-left for many shapes, adjust if specific shapes have different anchor points.
-            logAction("Warning: Using default (x,y) as center for shape type: " + shape.getClass().getSimpleName());
-            return new Point2D(shape.getX(), shape.getY());
-        }
-    }
-
-    /**
-     * Calcule le seuil de proximité dynamique pour la création d'arêtes
-     * Basé sur la taille du canvas et le nombre de nœuds
-     */
-    private double calculateProximityThreshold(List<Node> nodes) {
-        if (nodes.size() < 2) {
-            return Double.MAX_VALUE; // Si moins de 2 nœuds, connecter tout
-        }
-
-        // Calculer les dimensions du canvas basées sur les positions des nœuds
-        double minX = nodes.stream().mapToDouble(Node::getX).min().orElse(0);
-        double maxX = nodes.stream().mapToDouble(Node::getX).max().orElse(800);
-        double minY = nodes.stream().mapToDouble(Node::getY).min().orElse(0);
-        double maxY = nodes.stream().mapToDouble(Node::getY).max().orElse(600);
-
-        double canvasWidth = maxX - minX;
-        double canvasHeight = maxY - minY;
-        double canvasDiagonal = Math.sqrt(canvasWidth * canvasWidth + canvasHeight * canvasHeight);
-
-        // Calculer la distance moyenne entre tous les nœuds
-        double totalDistance = 0;
-        int pairCount = 0;
-        for (int i = 0; i < nodes.size(); i++) {
-            for (int j = i + 1; j < nodes.size(); j++) {
-                Node node1 = nodes.get(i);
-                Node node2 = nodes.get(j);
-                double distance = Math.sqrt(Math.pow(node1.getX() - node2.getX(), 2) +
-                                          Math.pow(node1.getY() - node2.getY(), 2));
-                totalDistance += distance;
-                pairCount++;
-            }
-        }
-        double averageDistance = totalDistance / pairCount;
-
-        // Le seuil est basé sur un pourcentage de la distance moyenne
-        // Plus il y a de nœuds, plus le seuil est restrictif
-        double baseThreshold = averageDistance * 0.6; // 60% de la distance moyenne
-
-        // Ajuster selon le nombre de nœuds (plus de nœuds = seuil plus petit)
-        double nodeCountFactor = Math.max(0.3, 1.0 - (nodes.size() - 2) * 0.1);
-        double threshold = baseThreshold * nodeCountFactor;
-
-        // S'assurer que le seuil n'est pas trop petit (au moins 30% de la diagonale du canvas)
-        // AUGMENTÉ pour assurer la connectivité du graphe
-        double minThreshold = canvasDiagonal * 0.3;
-        threshold = Math.max(threshold, minThreshold);
-
-        // S'assurer que le seuil n'est pas trop grand (au plus 80% de la diagonale du canvas)
-        double maxThreshold = canvasDiagonal * 0.8;
-        threshold = Math.min(threshold, maxThreshold);
-
-        logAction(String.format("ProximityThreshold: Canvas(%.0fx%.0f), AvgDist=%.2f, Nodes=%d, Threshold=%.2f",
-                                canvasWidth, canvasHeight, averageDistance, nodes.size(), threshold));
-
-        return threshold;
-    }
-
-    /**
-     * S'assure que le graphe est connecté en ajoutant des arêtes aux nœuds isolés
-     */
-    private void ensureGraphConnectivity(Graph graph, List<Node> nodes, double proximityThreshold) {
-        if (nodes.size() < 2) {
-            return;
-        }
-
-        // Identifier les nœuds isolés (sans arêtes)
-        List<Node> isolatedNodes = new ArrayList<>();
-        for (Node node : nodes) {
-            Map<Node, Double> neighbors = graph.getNeighbors(node);
-            if (neighbors.isEmpty()) {
-                isolatedNodes.add(node);
-                logAction("BuildGraph: Found isolated node: " + node.getLabel());
-            }
-        }
-
-        // Pour chaque nœud isolé, le connecter au nœud le plus proche
-        for (Node isolatedNode : isolatedNodes) {
-            Node closestNode = null;
-            double minDistance = Double.MAX_VALUE;
-
-            for (Node otherNode : nodes) {
-                if (otherNode != isolatedNode) {
-                    double distance = Math.sqrt(Math.pow(isolatedNode.getX() - otherNode.getX(), 2) +
-                                              Math.pow(isolatedNode.getY() - otherNode.getY(), 2));
-                    if (distance < minDistance) {
-                        minDistance = distance;
-                        closestNode = otherNode;
-                    }
-                }
-            }
-
-            if (closestNode != null) {
-                graph.addEdge(new Edge(isolatedNode, closestNode, minDistance));
-                logAction(String.format("BuildGraph: Connected isolated node %s to %s (distance: %.2f)",
-                                      isolatedNode.getLabel(), closestNode.getLabel(), minDistance));
-            }
-        }
-
-        // Vérifier si le graphe est maintenant connecté en utilisant BFS
-        if (!isGraphConnected(graph, nodes)) {
-            logAction("BuildGraph: Graph still not fully connected, adding minimum spanning tree edges");
-            addMinimumSpanningTreeEdges(graph, nodes, proximityThreshold * 1.5);
-        }
-    }
-
-    /**
-     * Vérifie si le graphe est connecté en utilisant BFS
-     */
-    private boolean isGraphConnected(Graph graph, List<Node> nodes) {
-        if (nodes.isEmpty()) {
-            return true;
-        }
-
-        Set<Node> visited = new HashSet<>();
-        Queue<Node> queue = new LinkedList<>();
-
-        // Commencer BFS depuis le premier nœud
-        Node startNode = nodes.get(0);
-        queue.offer(startNode);
-        visited.add(startNode);
-
-        while (!queue.isEmpty()) {
-            Node current = queue.poll();
-            Map<Node, Double> neighbors = graph.getNeighbors(current);
-
-            for (Node neighbor : neighbors.keySet()) {
-                if (!visited.contains(neighbor)) {
-                    visited.add(neighbor);
-                    queue.offer(neighbor);
-                }
-            }
-        }
-
-        boolean isConnected = visited.size() == nodes.size();
-        logAction(String.format("BuildGraph: Connectivity check - Visited %d/%d nodes, Connected: %s",
-                                visited.size(), nodes.size(), isConnected));
-        return isConnected;
-    }
-
-    /**
-     * Ajoute des arêtes d'arbre couvrant minimal pour assurer la connectivité
-     */
-    private void addMinimumSpanningTreeEdges(Graph graph, List<Node> nodes, double maxDistance) {
-        // Algorithme de Kruskal simplifié pour ajouter les arêtes manquantes
-        List<Edge> potentialEdges = new ArrayList<>();
-
-        // Créer toutes les arêtes possibles
-        for (int i = 0; i < nodes.size(); i++) {
-            for (int j = i + 1; j < nodes.size(); j++) {
-                Node node1 = nodes.get(i);
-                Node node2 = nodes.get(j);
-                double distance = Math.sqrt(Math.pow(node1.getX() - node2.getX(), 2) +
-                                          Math.pow(node1.getY() - node2.getY(), 2));
-
-                // Vérifier si cette arête existe déjà
-                Map<Node, Double> neighbors = graph.getNeighbors(node1);
-                if (!neighbors.containsKey(node2) && distance <= maxDistance) {
-                    potentialEdges.add(new Edge(node1, node2, distance));
-                }
-            }
-        }
-
-        // Trier par distance
-        potentialEdges.sort((e1, e2) -> Double.compare(e1.getWeight(), e2.getWeight()));
-
-        // Ajouter les arêtes jusqu'à ce que le graphe soit connecté
-        for (Edge edge : potentialEdges) {
-            graph.addEdge(edge);
-            logAction(String.format("BuildGraph: Added MST edge %s-%s (distance: %.2f)",
-                                  edge.getSource().getLabel(), edge.getTarget().getLabel(), edge.getWeight()));
-
-            if (isGraphConnected(graph, nodes)) {
-                break;
-            }
-        }
-    }
-
     /**
      * Trouve les deux nœuds les plus éloignés dans la liste pour créer un chemin plus intéressant
+     * Diamètre de l'enveloppe convexe des nœuds (pieds à coulisse tournants), en O(n log n)
      */
     private Node[] findFarthestNodes(List<Node> nodes) {
-        if (nodes.size() < 2) {
-            return new Node[]{nodes.get(0), nodes.get(0)};
-        }
-
-        if (nodes.size() == 2) {
-            return new Node[]{nodes.get(0), nodes.get(1)};
-        }
-
-        double maxDistance = 0;
-        Node farthestNode1 = nodes.get(0);
-        Node farthestNode2 = nodes.get(1);
+        ConvexHull hull = ConvexHull.ofNodes(nodes);
+        int[] pair = hull.getFarthestPair();
+        Node farthestNode1 = nodes.get(pair[0]);
+        Node farthestNode2 = nodes.get(pair[1]);
 
-        // Trouver la paire de nœuds avec la plus grande distance euclidienne
-        for (int i = 0; i < nodes.size(); i++) {
-            for (int j = i + 1; j < nodes.size(); j++) {
-                Node node1 = nodes.get(i);
-                Node node2 = nodes.get(j);
-
-                double distance = Math.sqrt(Math.pow(node1.getX() - node2.getX(), 2) +
-                                          Math.pow(node1.getY() - node2.getY(), 2));
-
-                if (distance > maxDistance) {
-                    maxDistance = distance;
-                    farthestNode1 = node1;
-                    farthestNode2 = node2;
-                }
-            }
-        }
-
-        logAction(String.format("Farthest nodes found: %s and %s with distance %.2f",
-                               farthestNode1.getLabel(), farthestNode2.getLabel(), maxDistance));
+        logAction(String.format("Farthest nodes found: %s and %s with distance %.2f (hull of %d vertices)",
+                               farthestNode1.getLabel(), farthestNode2.getLabel(), hull.getDiameter(),
+                               hull.getVertexCount()));
 
         return new Node[]{farthestNode1, farthestNode2};
     }
@@ -1065,6 +754,23 @@ public class DrawingController {
                 currentAlgorithmName = "BFS";
                 logAction("Algorithme changé vers: BFS (Breadth-First Search)");
                 break;
+            case "astar":
+            case "a*":
+                currentAlgorithm = new AStarStrategy();
+                currentAlgorithmName = "A*";
+                logAction("Algorithme changé vers: A* (heuristique euclidienne)");
+                break;
+            case "bidirectional":
+                currentAlgorithm = new BidirectionalDijkstraStrategy();
+                currentAlgorithmName = "Dijkstra bidirectionnel";
+                logAction("Algorithme changé vers: Dijkstra bidirectionnel");
+                break;
+            case "deltastepping":
+            case "delta-stepping":
+                currentAlgorithm = new DeltaSteppingStrategy();
+                currentAlgorithmName = "Delta-stepping";
+                logAction("Algorithme changé vers: Delta-stepping (parallèle)");
+                break;
             default:
                 logError("Algorithme non reconnu: " + algorithmName, null);
                 return;
@@ -1072,6 +778,21 @@ public class DrawingController {
         mainView.getStatusBar().setMessage("Algorithme de plus court chemin: " + currentAlgorithmName);
     }
 
+    /**
+     * Change le mode de construction du graphe des formes (proximité, k plus proches voisins ou triangulation)
+     */
+    public void setGraphConstructionMode(GraphConstructionMode mode) {
+        graphCache.setConstructionMode(mode);
+        logAction("Mode de construction du graphe: " + mode.getLabel());
+        mainView.getStatusBar().setMessage("Graphe des formes: " + mode.getLabel());
+        if (shortestPathMode) {
+            // Le graphe affiché doit refléter le nouveau mode
+            currentGraphForPathfinding = graphCache.getGraph();
+            selectedStartShapeForPath = null;
+            mainView.getDrawingCanvas().drawGraph(currentGraphForPathfinding);
+        }
+    }
+
     /**
      * Get current algorithm name
      */
@@ -1164,12 +885,15 @@ public class DrawingController {
         com.fasterxml.jackson.databind.JsonNode shapesNode = rootNode.get("shapes");
         if (shapesNode != null && shapesNode.isArray()) {
 
+            List<Shape> shapes = new ArrayList<>(shapesNode.size());
             for (com.fasterxml.jackson.databind.JsonNode shapeNode : shapesNode) {
                 Shape shape = deserializeShape(shapeNode);
                 if (shape != null) {
-                    drawing.addShape(shape);
+                    shapes.add(shape);
                 }
             }
+            // Un seul événement et une seule ligne de log pour tout le fichier
+            drawing.addAll(shapes);
         }
 
         return drawing;
@@ -1220,9 +944,13 @@ public class DrawingController {
 
         ButtonType dijkstraButton = new ButtonType("Dijkstra");
         ButtonType bfsButton = new ButtonType("BFS");
+        ButtonType aStarButton = new ButtonType("A*");
+        ButtonType bidirectionalButton = new ButtonType("Bidirectionnel");
+        ButtonType deltaSteppingButton = new ButtonType("Delta-stepping");
         ButtonType cancelButton = new ButtonType("Annuler", ButtonBar.ButtonData.CANCEL_CLOSE);
 
-        alert.getButtonTypes().setAll(dijkstraButton, bfsButton, cancelButton);
+        alert.getButtonTypes().setAll(dijkstraButton, bfsButton, aStarButton, bidirectionalButton, deltaSteppingButton,
+                                      cancelButton);
 
         Optional<ButtonType> result = alert.showAndWait();
         if (result.isPresent()) {
@@ -1230,10 +958,68 @@ public class DrawingController {
                 setShortestPathAlgorithm("dijkstra");
             } else if (result.get() == bfsButton) {
                 setShortestPathAlgorithm("bfs");
+            } else if (result.get() == aStarButton) {
+                setShortestPathAlgorithm("astar");
+            } else if (result.get() == bidirectionalButton) {
+                setShortestPathAlgorithm("bidirectional");
+            } else if (result.get() == deltaSteppingButton) {
+                setShortestPathAlgorithm("deltastepping");
             }
         }
     }
 
+    /**
+     * Affiche le choix du mode de construction du graphe
+     */
+    public void showGraphModeSelectionDialog() {
+        Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
+        alert.setTitle("Construction du graphe");
+        alert.setHeaderText("Choisissez comment relier les formes");
+        alert.setContentText("Mode actuel: " + graphCache.getConstructionMode().getLabel());
+
+        List<ButtonType> buttons = new ArrayList<>();
+        for (GraphConstructionMode mode : GraphConstructionMode.values()) {
+            buttons.add(new ButtonType(mode.getLabel()));
+        }
+        buttons.add(new ButtonType("Annuler", ButtonBar.ButtonData.CANCEL_CLOSE));
+        alert.getButtonTypes().setAll(buttons);
+
+        Optional<ButtonType> result = alert.showAndWait();
+        if (result.isPresent()) {
+            int index = buttons.indexOf(result.get());
+            if (index >= 0 && index < GraphConstructionMode.values().length) {
+                GraphConstructionMode mode = GraphConstructionMode.values()[index];
+                if (mode == GraphConstructionMode.NEAREST_NEIGHBORS && !askNearestNeighborCount()) {
+                    return;
+                }
+                setGraphConstructionMode(mode);
+            }
+        }
+    }
+
+    /**
+     * Demande le nombre de voisins du mode k plus proches voisins
+     * @return false si l'utilisateur a annulé
+     */
+    private boolean askNearestNeighborCount() {
+        TextInputDialog dialog = new TextInputDialog(String.valueOf(graphCache.getNearestNeighborCount()));
+        dialog.setTitle("Construction du graphe");
+        dialog.setHeaderText("Nombre de voisins par forme");
+        dialog.setContentText("k:");
+
+        Optional<String> result = dialog.showAndWait();
+        if (result.isEmpty()) {
+            return false;
+        }
+        try {
+            graphCache.setNearestNeighborCount(Integer.parseInt(result.get().trim()));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException comprise : on garde la valeur actuelle
+            logAction("Nombre de voisins invalide: " + result.get());
+        }
+        return true;
+    }
+
     // getCurrentDrawing() and getCurrentFile() are already present
 
     /**
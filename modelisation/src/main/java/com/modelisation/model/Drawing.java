@@ -4,32 +4,77 @@ import com.modelisation.model.shapes.Shape;
 import com.modelisation.model.logging.LoggingStrategy;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import javafx.geometry.Bounds;
+
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Observable;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 /**
  * Classe représentant un dessin contenant une collection de formes
- * Utilise le pattern Observer pour notifier les changements
+ * Utilise le pattern Observer pour notifier les changements : chaque modification
+ * est décrite par un DrawingEvent typé envoyé aux DrawingListener enregistrés
+ * 
+ * Les modifications groupées (addAll, removeAll, batch) ne produisent qu'une seule
+ * notification (DrawingEvent.Batch) et une seule ligne de log récapitulative.
+ * 
+ * La lecture des formes (getShapes, forEachShape) se fait sur un instantané immuable,
+ * reconstruit uniquement après une modification : aucune copie n'est faite tant que
+ * le dessin ne change pas, et le parcours reste valide même si le dessin est modifié pendant.
  */
-@SuppressWarnings("deprecation") // Observable est deprecated mais toujours fonctionnel
-public class Drawing extends Observable {
+public class Drawing {
     private List<Shape> shapes;
     private String name;
     private String description;
     @JsonIgnore
     private LoggingStrategy logger;
+    @JsonIgnore
+    private SpatialIndex spatialIndex;
+    // Ordre d'empilement (z-order) de chaque forme : croissant avec l'ordre d'ajout
+    @JsonIgnore
+    private final Map<Shape, Long> zOrder = new HashMap<>();
+    private long nextZOrder = 0;
+    
+    // Liste copy-on-write : la notification parcourt un tableau figé, sans verrou ni copie
+    @JsonIgnore
+    private final List<DrawingListener> listeners = new CopyOnWriteArrayList<>();
+    
+    // Instantané en lecture seule des formes (null tant qu'il n'a pas été reconstruit après une modification)
+    @JsonIgnore
+    private volatile List<Shape> shapesSnapshot;
+    
+    // Modifications groupées en cours (batch) : les notifications sont cumulées jusqu'à la fin du lot
+    @JsonIgnore
+    private int batchDepth = 0;
+    @JsonIgnore
+    private int batchAdded, batchRemoved, batchUpdated;
+    @JsonIgnore
+    private boolean batchChanged, batchNeedsFullRepaint;
+    @JsonIgnore
+    private Bounds batchDirtyRegion;
     
     public Drawing() {
-        this.shapes = new ArrayList<>();
-        this.name = "Nouveau dessin";
-        this.description = "";
+        this("Nouveau dessin", "");
     }
     
     public Drawing(String name, String description) {
+        this(name, description, new UniformGridIndex());
+    }
+    
+    public Drawing(String name, String description, SpatialIndex spatialIndex) {
         this.shapes = new ArrayList<>();
         this.name = name;
         this.description = description;
+        this.spatialIndex = spatialIndex;
     }
     
     /**
@@ -38,10 +83,11 @@ public class Drawing extends Observable {
      */
     public void addShape(Shape shape) {
         shapes.add(shape);
-        setChanged();
-        notifyObservers("SHAPE_ADDED");
+        invalidateSnapshot();
+        indexShape(shape);
+        fireChange(new DrawingEvent.ShapeAdded(this, shape, shapes.size() - 1));
         
-        if (logger != null) {
+        if (logger != null && batchDepth == 0) {
             logger.log(LoggingStrategy.LogLevel.INFO, 
                       "Forme ajoutée: " + shape.toString());
         }
@@ -53,17 +99,20 @@ public class Drawing extends Observable {
      * @return true si la forme a été supprimée
      */
     public boolean removeShape(Shape shape) {
-        boolean removed = shapes.remove(shape);
-        if (removed) {
-            setChanged();
-            notifyObservers("SHAPE_REMOVED");
+        int index = shapes.indexOf(shape);
+        if (index >= 0) {
+            shapes.remove(index);
+            invalidateSnapshot();
+            unindexShape(shape);
+            fireChange(new DrawingEvent.ShapeRemoved(this, shape, index));
             
-            if (logger != null) {
+            if (logger != null && batchDepth == 0) {
                 logger.log(LoggingStrategy.LogLevel.INFO, 
                           "Forme supprimée: " + shape.toString());
             }
+            return true;
         }
-        return removed;
+        return false;
     }
     
     /**
@@ -74,10 +123,11 @@ public class Drawing extends Observable {
     public boolean removeShape(int index) {
         if (index >= 0 && index < shapes.size()) {
             Shape removedShape = shapes.remove(index);
-            setChanged();
-            notifyObservers("SHAPE_REMOVED");
+            invalidateSnapshot();
+            unindexShape(removedShape);
+            fireChange(new DrawingEvent.ShapeRemoved(this, removedShape, index));
             
-            if (logger != null) {
+            if (logger != null && batchDepth == 0) {
                 logger.log(LoggingStrategy.LogLevel.INFO, 
                           "Forme supprimée à l'index " + index + ": " + removedShape.toString());
             }
@@ -86,21 +136,183 @@ public class Drawing extends Observable {
         return false;
     }
     
+    /**
+     * Modifie la géométrie d'une forme du dessin (déplacement, redimensionnement...)
+     * L'index spatial est mis à jour et les listeners reçoivent l'ancienne et la nouvelle zone
+     * @param shape Forme à modifier
+     * @param mutation Modification à appliquer (par exemple s -> s.setX(10))
+     * @return true si la forme appartient au dessin et a été modifiée
+     */
+    public boolean updateShape(Shape shape, Consumer<Shape> mutation) {
+        if (!zOrder.containsKey(shape)) {
+            return false;
+        }
+        Bounds oldBounds = shape.getBounds();
+        mutation.accept(shape);
+        spatialIndex.insert(shape, shape.getBounds());
+        fireChange(new DrawingEvent.ShapeMoved(this, shape, oldBounds));
+        
+        if (logger != null && batchDepth == 0) {
+            logger.log(LoggingStrategy.LogLevel.INFO, 
+                      "Forme modifiée: " + shape.toString());
+        }
+        return true;
+    }
+    
     /**
      * Efface toutes les formes du dessin
      */
     public void clear() {
         int shapeCount = shapes.size();
         shapes.clear();
-        setChanged();
-        notifyObservers("DRAWING_CLEARED");
+        invalidateSnapshot();
+        spatialIndex.clear();
+        zOrder.clear();
+        fireChange(new DrawingEvent.Cleared(this, shapeCount));
         
-        if (logger != null) {
+        if (logger != null && batchDepth == 0) {
             logger.log(LoggingStrategy.LogLevel.INFO, 
                       "Dessin effacé - " + shapeCount + " formes supprimées");
         }
     }
     
+    /**
+     * Ajoute plusieurs formes au dessin avec une seule notification
+     * @param shapesToAdd Formes à ajouter, dans l'ordre d'empilement
+     */
+    public void addAll(Collection<? extends Shape> shapesToAdd) {
+        beginBatch();
+        try {
+            for (Shape shape : shapesToAdd) {
+                addShape(shape);
+            }
+        } finally {
+            endBatch();
+        }
+    }
+    
+    /**
+     * Supprime plusieurs formes du dessin avec une seule notification
+     * Toutes les occurrences des formes données sont supprimées, en un seul parcours de la liste
+     * @param shapesToRemove Formes à supprimer
+     * @return Nombre de formes supprimées
+     */
+    public int removeAll(Collection<? extends Shape> shapesToRemove) {
+        Set<Shape> targets = Collections.newSetFromMap(new IdentityHashMap<>());
+        targets.addAll(shapesToRemove);
+        
+        beginBatch();
+        int kept = 0;
+        int removedCount = 0;
+        try {
+            // Compactage en place : les formes conservées sont décalées vers le début de la liste
+            for (int i = 0; i < shapes.size(); i++) {
+                Shape shape = shapes.get(i);
+                if (targets.contains(shape)) {
+                    spatialIndex.remove(shape);
+                    zOrder.remove(shape);
+                    // Position qu'aurait eue la forme en la supprimant individuellement, dans l'ordre
+                    fireChange(new DrawingEvent.ShapeRemoved(this, shape, kept));
+                    removedCount++;
+                } else {
+                    shapes.set(kept++, shape);
+                }
+            }
+            if (removedCount > 0) {
+                shapes.subList(kept, shapes.size()).clear();
+                invalidateSnapshot();
+            }
+        } finally {
+            endBatch();
+        }
+        return removedCount;
+    }
+    
+    /**
+     * Applique un ensemble de modifications comme une seule transaction
+     * Les listeners ne reçoivent qu'un événement Batch à la fin (les lots peuvent être imbriqués)
+     * @param operations Modifications à appliquer (par exemple d -> { d.clear(); d.addAll(formes); })
+     */
+    public void batch(Consumer<Drawing> operations) {
+        beginBatch();
+        try {
+            operations.accept(this);
+        } finally {
+            endBatch();
+        }
+    }
+    
+    private void beginBatch() {
+        if (batchDepth++ == 0) {
+            batchAdded = 0;
+            batchRemoved = 0;
+            batchUpdated = 0;
+            batchChanged = false;
+            batchNeedsFullRepaint = false;
+            batchDirtyRegion = null;
+        }
+    }
+    
+    private void endBatch() {
+        if (--batchDepth > 0 || !batchChanged) {
+            return;
+        }
+        Bounds dirtyRegion = batchNeedsFullRepaint ? null : batchDirtyRegion;
+        notifyListeners(new DrawingEvent.Batch(this, batchAdded, batchRemoved, batchUpdated, dirtyRegion));
+        
+        if (logger != null) {
+            logger.log(LoggingStrategy.LogLevel.INFO, 
+                      "Modification groupée: " + batchAdded + " formes ajoutées, " + batchRemoved
+                      + " supprimées, " + batchUpdated + " modifiées (" + shapes.size() + " formes au total)");
+        }
+    }
+    
+    /**
+     * Notifie les listeners, ou cumule l'événement si un lot est en cours
+     */
+    private void fireChange(DrawingEvent event) {
+        if (batchDepth == 0) {
+            notifyListeners(event);
+            return;
+        }
+        batchChanged = true;
+        if (event instanceof DrawingEvent.ShapeAdded) {
+            batchAdded++;
+        } else if (event instanceof DrawingEvent.ShapeRemoved) {
+            batchRemoved++;
+        } else if (event instanceof DrawingEvent.ShapeMoved) {
+            batchUpdated++;
+        } else if (event instanceof DrawingEvent.Cleared) {
+            batchNeedsFullRepaint = true;
+        }
+        Bounds dirtyRegion = event.getDirtyRegion();
+        if (dirtyRegion != null) {
+            batchDirtyRegion = batchDirtyRegion == null ? dirtyRegion : DrawingEvent.union(batchDirtyRegion, dirtyRegion);
+        }
+    }
+    
+    private void notifyListeners(DrawingEvent event) {
+        for (DrawingListener listener : listeners) {
+            listener.drawingChanged(event);
+        }
+    }
+    
+    /**
+     * Enregistre un listener notifié de chaque modification du dessin
+     * @param listener Listener à ajouter
+     */
+    public void addListener(DrawingListener listener) {
+        listeners.add(listener);
+    }
+    
+    /**
+     * Retire un listener
+     * @param listener Listener à retirer
+     */
+    public void removeListener(DrawingListener listener) {
+        listeners.remove(listener);
+    }
+    
     /**
      * Trouve une forme à une position donnée
      * @param x Coordonnée X
@@ -108,14 +320,59 @@ public class Drawing extends Observable {
      * @return La forme trouvée ou null
      */
     public Shape findShapeAt(double x, double y) {
-        // Parcourir les formes en ordre inverse pour sélectionner celle du dessus
-        for (int i = shapes.size() - 1; i >= 0; i--) {
-            Shape shape = shapes.get(i);
-            if (shape.contains(x, y)) {
-                return shape;
+        // L'index ne renvoie que les formes dont la boîte englobante contient le point ;
+        // parmi celles-ci on garde la plus haute dans l'ordre d'empilement
+        Shape topmost = null;
+        long topmostZ = Long.MIN_VALUE;
+        for (Shape candidate : spatialIndex.query(x, y)) {
+            long z = zOrder.get(candidate);
+            if (z > topmostZ && candidate.contains(x, y)) {
+                topmost = candidate;
+                topmostZ = z;
             }
         }
-        return null;
+        return topmost;
+    }
+    
+    /**
+     * Trouve les formes dont la boîte englobante intersecte une région
+     * @param region Région de recherche (par exemple la zone visible du canvas)
+     * @return Les formes trouvées, triées de la plus basse à la plus haute dans l'ordre d'empilement
+     */
+    public List<Shape> findShapesIn(Bounds region) {
+        List<Shape> found = spatialIndex.query(region);
+        found.sort(Comparator.comparingLong(zOrder::get));
+        return found;
+    }
+    
+    /**
+     * Remplace l'index spatial utilisé pour la recherche de formes
+     * Toutes les formes existantes sont réindexées
+     * @param spatialIndex Nouvel index spatial
+     */
+    public void setSpatialIndex(SpatialIndex spatialIndex) {
+        this.spatialIndex = spatialIndex;
+        spatialIndex.clear();
+        for (Shape shape : shapes) {
+            spatialIndex.insert(shape, shape.getBounds());
+        }
+    }
+    
+    public SpatialIndex getSpatialIndex() {
+        return spatialIndex;
+    }
+    
+    private void indexShape(Shape shape) {
+        zOrder.put(shape, nextZOrder++);
+        spatialIndex.insert(shape, shape.getBounds());
+    }
+    
+    private void unindexShape(Shape shape) {
+        // Une même instance peut avoir été ajoutée plusieurs fois : ne la désindexer que si elle a disparu
+        if (!shapes.contains(shape)) {
+            spatialIndex.remove(shape);
+            zOrder.remove(shape);
+        }
     }
     
     /**
@@ -138,6 +395,15 @@ public class Drawing extends Observable {
                     .sum();
     }
     
+    /**
+     * Indique si une forme appartient au dessin (en temps constant)
+     * @param shape La forme
+     * @return true si la forme est dans le dessin
+     */
+    public boolean contains(Shape shape) {
+        return zOrder.containsKey(shape);
+    }
+    
     /**
      * Obtient le nombre de formes dans le dessin
      * @return Nombre de formes
@@ -146,9 +412,38 @@ public class Drawing extends Observable {
         return shapes.size();
     }
     
+    /**
+     * Applique une action à chaque forme, dans l'ordre d'empilement, sans allouer de liste
+     * Le parcours porte sur l'instantané courant : l'action peut modifier le dessin sans erreur
+     * @param action Action à appliquer
+     */
+    public void forEachShape(Consumer<? super Shape> action) {
+        List<Shape> snapshot = snapshot();
+        for (int i = 0, n = snapshot.size(); i < n; i++) {
+            action.accept(snapshot.get(i));
+        }
+    }
+    
+    private List<Shape> snapshot() {
+        List<Shape> current = shapesSnapshot;
+        if (current == null) {
+            current = Collections.unmodifiableList(Arrays.asList(shapes.toArray(new Shape[0])));
+            shapesSnapshot = current;
+        }
+        return current;
+    }
+    
+    private void invalidateSnapshot() {
+        shapesSnapshot = null;
+    }
+    
     // Getters et Setters
+    /**
+     * Obtient les formes du dessin
+     * @return Vue en lecture seule, figée au moment de l'appel (non copiée tant que le dessin ne change pas)
+     */
     public List<Shape> getShapes() {
-        return new ArrayList<>(shapes); // Retourner une copie pour éviter les modifications externes
+        return snapshot();
     }
     
     public String getName() {
@@ -157,10 +452,9 @@ public class Drawing extends Observable {
     
     public void setName(String name) {
         this.name = name;
-        setChanged();
-        notifyObservers("NAME_CHANGED");
+        fireChange(new DrawingEvent.PropertyChanged(this, "name"));
         
-        if (logger != null) {
+        if (logger != null && batchDepth == 0) {
             logger.log(LoggingStrategy.LogLevel.INFO, 
                       "Nom du dessin changé: " + name);
         }
@@ -172,8 +466,7 @@ public class Drawing extends Observable {
     
     public void setDescription(String description) {
         this.description = description;
-        setChanged();
-        notifyObservers("DESCRIPTION_CHANGED");
+        fireChange(new DrawingEvent.PropertyChanged(this, "description"));
     }
     
     public void setLogger(LoggingStrategy logger) {
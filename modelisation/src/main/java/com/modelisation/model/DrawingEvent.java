@@ -0,0 +1,188 @@
+package com.modelisation.model;
+
+import com.modelisation.model.shapes.Shape;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+
+/**
+ * Événement typé décrivant une modification d'un Drawing, transmis aux DrawingListener
+ * Chaque sous-classe porte les informations utiles pour réagir de manière incrémentale
+ * (forme concernée, position dans la liste, anciennes bornes...)
+ */
+public abstract class DrawingEvent {
+
+    private final Drawing source;
+
+    protected DrawingEvent(Drawing source) {
+        this.source = source;
+    }
+
+    /**
+     * Obtient le dessin à l'origine de l'événement
+     * @return Le dessin modifié
+     */
+    public Drawing getSource() {
+        return source;
+    }
+
+    /**
+     * Obtient la zone du dessin affectée par la modification
+     * @return La zone à repeindre, ou null si tout le dessin est concerné (ou rien de visible)
+     */
+    public abstract Bounds getDirtyRegion();
+
+    /**
+     * Calcule la plus petite boîte contenant deux boîtes englobantes
+     */
+    public static Bounds union(Bounds a, Bounds b) {
+        double minX = Math.min(a.getMinX(), b.getMinX());
+        double minY = Math.min(a.getMinY(), b.getMinY());
+        double maxX = Math.max(a.getMaxX(), b.getMaxX());
+        double maxY = Math.max(a.getMaxY(), b.getMaxY());
+        return new BoundingBox(minX, minY, maxX - minX, maxY - minY);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName();
+    }
+
+    /**
+     * Une forme a été ajoutée à la position index
+     */
+    public static final class ShapeAdded extends DrawingEvent {
+        private final Shape shape;
+        private final int index;
+
+        public ShapeAdded(Drawing source, Shape shape, int index) {
+            super(source);
+            this.shape = shape;
+            this.index = index;
+        }
+
+        public Shape getShape() { return shape; }
+        public int getIndex() { return index; }
+
+        @Override
+        public Bounds getDirtyRegion() {
+            return shape.getBounds();
+        }
+    }
+
+    /**
+     * Une forme a été supprimée ; index est sa position au moment de la suppression
+     */
+    public static final class ShapeRemoved extends DrawingEvent {
+        private final Shape shape;
+        private final int index;
+
+        public ShapeRemoved(Drawing source, Shape shape, int index) {
+            super(source);
+            this.shape = shape;
+            this.index = index;
+        }
+
+        public Shape getShape() { return shape; }
+        public int getIndex() { return index; }
+
+        @Override
+        public Bounds getDirtyRegion() {
+            return shape.getBounds();
+        }
+    }
+
+    /**
+     * La géométrie d'une forme a changé (déplacement, redimensionnement...)
+     */
+    public static final class ShapeMoved extends DrawingEvent {
+        private final Shape shape;
+        private final Bounds oldBounds;
+        private final Bounds newBounds;
+
+        public ShapeMoved(Drawing source, Shape shape, Bounds oldBounds) {
+            super(source);
+            this.shape = shape;
+            this.oldBounds = oldBounds;
+            this.newBounds = shape.getBounds();
+        }
+
+        public Shape getShape() { return shape; }
+        public Bounds getOldBounds() { return oldBounds; }
+        public Bounds getNewBounds() { return newBounds; }
+
+        @Override
+        public Bounds getDirtyRegion() {
+            return union(oldBounds, newBounds);
+        }
+    }
+
+    /**
+     * Toutes les formes ont été supprimées
+     */
+    public static final class Cleared extends DrawingEvent {
+        private final int removedCount;
+
+        public Cleared(Drawing source, int removedCount) {
+            super(source);
+            this.removedCount = removedCount;
+        }
+
+        public int getRemovedCount() { return removedCount; }
+
+        @Override
+        public Bounds getDirtyRegion() {
+            return null;
+        }
+    }
+
+    /**
+     * Récapitulatif d'une modification groupée (addAll, removeAll, batch)
+     */
+    public static final class Batch extends DrawingEvent {
+        private final int addedCount;
+        private final int removedCount;
+        private final int movedCount;
+        private final Bounds dirtyRegion;
+
+        public Batch(Drawing source, int addedCount, int removedCount, int movedCount, Bounds dirtyRegion) {
+            super(source);
+            this.addedCount = addedCount;
+            this.removedCount = removedCount;
+            this.movedCount = movedCount;
+            this.dirtyRegion = dirtyRegion;
+        }
+
+        public int getAddedCount() { return addedCount; }
+        public int getRemovedCount() { return removedCount; }
+        public int getMovedCount() { return movedCount; }
+
+        @Override
+        public Bounds getDirtyRegion() {
+            return dirtyRegion;
+        }
+    }
+
+    /**
+     * Une propriété non graphique du dessin a changé (nom, description)
+     */
+    public static final class PropertyChanged extends DrawingEvent {
+        private final String propertyName;
+
+        public PropertyChanged(Drawing source, String propertyName) {
+            super(source);
+            this.propertyName = propertyName;
+        }
+
+        public String getPropertyName() { return propertyName; }
+
+        @Override
+        public Bounds getDirtyRegion() {
+            return null;
+        }
+
+        @Override
+        public String toString() {
+            return "PropertyChanged[" + propertyName + "]";
+        }
+    }
+}
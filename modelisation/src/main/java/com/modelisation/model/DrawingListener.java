@@ -0,0 +1,15 @@
+package com.modelisation.model;
+
+/**
+ * Interface Observer pour être notifié des modifications d'un Drawing
+ * Les notifications sont envoyées sur le thread qui modifie le dessin
+ */
+@FunctionalInterface
+public interface DrawingListener {
+
+    /**
+     * Appelée après chaque modification du dessin (ou à la fin d'une modification groupée)
+     * @param event Événement décrivant la modification
+     */
+    void drawingChanged(DrawingEvent event);
+}
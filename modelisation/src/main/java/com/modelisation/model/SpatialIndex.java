@@ -0,0 +1,56 @@
+package com.modelisation.model;
+
+import com.modelisation.model.shapes.Shape;
+import javafx.geometry.Bounds;
+
+import java.util.List;
+
+/**
+ * Interface Strategy pour l'indexation spatiale des formes d'un dessin
+ * Permet de remplacer la structure d'indexation (grille uniforme, R-tree, ...)
+ * sans modifier la classe Drawing
+ */
+public interface SpatialIndex {
+
+    /**
+     * Indexe une forme avec sa boîte englobante
+     * @param shape Forme à indexer
+     * @param bounds Boîte englobante de la forme au moment de l'insertion
+     */
+    void insert(Shape shape, Bounds bounds);
+
+    /**
+     * Retire une forme de l'index
+     * @param shape Forme à retirer
+     * @return true si la forme était indexée
+     */
+    boolean remove(Shape shape);
+
+    /**
+     * Vide complètement l'index
+     */
+    void clear();
+
+    /**
+     * Retourne les formes dont la boîte englobante contient le point donné.
+     * Les candidats ne sont pas triés et doivent encore être vérifiés avec Shape.contains
+     * @param x Coordonnée X
+     * @param y Coordonnée Y
+     * @return Liste des formes candidates (jamais null)
+     */
+    List<Shape> query(double x, double y);
+
+    /**
+     * Retourne les formes dont la boîte englobante intersecte la région donnée.
+     * Chaque forme n'apparaît qu'une seule fois, sans ordre particulier
+     * @param region Région de recherche
+     * @return Nouvelle liste modifiable des formes candidates (jamais null)
+     */
+    List<Shape> query(Bounds region);
+
+    /**
+     * Obtient le nombre de formes indexées
+     * @return Nombre de formes
+     */
+    int size();
+}
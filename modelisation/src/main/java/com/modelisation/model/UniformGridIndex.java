@@ -0,0 +1,211 @@
+package com.modelisation.model;
+
+import com.modelisation.model.shapes.Shape;
+import javafx.geometry.Bounds;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index spatial basé sur une grille uniforme (hachage spatial)
+ * Chaque forme est enregistrée dans toutes les cellules couvertes par sa boîte englobante.
+ * Une recherche ponctuelle ne visite qu'une seule cellule, quel que soit le nombre de formes.
+ * Les formes couvrant trop de cellules (très grandes lignes, rectangles géants) sont
+ * conservées à part pour ne pas saturer la grille.
+ */
+public class UniformGridIndex implements SpatialIndex {
+
+    /** Taille de cellule par défaut, en pixels */
+    public static final double DEFAULT_CELL_SIZE = 64.0;
+
+    /** Nombre maximal de cellules qu'une forme peut occuper avant d'être traitée comme "surdimensionnée" */
+    private static final int MAX_CELLS_PER_SHAPE = 256;
+
+    private final double cellSize;
+    private final Map<Long, List<Shape>> cells;
+    private final Map<Shape, Bounds> entries;
+    private final List<Shape> oversized;
+
+    public UniformGridIndex() {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    public UniformGridIndex(double cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("La taille de cellule doit être positive: " + cellSize);
+        }
+        this.cellSize = cellSize;
+        this.cells = new HashMap<>();
+        this.entries = new IdentityHashMap<>();
+        this.oversized = new ArrayList<>();
+    }
+
+    @Override
+    public void insert(Shape shape, Bounds bounds) {
+        if (entries.containsKey(shape)) {
+            remove(shape);
+        }
+        entries.put(shape, bounds);
+
+        int minCellX = cellOf(bounds.getMinX());
+        int minCellY = cellOf(bounds.getMinY());
+        int maxCellX = cellOf(bounds.getMaxX());
+        int maxCellY = cellOf(bounds.getMaxY());
+
+        if (isOversized(minCellX, minCellY, maxCellX, maxCellY)) {
+            oversized.add(shape);
+            return;
+        }
+
+        for (int cx = minCellX; cx <= maxCellX; cx++) {
+            for (int cy = minCellY; cy <= maxCellY; cy++) {
+                cells.computeIfAbsent(key(cx, cy), k -> new ArrayList<>(4)).add(shape);
+            }
+        }
+    }
+
+    @Override
+    public boolean remove(Shape shape) {
+        Bounds bounds = entries.remove(shape);
+        if (bounds == null) {
+            return false;
+        }
+
+        int minCellX = cellOf(bounds.getMinX());
+        int minCellY = cellOf(bounds.getMinY());
+        int maxCellX = cellOf(bounds.getMaxX());
+        int maxCellY = cellOf(bounds.getMaxY());
+
+        if (isOversized(minCellX, minCellY, maxCellX, maxCellY)) {
+            removeIdentity(oversized, shape);
+            return true;
+        }
+
+        for (int cx = minCellX; cx <= maxCellX; cx++) {
+            for (int cy = minCellY; cy <= maxCellY; cy++) {
+                long key = key(cx, cy);
+                List<Shape> cell = cells.get(key);
+                if (cell != null) {
+                    removeIdentity(cell, shape);
+                    if (cell.isEmpty()) {
+                        cells.remove(key);
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        cells.clear();
+        entries.clear();
+        oversized.clear();
+    }
+
+    @Override
+    public List<Shape> query(double x, double y) {
+        List<Shape> cell = cells.get(key(cellOf(x), cellOf(y)));
+        if ((cell == null || cell.isEmpty()) && oversized.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Shape> result = new ArrayList<>();
+        if (cell != null) {
+            for (Shape shape : cell) {
+                if (contains(entries.get(shape), x, y)) {
+                    result.add(shape);
+                }
+            }
+        }
+        for (Shape shape : oversized) {
+            if (contains(entries.get(shape), x, y)) {
+                result.add(shape);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Shape> query(Bounds region) {
+        List<Shape> result = new ArrayList<>();
+        Set<Shape> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        int minCellX = cellOf(region.getMinX());
+        int minCellY = cellOf(region.getMinY());
+        int maxCellX = cellOf(region.getMaxX());
+        int maxCellY = cellOf(region.getMaxY());
+
+        // Si la région couvre plus de cellules qu'il n'y a de formes, un parcours direct est plus rapide
+        long cellCount = ((long) maxCellX - minCellX + 1) * ((long) maxCellY - minCellY + 1);
+        if (cellCount > entries.size()) {
+            for (Map.Entry<Shape, Bounds> entry : entries.entrySet()) {
+                if (entry.getValue().intersects(region)) {
+                    result.add(entry.getKey());
+                }
+            }
+            return result;
+        }
+
+        for (int cx = minCellX; cx <= maxCellX; cx++) {
+            for (int cy = minCellY; cy <= maxCellY; cy++) {
+                List<Shape> cell = cells.get(key(cx, cy));
+                if (cell == null) {
+                    continue;
+                }
+                for (Shape shape : cell) {
+                    if (seen.add(shape) && entries.get(shape).intersects(region)) {
+                        result.add(shape);
+                    }
+                }
+            }
+        }
+        for (Shape shape : oversized) {
+            if (entries.get(shape).intersects(region)) {
+                result.add(shape);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    private int cellOf(double coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    private boolean isOversized(int minCellX, int minCellY, int maxCellX, int maxCellY) {
+        long cellCount = ((long) maxCellX - minCellX + 1) * ((long) maxCellY - minCellY + 1);
+        return cellCount > MAX_CELLS_PER_SHAPE;
+    }
+
+    private static long key(int cellX, int cellY) {
+        return ((long) cellX << 32) | (cellY & 0xFFFFFFFFL);
+    }
+
+    private static boolean contains(Bounds bounds, double x, double y) {
+        return x >= bounds.getMinX() && x <= bounds.getMaxX()
+            && y >= bounds.getMinY() && y <= bounds.getMaxY();
+    }
+
+    private static void removeIdentity(List<Shape> list, Shape shape) {
+        for (int i = list.size() - 1; i >= 0; i--) {
+            if (list.get(i) == shape) {
+                list.remove(i);
+                return;
+            }
+        }
+    }
+}
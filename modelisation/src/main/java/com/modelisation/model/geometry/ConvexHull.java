@@ -0,0 +1,205 @@
+package com.modelisation.model.geometry;
+
+import com.modelisation.model.graph.Node;
+import com.modelisation.model.graph.ShapeGraphBuilder;
+import com.modelisation.model.shapes.Shape;
+import javafx.geometry.Point2D;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Enveloppe convexe d'un ensemble de points du plan, en O(n log n)
+ * Chaîne monotone d'Andrew : les points sont triés par x puis y, puis les enveloppes
+ * inférieure et supérieure sont construites en écartant tout point qui ne tourne pas à gauche.
+ * Les sommets sont rangés dans le sens trigonométrique, sans points alignés ni doublons.
+ * La paire de points la plus éloignée (diamètre) est obtenue par pieds à coulisse tournants
+ * sur l'enveloppe, en O(h) une fois celle-ci connue.
+ */
+public final class ConvexHull {
+
+    private final double[] xs;
+    private final double[] ys;
+    private final int[] hull;
+    private int[] farthestPair;
+
+    /**
+     * Calcule l'enveloppe des points (xs[i], ys[i])
+     * @param xs Abscisses
+     * @param ys Ordonnées, de même longueur
+     */
+    public ConvexHull(double[] xs, double[] ys) {
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException("Coordonnées de longueurs différentes: " + xs.length + " / " + ys.length);
+        }
+        this.xs = xs;
+        this.ys = ys;
+        this.hull = computeHull();
+    }
+
+    /**
+     * Enveloppe des positions des nœuds ; les indices renvoyés sont ceux de la liste
+     */
+    public static ConvexHull ofNodes(List<Node> nodes) {
+        double[] xs = new double[nodes.size()];
+        double[] ys = new double[nodes.size()];
+        for (int i = 0; i < nodes.size(); i++) {
+            xs[i] = nodes.get(i).getX();
+            ys[i] = nodes.get(i).getY();
+        }
+        return new ConvexHull(xs, ys);
+    }
+
+    /**
+     * Enveloppe des centres des formes (positions de leurs nœuds dans le graphe) ;
+     * les indices renvoyés sont ceux de la liste
+     */
+    public static ConvexHull ofShapeCenters(List<Shape> shapes) {
+        double[] xs = new double[shapes.size()];
+        double[] ys = new double[shapes.size()];
+        for (int i = 0; i < shapes.size(); i++) {
+            Point2D center = ShapeGraphBuilder.getShapeCenter(shapes.get(i));
+            xs[i] = center.getX();
+            ys[i] = center.getY();
+        }
+        return new ConvexHull(xs, ys);
+    }
+
+    /**
+     * @return Nombre de sommets de l'enveloppe (0 sans point, 1 si tous les points sont confondus,
+     * 2 s'ils sont alignés)
+     */
+    public int getVertexCount() {
+        return hull.length;
+    }
+
+    /**
+     * @return Indices des points sommets de l'enveloppe, dans le sens trigonométrique
+     */
+    public int[] getVertexIndices() {
+        return hull.clone();
+    }
+
+    /**
+     * @return Sommets de l'enveloppe, dans le sens trigonométrique (polygone à dessiner ou à cadrer)
+     */
+    public List<Point2D> getVertices() {
+        List<Point2D> vertices = new ArrayList<>(hull.length);
+        for (int point : hull) {
+            vertices.add(new Point2D(xs[point], ys[point]));
+        }
+        return vertices;
+    }
+
+    /**
+     * Paire de points la plus éloignée (diamètre de l'ensemble)
+     * @return Les indices des deux points, identiques s'il n'y a qu'une position,
+     * ou un tableau vide s'il n'y a aucun point
+     */
+    public int[] getFarthestPair() {
+        if (farthestPair == null) {
+            farthestPair = computeFarthestPair();
+        }
+        return farthestPair.clone();
+    }
+
+    /**
+     * @return Distance entre les deux points les plus éloignés (0 s'il y en a moins de deux)
+     */
+    public double getDiameter() {
+        int[] pair = getFarthestPair();
+        return pair.length == 0 ? 0 : Math.sqrt(distanceSq(pair[0], pair[1]));
+    }
+
+    private int[] computeHull() {
+        int n = xs.length;
+        if (n == 0) {
+            return new int[0];
+        }
+        int[] sorted = new int[n];
+        for (int i = 0; i < n; i++) {
+            sorted[i] = i;
+        }
+        IndexSort.sort(sorted, this::compare);
+
+        // Enveloppe inférieure de gauche à droite, puis supérieure de droite à gauche
+        int[] chain = new int[2 * n];
+        int size = 0;
+        for (int i = 0; i < n; i++) {
+            while (size >= 2 && cross(chain[size - 2], chain[size - 1], sorted[i]) <= 0) {
+                size--;
+            }
+            chain[size++] = sorted[i];
+        }
+        int lowerSize = size + 1;
+        for (int i = n - 2; i >= 0; i--) {
+            while (size >= lowerSize && cross(chain[size - 2], chain[size - 1], sorted[i]) <= 0) {
+                size--;
+            }
+            chain[size++] = sorted[i];
+        }
+        // Le dernier point est le premier ; un seul point s'il n'y a qu'une position
+        size--;
+        if (size == 2 && xs[chain[0]] == xs[chain[1]] && ys[chain[0]] == ys[chain[1]]) {
+            size = 1;
+        }
+        return Arrays.copyOf(chain, Math.max(size, 1));
+    }
+
+    /**
+     * Pieds à coulisse tournants : pour chaque arête de l'enveloppe, le sommet le plus éloigné
+     * de sa droite support avance de façon monotone ; les paires antipodales ainsi visitées
+     * contiennent le diamètre.
+     */
+    private int[] computeFarthestPair() {
+        int h = hull.length;
+        if (h == 0) {
+            return new int[0];
+        }
+        if (h <= 2) {
+            return new int[]{hull[0], hull[h - 1]};
+        }
+        int best1 = hull[0], best2 = hull[1];
+        double bestDistanceSq = distanceSq(best1, best2);
+        int j = 1;
+        for (int i = 0; i < h; i++) {
+            int a = hull[i];
+            int b = hull[(i + 1) % h];
+            // Avancer tant que le sommet suivant est plus loin de la droite (a, b)
+            while (cross(a, b, hull[(j + 1) % h]) > cross(a, b, hull[j])) {
+                j = (j + 1) % h;
+            }
+            int c = hull[j];
+            if (distanceSq(a, c) > bestDistanceSq) {
+                bestDistanceSq = distanceSq(a, c);
+                best1 = a;
+                best2 = c;
+            }
+            if (distanceSq(b, c) > bestDistanceSq) {
+                bestDistanceSq = distanceSq(b, c);
+                best1 = b;
+                best2 = c;
+            }
+        }
+        return new int[]{best1, best2};
+    }
+
+    /**
+     * @return Produit vectoriel (b - a) x (c - a) : positif si a, b, c tournent à gauche
+     */
+    private double cross(int a, int b, int c) {
+        return (xs[b] - xs[a]) * (ys[c] - ys[a]) - (ys[b] - ys[a]) * (xs[c] - xs[a]);
+    }
+
+    private double distanceSq(int a, int b) {
+        double dx = xs[a] - xs[b];
+        double dy = ys[a] - ys[b];
+        return dx * dx + dy * dy;
+    }
+
+    private int compare(int a, int b) {
+        int byX = Double.compare(xs[a], xs[b]);
+        return byX != 0 ? byX : Double.compare(ys[a], ys[b]);
+    }
+}
@@ -0,0 +1,612 @@
+package com.modelisation.model.geometry;
+
+import java.util.Arrays;
+
+/**
+ * Triangulation de Delaunay d'un ensemble de points du plan, en O(n log n)
+ * Algorithme de balayage radial (sweep-hull) : les points sont insérés par distance croissante
+ * à un triangle initial, chacun étant relié aux arêtes visibles de l'enveloppe courante, puis
+ * la propriété de Delaunay est rétablie par retournements d'arêtes.
+ * Le résultat est stocké en demi-arêtes : la demi-arête e va du sommet triangles[e] au sommet
+ * triangles[next(e)], et halfedges[e] est la demi-arête opposée du triangle voisin (-1 sur l'enveloppe).
+ * Les points confondus ne sont triangulés qu'une fois ; getDuplicateOf indique le point retenu.
+ *
+ * Portage en Java de Delaunator (https://github.com/mapbox/delaunator), distribué sous licence ISC :
+ *
+ * ISC License
+ *
+ * Copyright (c) 2021, Mapbox
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any purpose
+ * with or without fee is hereby granted, provided that the above copyright notice
+ * and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH
+ * REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT,
+ * INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS
+ * OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT, NEGLIGENCE OR OTHER
+ * TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF
+ * THIS SOFTWARE.
+ */
+public final class DelaunayTriangulation {
+
+    private static final double EPSILON = Math.ulp(1.0) * 2;
+    private static final int NONE = -1;
+
+    private final double[] xs;
+    private final double[] ys;
+    private final int[] triangles;
+    private final int[] halfedges;
+    private int trianglesLength;
+    private final int[] duplicateOf;
+
+    // État du balayage : enveloppe convexe courante, en liste doublement chaînée circulaire
+    private final int hashSize;
+    private final int[] hullPrev;
+    private final int[] hullNext;
+    private final int[] hullTri;
+    private final int[] hullHash;
+    private int hullStart;
+    private double centerX, centerY;
+    private int[] edgeStack = new int[512];
+
+    /**
+     * Triangule les points (xs[i], ys[i])
+     * @param xs Abscisses
+     * @param ys Ordonnées, de même longueur
+     */
+    public DelaunayTriangulation(double[] xs, double[] ys) {
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException("Coordonnées de longueurs différentes: " + xs.length + " / " + ys.length);
+        }
+        this.xs = xs;
+        this.ys = ys;
+        int n = xs.length;
+        int maxTriangles = Math.max(2 * n - 5, 0);
+        triangles = new int[maxTriangles * 3];
+        halfedges = new int[maxTriangles * 3];
+        duplicateOf = new int[n];
+        Arrays.fill(duplicateOf, NONE);
+
+        hashSize = (int) Math.ceil(Math.sqrt(n));
+        hullPrev = new int[n];
+        hullNext = new int[n];
+        hullTri = new int[n];
+        hullHash = new int[Math.max(hashSize, 1)];
+
+        triangulate();
+    }
+
+    /**
+     * @return Nombre de triangles
+     */
+    public int getTriangleCount() {
+        return trianglesLength / 3;
+    }
+
+    /**
+     * @return Sommet d'origine de la demi-arête e (les trois demi-arêtes du triangle t sont 3t, 3t+1, 3t+2)
+     */
+    public int getTriangleVertex(int halfedge) {
+        return triangles[halfedge];
+    }
+
+    /**
+     * @return Demi-arête opposée dans le triangle voisin, ou -1 si e est sur l'enveloppe convexe
+     */
+    public int getOppositeHalfedge(int halfedge) {
+        return halfedges[halfedge];
+    }
+
+    /**
+     * @return Demi-arête suivante dans le même triangle
+     */
+    public static int nextHalfedge(int halfedge) {
+        return halfedge % 3 == 2 ? halfedge - 2 : halfedge + 1;
+    }
+
+    /**
+     * @return Nombre de demi-arêtes (trois par triangle)
+     */
+    public int getHalfedgeCount() {
+        return trianglesLength;
+    }
+
+    /**
+     * Indique si un point a été écarté parce que confondu avec un autre
+     * @return L'indice du point retenu à la même position, ou -1 si le point est triangulé
+     */
+    public int getDuplicateOf(int point) {
+        return duplicateOf[point];
+    }
+
+    /**
+     * Parcourt chaque arête de la triangulation une seule fois
+     * Si tous les points sont alignés, il n'y a aucun triangle : les arêtes sont alors
+     * les segments entre points consécutifs sur la droite.
+     */
+    public void forEachEdge(EdgeConsumer action) {
+        if (trianglesLength == 0) {
+            forEachCollinearEdge(action);
+            return;
+        }
+        for (int e = 0; e < trianglesLength; e++) {
+            // Une arête intérieure a deux demi-arêtes : ne garder que la plus grande
+            if (halfedges[e] < e) {
+                action.accept(triangles[e], triangles[nextHalfedge(e)]);
+            }
+        }
+    }
+
+    /**
+     * Parcourt les arêtes du graphe de Gabriel (sous-graphe connexe de la triangulation)
+     * Une arête ab est conservée si aucun point n'est strictement dans le disque de diamètre ab ;
+     * pour une arête de Delaunay, il suffit de tester les deux sommets opposés, c'est-à-dire
+     * de vérifier que les angles qui lui font face ne sont pas obtus.
+     */
+    public void forEachGabrielEdge(EdgeConsumer action) {
+        if (trianglesLength == 0) {
+            forEachCollinearEdge(action);
+            return;
+        }
+        for (int e = 0; e < trianglesLength; e++) {
+            int opposite = halfedges[e];
+            if (opposite >= e) {
+                continue;
+            }
+            int a = triangles[e];
+            int b = triangles[nextHalfedge(e)];
+            boolean gabriel = !facesObtuseAngle(a, b, triangles[nextHalfedge(nextHalfedge(e))]);
+            if (gabriel && opposite != NONE) {
+                gabriel = !facesObtuseAngle(a, b, triangles[nextHalfedge(nextHalfedge(opposite))]);
+            }
+            if (gabriel) {
+                action.accept(a, b);
+            }
+        }
+    }
+
+    /**
+     * Parcourt les arêtes du graphe des voisins relatifs (RNG), inclus dans celui de Gabriel
+     * et contenant l'arbre couvrant minimal euclidien : il reste donc connexe.
+     * Une arête ab est conservée si aucun point c n'est plus proche à la fois de a et de b
+     * que a et b ne le sont entre eux (lunule vide). Seuls les voisins de a et de b dans
+     * la triangulation sont testés : O(n) pour un degré moyen de 6.
+     */
+    public void forEachRelativeNeighborhoodEdge(EdgeConsumer action) {
+        if (trianglesLength == 0) {
+            forEachCollinearEdge(action);
+            return;
+        }
+        // Voisinage de chaque point dans la triangulation, au format CSR
+        int n = xs.length;
+        int[] offsets = new int[n + 1];
+        forEachEdge((a, b) -> {
+            offsets[a + 1]++;
+            offsets[b + 1]++;
+        });
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        int[] neighbors = new int[offsets[n]];
+        int[] next = Arrays.copyOf(offsets, n);
+        forEachEdge((a, b) -> {
+            neighbors[next[a]++] = b;
+            neighbors[next[b]++] = a;
+        });
+
+        forEachEdge((a, b) -> {
+            double length = distanceSq(xs[a], ys[a], xs[b], ys[b]);
+            if (!luneOccupied(a, b, length, a, offsets, neighbors)
+                    && !luneOccupied(a, b, length, b, offsets, neighbors)) {
+                action.accept(a, b);
+            }
+        });
+    }
+
+    /**
+     * Action appelée pour une arête entre deux points (indices)
+     */
+    @FunctionalInterface
+    public interface EdgeConsumer {
+        void accept(int a, int b);
+    }
+
+    private void triangulate() {
+        int n = xs.length;
+        if (n < 2) {
+            return;
+        }
+
+        // Centre de la boîte englobante
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            minX = Math.min(minX, xs[i]);
+            minY = Math.min(minY, ys[i]);
+            maxX = Math.max(maxX, xs[i]);
+            maxY = Math.max(maxY, ys[i]);
+        }
+        double cx = (minX + maxX) / 2;
+        double cy = (minY + maxY) / 2;
+
+        // Triangle initial : point le plus proche du centre, son plus proche voisin,
+        // puis le point donnant le plus petit cercle circonscrit
+        int i0 = 0;
+        double minDistance = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            double d = distanceSq(cx, cy, xs[i], ys[i]);
+            if (d < minDistance) {
+                i0 = i;
+                minDistance = d;
+            }
+        }
+        int i1 = NONE;
+        minDistance = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            double d = distanceSq(xs[i0], ys[i0], xs[i], ys[i]);
+            if (i != i0 && d < minDistance && d > 0) {
+                i1 = i;
+                minDistance = d;
+            }
+        }
+        int i2 = NONE;
+        double minRadius = Double.POSITIVE_INFINITY;
+        if (i1 != NONE) {
+            for (int i = 0; i < n; i++) {
+                if (i == i0 || i == i1) {
+                    continue;
+                }
+                double r = circumradiusSq(xs[i0], ys[i0], xs[i1], ys[i1], xs[i], ys[i]);
+                if (r < minRadius) {
+                    i2 = i;
+                    minRadius = r;
+                }
+            }
+        }
+        if (minRadius == Double.POSITIVE_INFINITY) {
+            return; // Points tous alignés (ou confondus) : aucun triangle
+        }
+
+        // Orientation du triangle initial dans le sens attendu par le balayage
+        if (orient(xs[i0], ys[i0], xs[i1], ys[i1], xs[i2], ys[i2])) {
+            int swap = i1;
+            i1 = i2;
+            i2 = swap;
+        }
+        centerX = circumcenterX(xs[i0], ys[i0], xs[i1], ys[i1], xs[i2], ys[i2]);
+        centerY = circumcenterY(xs[i0], ys[i0], xs[i1], ys[i1], xs[i2], ys[i2]);
+
+        // Ordre d'insertion : distance croissante au centre du cercle circonscrit initial
+        int[] ids = new int[n];
+        double[] distances = new double[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = i;
+            distances[i] = distanceSq(xs[i], ys[i], centerX, centerY);
+        }
+        sortByDistance(ids, distances, i0, i1, i2);
+
+        hullStart = i0;
+        hullNext[i0] = hullPrev[i2] = i1;
+        hullNext[i1] = hullPrev[i0] = i2;
+        hullNext[i2] = hullPrev[i1] = i0;
+        hullTri[i0] = 0;
+        hullTri[i1] = 1;
+        hullTri[i2] = 2;
+        Arrays.fill(hullHash, NONE);
+        hullHash[hashKey(xs[i0], ys[i0])] = i0;
+        hullHash[hashKey(xs[i1], ys[i1])] = i1;
+        hullHash[hashKey(xs[i2], ys[i2])] = i2;
+
+        trianglesLength = 0;
+        addTriangle(i0, i1, i2, NONE, NONE, NONE);
+
+        int previous = NONE;
+        for (int k = 0; k < n; k++) {
+            int i = ids[k];
+            double x = xs[i];
+            double y = ys[i];
+
+            // Points du triangle initial : déjà triangulés, jamais écartés comme doublons
+            if (i == i0 || i == i1 || i == i2) {
+                previous = i;
+                continue;
+            }
+            // Point confondu avec le précédent (même distance au centre, donc voisin dans l'ordre)
+            if (previous != NONE && Math.abs(x - xs[previous]) <= EPSILON && Math.abs(y - ys[previous]) <= EPSILON) {
+                duplicateOf[i] = duplicateOf[previous] != NONE ? duplicateOf[previous] : previous;
+                continue;
+            }
+            previous = i;
+
+            // Arête de l'enveloppe visible depuis le point, trouvée par hachage angulaire
+            int start = 0;
+            int key = hashKey(x, y);
+            for (int j = 0; j < hashSize; j++) {
+                start = hullHash[(key + j) % hashSize];
+                if (start != NONE && start != hullNext[start]) {
+                    break;
+                }
+            }
+            start = hullPrev[start];
+            int e = start;
+            int q;
+            while (!orient(x, y, xs[e], ys[e], xs[q = hullNext[e]], ys[q])) {
+                e = q;
+                if (e == start) {
+                    e = NONE;
+                    break;
+                }
+            }
+            if (e == NONE) {
+                // Point quasi confondu avec un sommet de l'enveloppe : rattaché au plus proche
+                duplicateOf[i] = nearestHullVertex(x, y);
+                continue;
+            }
+
+            // Premier triangle depuis le point, puis extension de part et d'autre
+            int t = addTriangle(e, i, hullNext[e], NONE, NONE, hullTri[e]);
+            hullTri[i] = legalize(t + 2);
+            hullTri[e] = t;
+
+            int next = hullNext[e];
+            while (orient(x, y, xs[next], ys[next], xs[q = hullNext[next]], ys[q])) {
+                t = addTriangle(next, i, q, hullTri[i], NONE, hullTri[next]);
+                hullTri[i] = legalize(t + 2);
+                hullNext[next] = next; // Retiré de l'enveloppe
+                next = q;
+            }
+            if (e == start) {
+                while (orient(x, y, xs[q = hullPrev[e]], ys[q], xs[e], ys[e])) {
+                    t = addTriangle(q, i, e, NONE, hullTri[e], hullTri[q]);
+                    legalize(t + 2);
+                    hullTri[q] = t;
+                    hullNext[e] = e; // Retiré de l'enveloppe
+                    e = q;
+                }
+            }
+
+            hullStart = hullPrev[i] = e;
+            hullNext[e] = hullPrev[next] = i;
+            hullNext[i] = next;
+            hullHash[hashKey(x, y)] = i;
+            hullHash[hashKey(xs[e], ys[e])] = e;
+        }
+    }
+
+    /**
+     * Rétablit la propriété de Delaunay autour de la demi-arête a par retournements successifs
+     * @return La demi-arête correspondant à l'arête a après retournements
+     */
+    private int legalize(int a) {
+        int stackSize = 0;
+        int ar;
+        while (true) {
+            int b = halfedges[a];
+            int a0 = a - a % 3;
+            ar = a0 + (a + 2) % 3;
+
+            if (b == NONE) {
+                if (stackSize == 0) {
+                    break;
+                }
+                a = edgeStack[--stackSize];
+                continue;
+            }
+
+            int b0 = b - b % 3;
+            int al = a0 + (a + 1) % 3;
+            int bl = b0 + (b + 2) % 3;
+            int p0 = triangles[ar];
+            int pr = triangles[a];
+            int pl = triangles[al];
+            int p1 = triangles[bl];
+
+            if (inCircle(xs[p0], ys[p0], xs[pr], ys[pr], xs[pl], ys[pl], xs[p1], ys[p1])) {
+                // Retournement de l'arête commune aux deux triangles
+                triangles[a] = p1;
+                triangles[b] = p0;
+                int hbl = halfedges[bl];
+                if (hbl == NONE) {
+                    // L'arête retournée était sur l'enveloppe : mettre à jour son triangle
+                    int e = hullStart;
+                    do {
+                        if (hullTri[e] == bl) {
+                            hullTri[e] = a;
+                            break;
+                        }
+                        e = hullPrev[e];
+                    } while (e != hullStart);
+                }
+                link(a, hbl);
+                link(b, halfedges[ar]);
+                link(ar, bl);
+
+                int br = b0 + (b + 1) % 3;
+                if (stackSize == edgeStack.length) {
+                    edgeStack = Arrays.copyOf(edgeStack, stackSize * 2);
+                }
+                edgeStack[stackSize++] = br;
+            } else {
+                if (stackSize == 0) {
+                    break;
+                }
+                a = edgeStack[--stackSize];
+            }
+        }
+        return ar;
+    }
+
+    private int addTriangle(int i0, int i1, int i2, int a, int b, int c) {
+        int t = trianglesLength;
+        triangles[t] = i0;
+        triangles[t + 1] = i1;
+        triangles[t + 2] = i2;
+        link(t, a);
+        link(t + 1, b);
+        link(t + 2, c);
+        trianglesLength += 3;
+        return t;
+    }
+
+    private void link(int a, int b) {
+        halfedges[a] = b;
+        if (b != NONE) {
+            halfedges[b] = a;
+        }
+    }
+
+    /**
+     * @return true si l'angle acb est obtus (c strictement dans le disque de diamètre ab)
+     */
+    private boolean facesObtuseAngle(int a, int b, int c) {
+        return (xs[a] - xs[c]) * (xs[b] - xs[c]) + (ys[a] - ys[c]) * (ys[b] - ys[c]) < 0;
+    }
+
+    /**
+     * @return true si un voisin de center est dans la lunule de l'arête ab
+     */
+    private boolean luneOccupied(int a, int b, double lengthSq, int center, int[] offsets, int[] neighbors) {
+        for (int k = offsets[center]; k < offsets[center + 1]; k++) {
+            int c = neighbors[k];
+            if (c != a && c != b
+                    && distanceSq(xs[a], ys[a], xs[c], ys[c]) < lengthSq
+                    && distanceSq(xs[b], ys[b], xs[c], ys[c]) < lengthSq) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int nearestHullVertex(double x, double y) {
+        int best = hullStart;
+        int e = hullStart;
+        do {
+            if (distanceSq(x, y, xs[e], ys[e]) < distanceSq(x, y, xs[best], ys[best])) {
+                best = e;
+            }
+            e = hullNext[e];
+        } while (e != hullStart);
+        return best;
+    }
+
+    /**
+     * Points alignés : segments entre points consécutifs le long de la droite
+     */
+    private void forEachCollinearEdge(EdgeConsumer action) {
+        int n = xs.length;
+        if (n < 2) {
+            return;
+        }
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        // Abscisse le long de la droite (ordonnée si la droite est verticale)
+        Arrays.sort(order, (a, b) -> {
+            int byX = Double.compare(xs[a], xs[b]);
+            return byX != 0 ? byX : Double.compare(ys[a], ys[b]);
+        });
+        for (int k = 1; k < n; k++) {
+            action.accept(order[k - 1], order[k]);
+        }
+    }
+
+    private int hashKey(double x, double y) {
+        return (int) (Math.floor(pseudoAngle(x - centerX, y - centerY) * hashSize) % hashSize);
+    }
+
+    /**
+     * Fonction croissante de l'angle, sur [0, 1[, sans trigonométrie
+     */
+    private static double pseudoAngle(double dx, double dy) {
+        double p = dx / (Math.abs(dx) + Math.abs(dy));
+        return (dy > 0 ? 3 - p : 1 + p) / 4;
+    }
+
+    /**
+     * @return true si r, q, p tournent dans le sens trigonométrique (test tolérant aux erreurs d'arrondi,
+     * qui donne le même résultat quel que soit le sommet de départ du triangle)
+     */
+    private static boolean orient(double rx, double ry, double qx, double qy, double px, double py) {
+        double sign = orientIfSure(px, py, rx, ry, qx, qy);
+        if (sign == 0) {
+            sign = orientIfSure(rx, ry, qx, qy, px, py);
+        }
+        if (sign == 0) {
+            sign = orientIfSure(qx, qy, px, py, rx, ry);
+        }
+        return sign < 0;
+    }
+
+    private static double orientIfSure(double px, double py, double rx, double ry, double qx, double qy) {
+        double l = (ry - py) * (qx - px);
+        double r = (rx - px) * (qy - py);
+        return Math.abs(l - r) >= 3.3306690738754716e-16 * Math.abs(l + r) ? l - r : 0;
+    }
+
+    /**
+     * @return true si p est strictement dans le cercle circonscrit au triangle abc
+     */
+    private static boolean inCircle(double ax, double ay, double bx, double by, double cx, double cy,
+                                    double px, double py) {
+        double dx = ax - px, dy = ay - py;
+        double ex = bx - px, ey = by - py;
+        double fx = cx - px, fy = cy - py;
+        double ap = dx * dx + dy * dy;
+        double bp = ex * ex + ey * ey;
+        double cp = fx * fx + fy * fy;
+        return dx * (ey * cp - bp * fy) - dy * (ex * cp - bp * fx) + ap * (ex * fy - ey * fx) < 0;
+    }
+
+    private static double circumradiusSq(double ax, double ay, double bx, double by, double cx, double cy) {
+        double dx = bx - ax, dy = by - ay;
+        double ex = cx - ax, ey = cy - ay;
+        double bl = dx * dx + dy * dy;
+        double cl = ex * ex + ey * ey;
+        double d = 0.5 / (dx * ey - dy * ex);
+        double x = (ey * bl - dy * cl) * d;
+        double y = (dx * cl - ex * bl) * d;
+        double r = x * x + y * y;
+        return Double.isNaN(r) ? Double.POSITIVE_INFINITY : r; // Points alignés : cercle infini
+    }
+
+    private static double circumcenterX(double ax, double ay, double bx, double by, double cx, double cy) {
+        double dx = bx - ax, dy = by - ay;
+        double ex = cx - ax, ey = cy - ay;
+        double bl = dx * dx + dy * dy;
+        double cl = ex * ex + ey * ey;
+        double d = 0.5 / (dx * ey - dy * ex);
+        return ax + (ey * bl - dy * cl) * d;
+    }
+
+    private static double circumcenterY(double ax, double ay, double bx, double by, double cx, double cy) {
+        double dx = bx - ax, dy = by - ay;
+        double ex = cx - ax, ey = cy - ay;
+        double bl = dx * dx + dy * dy;
+        double cl = ex * ex + ey * ey;
+        double d = 0.5 / (dx * ey - dy * ex);
+        return ay + (dx * cl - ex * bl) * d;
+    }
+
+    private static double distanceSq(double ax, double ay, double bx, double by) {
+        double dx = ax - bx;
+        double dy = ay - by;
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Tri des indices par distance croissante ; à distance égale, les trois points du triangle
+     * initial passent en premier, pour que leurs copies confondues leur soient rattachées
+     */
+    private static void sortByDistance(int[] ids, double[] distances, int i0, int i1, int i2) {
+        IndexSort.sort(ids, (a, b) -> {
+            int byDistance = Double.compare(distances[a], distances[b]);
+            if (byDistance != 0) {
+                return byDistance;
+            }
+            return Boolean.compare(a != i0 && a != i1 && a != i2, b != i0 && b != i1 && b != i2);
+        });
+    }
+}
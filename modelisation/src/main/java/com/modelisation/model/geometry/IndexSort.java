@@ -0,0 +1,67 @@
+package com.modelisation.model.geometry;
+
+/**
+ * Tri d'un tableau d'indices de points selon un ordre sur les points
+ * Tri rapide sur tableau primitif (sans boxing), récursion sur la plus petite partie
+ * et tri par insertion des petites plages.
+ */
+final class IndexSort {
+
+    /** En dessous de cette taille, les plages sont triées par insertion */
+    private static final int INSERTION_SORT_THRESHOLD = 20;
+
+    /**
+     * Ordre sur les indices de points
+     */
+    @FunctionalInterface
+    interface IndexComparator {
+        int compare(int a, int b);
+    }
+
+    private IndexSort() {
+    }
+
+    /**
+     * Trie les indices selon l'ordre donné (tri non stable)
+     */
+    static void sort(int[] ids, IndexComparator comparator) {
+        sort(ids, 0, ids.length - 1, comparator);
+    }
+
+    private static void sort(int[] ids, int left, int right, IndexComparator comparator) {
+        while (right - left > INSERTION_SORT_THRESHOLD) {
+            int pivot = ids[(left + right) >>> 1];
+            int i = left, j = right;
+            while (i <= j) {
+                while (comparator.compare(ids[i], pivot) < 0) {
+                    i++;
+                }
+                while (comparator.compare(ids[j], pivot) > 0) {
+                    j--;
+                }
+                if (i <= j) {
+                    int tmp = ids[i];
+                    ids[i++] = ids[j];
+                    ids[j--] = tmp;
+                }
+            }
+            // Récursion sur la plus petite partie, boucle sur l'autre (pile en O(log n))
+            if (j - left < right - i) {
+                sort(ids, left, j, comparator);
+                left = i;
+            } else {
+                sort(ids, i, right, comparator);
+                right = j;
+            }
+        }
+        for (int i = left + 1; i <= right; i++) {
+            int id = ids[i];
+            int j = i - 1;
+            while (j >= left && comparator.compare(ids[j], id) > 0) {
+                ids[j + 1] = ids[j];
+                j--;
+            }
+            ids[j + 1] = id;
+        }
+    }
+}
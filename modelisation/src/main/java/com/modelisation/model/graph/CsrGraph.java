@@ -0,0 +1,192 @@
+package com.modelisation.model.graph;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Instantané immuable et compact d'un Graph au format CSR (compressed sparse row)
+ * Les nœuds sont numérotés de 0 à n-1 ; les arcs sortants du nœud i occupent les positions
+ * offsets[i] à offsets[i+1]-1 des tableaux targets et weights (12 octets par arc).
+ * Dans un graphe non dirigé, chaque arête donne deux arcs, un dans chaque sens.
+ * Les algorithmes peuvent ainsi travailler sur des tableaux primitifs, sans allocation
+ * dans leurs boucles internes.
+ */
+public final class CsrGraph {
+
+    private final Node[] nodes;
+    private final Map<Node, Integer> indexByNode;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+    private final boolean directed;
+    // Graphe transposé (arcs inversés), construit à la première demande
+    private volatile CsrGraph reversed;
+
+    private CsrGraph(Node[] nodes, Map<Node, Integer> indexByNode, int[] offsets, int[] targets,
+                     double[] weights, boolean directed) {
+        this.nodes = nodes;
+        this.indexByNode = indexByNode;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.directed = directed;
+    }
+
+    /**
+     * Construit l'instantané d'un graphe (préférer Graph.toCsr(), qui le met en cache)
+     * Les poids sont ceux des arêtes au moment de la construction.
+     * @param graph Graphe source
+     * @return L'instantané CSR
+     */
+    public static CsrGraph of(Graph graph) {
+        Collection<Node> graphNodes = graph.getNodes();
+        int n = graphNodes.size();
+        Node[] nodes = new Node[n];
+        Map<Node, Integer> indexByNode = new HashMap<>(Math.max(16, n * 2));
+        int i = 0;
+        for (Node node : graphNodes) {
+            nodes[i] = node;
+            indexByNode.put(node, i);
+            i++;
+        }
+
+        boolean directed = graph.isDirected();
+        Collection<Edge> edges = graph.getEdges();
+        int[] sources = new int[edges.size()];
+        int[] destinations = new int[edges.size()];
+        double[] edgeWeights = new double[edges.size()];
+
+        // Premier passage : degré sortant de chaque nœud
+        int[] offsets = new int[n + 1];
+        int e = 0;
+        for (Edge edge : edges) {
+            sources[e] = indexByNode.get(edge.getSource());
+            destinations[e] = indexByNode.get(edge.getTarget());
+            edgeWeights[e] = edge.getWeight();
+            offsets[sources[e] + 1]++;
+            if (!directed && sources[e] != destinations[e]) {
+                offsets[destinations[e] + 1]++;
+            }
+            e++;
+        }
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+
+        // Second passage : remplissage des arcs, dans l'ordre d'insertion des arêtes
+        int arcCount = offsets[n];
+        int[] targets = new int[arcCount];
+        double[] weights = new double[arcCount];
+        int[] next = new int[n];
+        System.arraycopy(offsets, 0, next, 0, n);
+        for (e = 0; e < sources.length; e++) {
+            int arc = next[sources[e]]++;
+            targets[arc] = destinations[e];
+            weights[arc] = edgeWeights[e];
+            if (!directed && sources[e] != destinations[e]) {
+                arc = next[destinations[e]]++;
+                targets[arc] = sources[e];
+                weights[arc] = edgeWeights[e];
+            }
+        }
+        return new CsrGraph(nodes, indexByNode, offsets, targets, weights, directed);
+    }
+
+    /**
+     * Obtient le graphe transposé (mêmes nœuds et mêmes indices, arcs inversés)
+     * Utile aux recherches menées depuis la cible. Un graphe non dirigé est son propre transposé.
+     * @return L'instantané transposé
+     */
+    public CsrGraph reversed() {
+        if (!directed) {
+            return this;
+        }
+        CsrGraph result = reversed;
+        if (result == null) {
+            int n = nodes.length;
+            int[] reversedOffsets = new int[n + 1];
+            for (int arc = 0; arc < targets.length; arc++) {
+                reversedOffsets[targets[arc] + 1]++;
+            }
+            for (int v = 0; v < n; v++) {
+                reversedOffsets[v + 1] += reversedOffsets[v];
+            }
+            int[] reversedTargets = new int[targets.length];
+            double[] reversedWeights = new double[targets.length];
+            int[] next = new int[n];
+            System.arraycopy(reversedOffsets, 0, next, 0, n);
+            for (int v = 0; v < n; v++) {
+                for (int arc = offsets[v]; arc < offsets[v + 1]; arc++) {
+                    int position = next[targets[arc]]++;
+                    reversedTargets[position] = v;
+                    reversedWeights[position] = weights[arc];
+                }
+            }
+            result = new CsrGraph(nodes, indexByNode, reversedOffsets, reversedTargets, reversedWeights, true);
+            result.reversed = this;
+            reversed = result;
+        }
+        return result;
+    }
+
+    public int getNodeCount() {
+        return nodes.length;
+    }
+
+    /**
+     * @return Nombre d'arcs (deux par arête dans un graphe non dirigé)
+     */
+    public int getArcCount() {
+        return targets.length;
+    }
+
+    public boolean isDirected() {
+        return directed;
+    }
+
+    /**
+     * Obtient l'indice d'un nœud dans l'instantané
+     * @param node Le nœud (comparé par identifiant)
+     * @return Son indice, ou -1 s'il n'appartient pas au graphe
+     */
+    public int indexOf(Node node) {
+        Integer index = node != null ? indexByNode.get(node) : null;
+        return index != null ? index : -1;
+    }
+
+    public Node getNode(int index) {
+        return nodes[index];
+    }
+
+    /**
+     * @return Position du premier arc sortant du nœud
+     */
+    public int firstArc(int node) {
+        return offsets[node];
+    }
+
+    /**
+     * @return Position suivant le dernier arc sortant du nœud
+     */
+    public int endArc(int node) {
+        return offsets[node + 1];
+    }
+
+    public int degree(int node) {
+        return offsets[node + 1] - offsets[node];
+    }
+
+    public int arcTarget(int arc) {
+        return targets[arc];
+    }
+
+    public double arcWeight(int arc) {
+        return weights[arc];
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CsrGraph[nodes=%d, arcs=%d, directed=%s]", nodes.length, targets.length, directed);
+    }
+}
@@ -0,0 +1,81 @@
+package com.modelisation.model.graph;
+
+/**
+ * Structure union-find (ensembles disjoints) sur des éléments entiers 0..size-1
+ * Compression de chemin et union par rang : une suite de m opérations coûte
+ * O(m α(n)), pratiquement linéaire. Sert à suivre les composantes connexes
+ * pendant l'ajout d'arêtes (algorithme de Kruskal).
+ */
+public final class DisjointSet {
+
+    private final int[] parent;
+    private final byte[] rank; // Le rang reste inférieur à log2(size) < 32
+    private int setCount;
+
+    /**
+     * Crée size singletons
+     */
+    public DisjointSet(int size) {
+        parent = new int[size];
+        rank = new byte[size];
+        for (int i = 0; i < size; i++) {
+            parent[i] = i;
+        }
+        setCount = size;
+    }
+
+    /**
+     * @return Le représentant de l'ensemble contenant l'élément
+     */
+    public int find(int element) {
+        int root = element;
+        while (parent[root] != root) {
+            root = parent[root];
+        }
+        // Compression : tous les éléments du chemin pointent directement vers la racine
+        while (parent[element] != root) {
+            int next = parent[element];
+            parent[element] = root;
+            element = next;
+        }
+        return root;
+    }
+
+    /**
+     * Réunit les ensembles de deux éléments
+     * @return true si les éléments étaient dans deux ensembles distincts
+     */
+    public boolean union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) {
+            return false;
+        }
+        // L'arbre le moins haut est rattaché sous l'autre
+        if (rank[rootA] < rank[rootB]) {
+            parent[rootA] = rootB;
+        } else if (rank[rootA] > rank[rootB]) {
+            parent[rootB] = rootA;
+        } else {
+            parent[rootB] = rootA;
+            rank[rootA]++;
+        }
+        setCount--;
+        return true;
+    }
+
+    public boolean connected(int a, int b) {
+        return find(a) == find(b);
+    }
+
+    /**
+     * @return Nombre d'ensembles distincts
+     */
+    public int getSetCount() {
+        return setCount;
+    }
+
+    public int size() {
+        return parent.length;
+    }
+}
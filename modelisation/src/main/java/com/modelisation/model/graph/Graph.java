@@ -8,12 +8,24 @@ import java.util.*;
 /**
  * Classe représentant un graphe avec des nœuds et des arêtes
  * Utilisée pour les algorithmes de plus court chemin
+ * Les arêtes sont indexées par nœud (listes d'adjacence) : test de doublon en O(1),
+ * parcours des voisins en O(degré). L'identifiant d'un nœud et les extrémités d'une
+ * arête ne doivent pas être modifiés tant qu'ils appartiennent au graphe.
  */
 public class Graph {
     private Map<String, Node> nodes;
-    private List<Edge> edges;
+    // Toutes les arêtes, dans l'ordre d'insertion
+    private Set<Edge> edges;
+    // Arêtes sortantes : source -> (cible -> arête)
+    private Map<Node, Map<Node, Edge>> outgoingEdges;
+    // Arêtes incidentes (sortantes et entrantes) de chaque nœud, dans l'ordre d'insertion
+    private Map<Node, Set<Edge>> incidentEdges;
     private boolean directed;
     private LoggingStrategy logger;
+    // Compteur de modifications structurelles, pour invalider l'instantané CSR
+    private int modCount;
+    private CsrGraph csrSnapshot;
+    private int csrModCount;
     
     public Graph() {
         this(false);
@@ -21,7 +33,9 @@ public class Graph {
     
     public Graph(boolean directed) {
         this.nodes = new HashMap<>();
-        this.edges = new ArrayList<>();
+        this.edges = new LinkedHashSet<>();
+        this.outgoingEdges = new HashMap<>();
+        this.incidentEdges = new HashMap<>();
         this.directed = directed;
         this.logger = null; // Initialize logger to null
     }
@@ -40,6 +54,7 @@ public class Graph {
             return false;
         }
         nodes.put(node.getId(), node);
+        modCount++;
         return true;
     }
     
@@ -52,7 +67,14 @@ public class Graph {
         Node node = nodes.remove(nodeId);
         if (node != null) {
             // Supprimer toutes les arêtes connectées à ce nœud
-            edges.removeIf(edge -> edge.getSource().equals(node) || edge.getTarget().equals(node));
+            Set<Edge> incident = incidentEdges.remove(node);
+            if (incident != null) {
+                for (Edge edge : incident) {
+                    unlinkEdge(edge, node);
+                }
+            }
+            outgoingEdges.remove(node);
+            modCount++;
             return true;
         }
         return false;
@@ -65,19 +87,26 @@ public class Graph {
      */
     public boolean addEdge(Edge edge) {
         // Vérifier que les nœuds existent
-        if (!nodes.containsValue(edge.getSource()) || !nodes.containsValue(edge.getTarget())) {
+        if (!containsNode(edge.getSource()) || !containsNode(edge.getTarget())) {
             return false;
         }
         
         // Vérifier que l'arête n'existe pas déjà
-        if (edges.contains(edge)) {
+        if (!edges.add(edge)) {
             return false;
         }
         
-        edges.add(edge);
+        outgoingEdges.computeIfAbsent(edge.getSource(), k -> new LinkedHashMap<>()).put(edge.getTarget(), edge);
+        incidentEdges.computeIfAbsent(edge.getSource(), k -> new LinkedHashSet<>()).add(edge);
+        incidentEdges.computeIfAbsent(edge.getTarget(), k -> new LinkedHashSet<>()).add(edge);
+        modCount++;
         return true;
     }
     
+    private boolean containsNode(Node node) {
+        return node != null && node.equals(nodes.get(node.getId()));
+    }
+    
     /**
      * Ajoute une arête entre deux nœuds
      * @param sourceId ID du nœud source
@@ -103,7 +132,60 @@ public class Graph {
      * @return true si l'arête a été supprimée
      */
     public boolean removeEdge(Edge edge) {
-        return edges.remove(edge);
+        Map<Node, Edge> outgoing = outgoingEdges.get(edge.getSource());
+        Edge stored = outgoing != null ? outgoing.get(edge.getTarget()) : null;
+        if (stored == null) {
+            return false;
+        }
+        unlinkEdge(stored, null);
+        modCount++;
+        return true;
+    }
+    
+    /**
+     * Retire une arête de toutes les structures, sauf de la liste d'incidence en cours de parcours
+     * @param skip Nœud dont la liste d'incidence ne doit pas être modifiée (ou null)
+     */
+    private void unlinkEdge(Edge edge, Node skip) {
+        edges.remove(edge);
+        Map<Node, Edge> outgoing = outgoingEdges.get(edge.getSource());
+        if (outgoing != null) {
+            outgoing.remove(edge.getTarget());
+        }
+        for (Node endpoint : new Node[] {edge.getSource(), edge.getTarget()}) {
+            if (!endpoint.equals(skip)) {
+                Set<Edge> incident = incidentEdges.get(endpoint);
+                if (incident != null) {
+                    incident.remove(edge);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Obtient l'arête allant d'un nœud à un autre (dans ce sens)
+     * @param source Nœud source
+     * @param target Nœud cible
+     * @return L'arête ou null si elle n'existe pas
+     */
+    public Edge getEdge(Node source, Node target) {
+        Map<Node, Edge> outgoing = outgoingEdges.get(source);
+        return outgoing != null ? outgoing.get(target) : null;
+    }
+    
+    /**
+     * Obtient l'instantané CSR du graphe, reconstruit seulement après une modification
+     * de sa structure (ajout ou suppression de nœuds ou d'arêtes)
+     * Une modification du poids d'une arête déjà présente n'est pas détectée.
+     * Synchronisée : plusieurs requêtes de plus court chemin peuvent la demander en parallèle.
+     * @return L'instantané immuable du graphe
+     */
+    public synchronized CsrGraph toCsr() {
+        if (csrSnapshot == null || csrModCount != modCount) {
+            csrSnapshot = CsrGraph.of(this);
+            csrModCount = modCount;
+        }
+        return csrSnapshot;
     }
     
     /**
@@ -139,13 +221,8 @@ public class Graph {
      * @return Liste des arêtes connectées
      */
     public List<Edge> getEdgesForNode(Node node) {
-        List<Edge> nodeEdges = new ArrayList<>();
-        for (Edge edge : edges) {
-            if (edge.getSource().equals(node) || edge.getTarget().equals(node)) {
-                nodeEdges.add(edge);
-            }
-        }
-        return nodeEdges;
+        Set<Edge> incident = incidentEdges.get(node);
+        return incident != null ? new ArrayList<>(incident) : new ArrayList<>();
     }
     
     /**
@@ -156,11 +233,25 @@ public class Graph {
     public Map<Node, Double> getNeighbors(Node node) {
         Map<Node, Double> neighbors = new HashMap<>();
         
-        for (Edge edge : edges) {
-            if (edge.getSource().equals(node)) {
-                neighbors.put(edge.getTarget(), edge.getWeight());
-            } else if (!directed && edge.getTarget().equals(node)) {
-                neighbors.put(edge.getSource(), edge.getWeight());
+        if (directed) {
+            Map<Node, Edge> outgoing = outgoingEdges.get(node);
+            if (outgoing != null) {
+                for (Edge edge : outgoing.values()) {
+                    neighbors.put(edge.getTarget(), edge.getWeight());
+                }
+            }
+            return neighbors;
+        }
+        
+        // Ordre d'insertion : en cas d'arêtes dans les deux sens, la dernière ajoutée l'emporte
+        Set<Edge> incident = incidentEdges.get(node);
+        if (incident != null) {
+            for (Edge edge : incident) {
+                if (edge.getSource().equals(node)) {
+                    neighbors.put(edge.getTarget(), edge.getWeight());
+                } else {
+                    neighbors.put(edge.getSource(), edge.getWeight());
+                }
             }
         }
         
@@ -225,12 +316,12 @@ public class Graph {
             Node current = path.get(i);
             Node next = path.get(i + 1);
 
-            for (Edge edge : edges) {
-                if ((edge.getSource().equals(current) && edge.getTarget().equals(next)) ||
-                    (!directed && edge.getSource().equals(next) && edge.getTarget().equals(current))) {
-                    edge.setHighlighted(true);
-                    break;
-                }
+            Edge edge = getEdge(current, next);
+            if (edge == null && !directed) {
+                edge = getEdge(next, current);
+            }
+            if (edge != null) {
+                edge.setHighlighted(true);
             }
         }
     }
@@ -275,6 +366,9 @@ public class Graph {
     public void clear() {
         nodes.clear();
         edges.clear();
+        outgoingEdges.clear();
+        incidentEdges.clear();
+        modCount++;
     }
     
     /**
@@ -0,0 +1,51 @@
+package com.modelisation.model.graph;
+
+/**
+ * Mode de construction du graphe des formes
+ * PROXIMITY relie les formes proches d'un seuil puis répare la connexité ; NEAREST_NEIGHBORS
+ * relie chaque forme à ses k plus proches voisins (degré borné) puis répare la connexité ;
+ * les autres modes partent de la triangulation de Delaunay des centres : O(n log n),
+ * O(n) arêtes et connexité garantie par construction.
+ * Seul PROXIMITY est tenu à jour incrémentalement, les autres sont reconstruits à chaque modification.
+ */
+public enum GraphConstructionMode {
+    /** Seuil de proximité dynamique (mode historique) */
+    PROXIMITY("Proximité"),
+    /** k plus proches voisins (arbre k-d), au plus n * k arêtes */
+    NEAREST_NEIGHBORS("k plus proches voisins"),
+    /** Triangulation de Delaunay complète (au plus 3n - 6 arêtes) */
+    DELAUNAY("Delaunay"),
+    /** Graphe de Gabriel : arêtes de Delaunay dont le disque diamétral est vide */
+    GABRIEL("Gabriel"),
+    /** Graphe des voisins relatifs : arêtes de Delaunay dont la lunule est vide (le plus creux) */
+    RELATIVE_NEIGHBORHOOD("Voisins relatifs");
+
+    private final String label;
+
+    GraphConstructionMode(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * @return true si le graphe est issu de la triangulation (pas de seuil ni de réparation)
+     */
+    public boolean isTriangulationBased() {
+        return this != PROXIMITY && this != NEAREST_NEIGHBORS;
+    }
+
+    /**
+     * @return true si le graphe peut être mis à jour forme par forme (seuil figé et grille de voisinage)
+     */
+    public boolean isIncremental() {
+        return this == PROXIMITY;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,346 @@
+package com.modelisation.model.graph;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Arbre k-d statique (k = 2) sur les positions d'une liste de nœuds
+ * Construit en O(n log n) par sélection de la médiane selon l'axe le plus étendu,
+ * stocké implicitement dans des tableaux (le sous-arbre de [lo, hi) a sa racine au milieu).
+ * Les recherches des k plus proches voisins ne modifient pas l'arbre : les requêtes groupées
+ * de findAllNearest sont réparties sur le pool ForkJoin commun.
+ * Les résultats sont des indices dans la liste de nœuds fournie à la construction.
+ */
+public final class KdTree {
+
+    /** Sous-arbres d'au plus cette taille sont parcourus séquentiellement (feuilles) */
+    private static final int LEAF_SIZE = 8;
+    /** Nombre de requêtes en dessous duquel une tâche ForkJoin n'est plus découpée */
+    static final int PARALLEL_THRESHOLD = 1_024;
+
+    private final List<Node> nodes;
+    // Coordonnées et indices d'origine, réordonnés selon l'arbre
+    private final double[] xs;
+    private final double[] ys;
+    private final int[] indices;
+    // Axe de coupe (0 = x, 1 = y) de chaque sous-arbre, rangé à la position de sa racine
+    private final byte[] axes;
+
+    /**
+     * Construit l'arbre sur les positions actuelles des nœuds
+     * @param nodes Nœuds à indexer (la liste n'est pas copiée et ne doit plus changer)
+     */
+    public KdTree(List<Node> nodes) {
+        this.nodes = nodes;
+        int n = nodes.size();
+        xs = new double[n];
+        ys = new double[n];
+        indices = new int[n];
+        axes = new byte[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = nodes.get(i).getX();
+            ys[i] = nodes.get(i).getY();
+            indices[i] = i;
+        }
+        build(0, n);
+    }
+
+    public int size() {
+        return indices.length;
+    }
+
+    public Node getNode(int index) {
+        return nodes.get(index);
+    }
+
+    private static void checkNeighborCount(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Nombre de voisins négatif: " + k);
+        }
+    }
+
+    /**
+     * Trouve les k nœuds les plus proches d'une position
+     * @return Au plus k indices de nœuds, du plus proche au plus éloigné
+     */
+    public int[] findNearest(double x, double y, int k) {
+        checkNeighborCount(k);
+        if (k == 0) {
+            return new int[0];
+        }
+        NeighborHeap heap = new NeighborHeap(k);
+        search(0, size(), x, y, -1, heap);
+        return heap.toSortedArray();
+    }
+
+    /**
+     * Trouve les k plus proches voisins d'un nœud de l'arbre, lui-même exclu
+     * (les nœuds confondus avec lui restent des voisins, à distance nulle)
+     * @param index Indice du nœud dans la liste d'origine
+     * @return Au plus k indices de nœuds, du plus proche au plus éloigné
+     */
+    public int[] findNearest(int index, int k) {
+        checkNeighborCount(k);
+        if (k == 0) {
+            return new int[0];
+        }
+        NeighborHeap heap = new NeighborHeap(k);
+        Node node = nodes.get(index);
+        search(0, size(), node.getX(), node.getY(), index, heap);
+        return heap.toSortedArray();
+    }
+
+    /**
+     * Trouve les k plus proches voisins de tous les nœuds, en parallèle
+     * @return Tableau de size() * k indices : les voisins du nœud i occupent [i * k, (i + 1) * k),
+     * du plus proche au plus éloigné, complétés par -1 s'il y a moins de k autres nœuds
+     */
+    public int[] findAllNearest(int k) {
+        checkNeighborCount(k);
+        int[] result = new int[size() * k];
+        Arrays.fill(result, -1);
+        if (k == 0) {
+            return result;
+        }
+        NearestTask task = new NearestTask(0, size(), k, result);
+        if (size() <= PARALLEL_THRESHOLD) {
+            task.compute();
+        } else {
+            ForkJoinPool.commonPool().invoke(task);
+        }
+        return result;
+    }
+
+    /**
+     * Requêtes de l'intervalle [from, to), découpé en deux tant qu'il dépasse le seuil
+     */
+    private final class NearestTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final int k;
+        private final int[] result;
+
+        NearestTask(int from, int to, int k, int[] result) {
+            this.from = from;
+            this.to = to;
+            this.k = k;
+            this.result = result;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > PARALLEL_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new NearestTask(from, mid, k, result), new NearestTask(mid, to, k, result));
+                return;
+            }
+            NeighborHeap heap = new NeighborHeap(k);
+            for (int i = from; i < to; i++) {
+                heap.clear();
+                Node node = nodes.get(i);
+                search(0, size(), node.getX(), node.getY(), i, heap);
+                heap.copySortedTo(result, i * k);
+            }
+        }
+    }
+
+    private void build(int lo, int hi) {
+        while (hi - lo > LEAF_SIZE) {
+            // Coupe selon l'axe le plus étendu : cellules compactes même pour des groupes allongés
+            double minX = Double.POSITIVE_INFINITY, maxX = Double.NEGATIVE_INFINITY;
+            double minY = Double.POSITIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+            for (int i = lo; i < hi; i++) {
+                minX = Math.min(minX, xs[i]);
+                maxX = Math.max(maxX, xs[i]);
+                minY = Math.min(minY, ys[i]);
+                maxY = Math.max(maxY, ys[i]);
+            }
+            int axis = maxY - minY > maxX - minX ? 1 : 0;
+            int mid = (lo + hi) >>> 1;
+            select(lo, hi - 1, mid, axis == 0 ? xs : ys);
+            axes[mid] = (byte) axis;
+            // Récursion sur la plus petite moitié, boucle sur l'autre : pile en O(log n)
+            if (mid - lo < hi - mid - 1) {
+                build(lo, mid);
+                lo = mid + 1;
+            } else {
+                build(mid + 1, hi);
+                hi = mid;
+            }
+        }
+    }
+
+    /**
+     * Sélection rapide : place en position k l'élément de rang k de [left, right] selon les
+     * coordonnées données, les plus petits avant et les plus grands après. O(n) en moyenne.
+     */
+    private void select(int left, int right, int k, double[] coordinates) {
+        while (right > left) {
+            // Pivot médian de trois : évite le cas quadratique sur des entrées déjà triées (grilles)
+            int middle = (left + right) >>> 1;
+            if (coordinates[middle] < coordinates[left]) {
+                swap(middle, left);
+            }
+            if (coordinates[right] < coordinates[left]) {
+                swap(right, left);
+            }
+            if (coordinates[right] < coordinates[middle]) {
+                swap(right, middle);
+            }
+            double pivot = coordinates[middle];
+            int i = left, j = right;
+            while (i <= j) {
+                while (coordinates[i] < pivot) {
+                    i++;
+                }
+                while (coordinates[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(i++, j--);
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void search(int lo, int hi, double x, double y, int excluded, NeighborHeap heap) {
+        if (hi - lo <= LEAF_SIZE) {
+            for (int i = lo; i < hi; i++) {
+                offer(i, x, y, excluded, heap);
+            }
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        offer(mid, x, y, excluded, heap);
+        double delta = axes[mid] == 0 ? x - xs[mid] : y - ys[mid];
+        // Côté de la requête d'abord, l'autre seulement s'il peut contenir un point plus proche
+        if (delta < 0) {
+            search(lo, mid, x, y, excluded, heap);
+            if (heap.accepts(delta * delta)) {
+                search(mid + 1, hi, x, y, excluded, heap);
+            }
+        } else {
+            search(mid + 1, hi, x, y, excluded, heap);
+            if (heap.accepts(delta * delta)) {
+                search(lo, mid, x, y, excluded, heap);
+            }
+        }
+    }
+
+    private void offer(int position, double x, double y, int excluded, NeighborHeap heap) {
+        if (indices[position] == excluded) {
+            return;
+        }
+        double dx = xs[position] - x;
+        double dy = ys[position] - y;
+        heap.offer(indices[position], dx * dx + dy * dy);
+    }
+
+    private void swap(int i, int j) {
+        double x = xs[i];
+        xs[i] = xs[j];
+        xs[j] = x;
+        double y = ys[i];
+        ys[i] = ys[j];
+        ys[j] = y;
+        int index = indices[i];
+        indices[i] = indices[j];
+        indices[j] = index;
+    }
+
+    /**
+     * Tas max borné aux k meilleurs candidats : la racine est le plus éloigné retenu
+     */
+    private static final class NeighborHeap {
+        private final int[] items;
+        private final double[] distancesSq;
+        private int size;
+
+        NeighborHeap(int capacity) {
+            items = new int[capacity];
+            distancesSq = new double[capacity];
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        /**
+         * @return true si un candidat à cette distance (au carré) pourrait encore être retenu
+         */
+        boolean accepts(double distanceSq) {
+            return size < items.length || distanceSq < distancesSq[0];
+        }
+
+        void offer(int item, double distanceSq) {
+            if (size < items.length) {
+                int i = size++;
+                // Remontée
+                while (i > 0) {
+                    int parent = (i - 1) >>> 1;
+                    if (distancesSq[parent] >= distanceSq) {
+                        break;
+                    }
+                    items[i] = items[parent];
+                    distancesSq[i] = distancesSq[parent];
+                    i = parent;
+                }
+                items[i] = item;
+                distancesSq[i] = distanceSq;
+            } else if (distanceSq < distancesSq[0]) {
+                siftDown(item, distanceSq, size);
+            }
+        }
+
+        /**
+         * Remplace la racine par (item, distanceSq) et rétablit le tas sur ses limit premiers éléments
+         */
+        private void siftDown(int item, double distanceSq, int limit) {
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= limit) {
+                    break;
+                }
+                if (child + 1 < limit && distancesSq[child + 1] > distancesSq[child]) {
+                    child++;
+                }
+                if (distancesSq[child] <= distanceSq) {
+                    break;
+                }
+                items[i] = items[child];
+                distancesSq[i] = distancesSq[child];
+                i = child;
+            }
+            items[i] = item;
+            distancesSq[i] = distanceSq;
+        }
+
+        int[] toSortedArray() {
+            int[] result = new int[size];
+            copySortedTo(result, 0);
+            return result;
+        }
+
+        /**
+         * Copie les candidats du plus proche au plus éloigné (vide le tas)
+         */
+        void copySortedTo(int[] target, int offset) {
+            // Tri par tas : la racine extraite est la plus éloignée des restantes
+            for (int last = size - 1; last >= 0; last--) {
+                target[offset + last] = items[0];
+                siftDown(items[last], distancesSq[last], last);
+            }
+            size = 0;
+        }
+    }
+}
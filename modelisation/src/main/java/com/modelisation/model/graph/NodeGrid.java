@@ -0,0 +1,292 @@
+package com.modelisation.model.graph;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.BiConsumer;
+
+/**
+ * Grille uniforme (hachage spatial) de nœuds pour les recherches de voisinage
+ * Avec une taille de cellule égale au rayon de recherche, les voisins d'un nœud
+ * se trouvent dans les 3x3 cellules qui l'entourent : la construction des arêtes
+ * de proximité devient linéaire en nombre de nœuds au lieu de quadratique.
+ */
+public class NodeGrid {
+
+    private final double cellSize;
+    private final Map<Long, List<Node>> cells;
+    private int size;
+
+    /**
+     * Crée une grille vide
+     * @param cellSize Taille d'une cellule (en général le seuil de proximité)
+     */
+    public NodeGrid(double cellSize) {
+        if (!(cellSize > 0)) {
+            throw new IllegalArgumentException("La taille de cellule doit être positive: " + cellSize);
+        }
+        this.cellSize = cellSize;
+        this.cells = new HashMap<>();
+        this.size = 0;
+    }
+
+    /**
+     * Crée une grille contenant les nœuds donnés
+     */
+    public NodeGrid(Collection<Node> nodes, double cellSize) {
+        this(cellSize);
+        for (Node node : nodes) {
+            add(node);
+        }
+    }
+
+    public void add(Node node) {
+        cells.computeIfAbsent(key(cellOf(node.getX()), cellOf(node.getY())), k -> new ArrayList<>(4)).add(node);
+        size++;
+    }
+
+    /**
+     * Retire un nœud, qui doit être à la position où il a été ajouté
+     * @return true si le nœud a été trouvé
+     */
+    public boolean remove(Node node) {
+        long key = key(cellOf(node.getX()), cellOf(node.getY()));
+        List<Node> cell = cells.get(key);
+        if (cell == null) {
+            return false;
+        }
+        for (int i = 0; i < cell.size(); i++) {
+            if (cell.get(i) == node) {
+                cell.remove(i);
+                if (cell.isEmpty()) {
+                    cells.remove(key);
+                }
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * Parcourt chaque paire de nœuds distants d'au plus maxDistance, une seule fois par paire
+     * @param maxDistance Distance maximale (au plus la taille de cellule)
+     * @param action Action appelée avec les deux nœuds de la paire
+     */
+    public void forEachPairWithin(double maxDistance, BiConsumer<Node, Node> action) {
+        if (maxDistance > cellSize) {
+            throw new IllegalArgumentException("La distance dépasse la taille de cellule: " + maxDistance);
+        }
+        double maxDistanceSq = maxDistance * maxDistance;
+        for (Map.Entry<Long, List<Node>> entry : cells.entrySet()) {
+            int cx = (int) (entry.getKey() >> 32);
+            int cy = (int) (long) entry.getKey();
+            List<Node> cell = entry.getValue();
+
+            // Paires à l'intérieur de la cellule
+            for (int i = 0; i < cell.size(); i++) {
+                for (int j = i + 1; j < cell.size(); j++) {
+                    acceptIfWithin(cell.get(i), cell.get(j), maxDistanceSq, action);
+                }
+            }
+            // Paires avec la moitié "avant" des cellules voisines, pour ne visiter chaque paire qu'une fois
+            visitForward(cell, cells.get(key(cx + 1, cy - 1)), maxDistanceSq, action);
+            visitForward(cell, cells.get(key(cx + 1, cy)), maxDistanceSq, action);
+            visitForward(cell, cells.get(key(cx + 1, cy + 1)), maxDistanceSq, action);
+            visitForward(cell, cells.get(key(cx, cy + 1)), maxDistanceSq, action);
+        }
+    }
+
+    /**
+     * Trouve les nœuds situés à une distance d'au plus radius d'une position
+     * @return Les nœuds trouvés (le nœud éventuellement situé à cette position compris)
+     */
+    public List<Node> findWithin(double x, double y, double radius) {
+        List<Node> result = new ArrayList<>();
+        double radiusSq = radius * radius;
+        int minCx = cellOf(x - radius), maxCx = cellOf(x + radius);
+        int minCy = cellOf(y - radius), maxCy = cellOf(y + radius);
+
+        // Rayon très grand devant les cellules : parcourir les cellules occupées plutôt que la zone
+        if (((double) maxCx - minCx + 1) * ((double) maxCy - minCy + 1) > cells.size()) {
+            for (List<Node> cell : cells.values()) {
+                collectWithin(cell, x, y, radiusSq, result);
+            }
+            return result;
+        }
+        for (int cx = minCx; cx <= maxCx; cx++) {
+            for (int cy = minCy; cy <= maxCy; cy++) {
+                List<Node> cell = cells.get(key(cx, cy));
+                if (cell != null) {
+                    collectWithin(cell, x, y, radiusSq, result);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Trouve le nœud le plus proche d'un nœud donné (autre que lui-même)
+     * La recherche progresse par anneaux de cellules et s'arrête dès qu'aucun anneau
+     * plus éloigné ne peut contenir de nœud plus proche.
+     * @return Le nœud le plus proche, ou null si la grille ne contient pas d'autre nœud
+     */
+    public Node findNearest(Node node) {
+        int cx = cellOf(node.getX());
+        int cy = cellOf(node.getY());
+        Node best = null;
+        double bestDistanceSq = Double.MAX_VALUE;
+
+        for (int ring = 0; ; ring++) {
+            // Anneau plus grand que le nombre de cellules occupées : un parcours complet est moins cher
+            if ((double) (2 * ring + 1) * (2 * ring + 1) > 4.0 * cells.size()) {
+                for (List<Node> cell : cells.values()) {
+                    for (Node other : cell) {
+                        double d = distanceSq(node, other);
+                        if (other != node && d < bestDistanceSq) {
+                            bestDistanceSq = d;
+                            best = other;
+                        }
+                    }
+                }
+                return best;
+            }
+            for (int dx = -ring; dx <= ring; dx++) {
+                for (int dy = -ring; dy <= ring; dy++) {
+                    if (Math.max(Math.abs(dx), Math.abs(dy)) != ring) {
+                        continue; // Seulement le bord de l'anneau
+                    }
+                    List<Node> cell = cells.get(key(cx + dx, cy + dy));
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (Node other : cell) {
+                        double d = distanceSq(node, other);
+                        if (other != node && d < bestDistanceSq) {
+                            bestDistanceSq = d;
+                            best = other;
+                        }
+                    }
+                }
+            }
+            // Tout nœud d'un anneau suivant est à au moins ring * cellSize
+            double ringDistance = ring * cellSize;
+            if (best != null && bestDistanceSq <= ringDistance * ringDistance) {
+                return best;
+            }
+        }
+    }
+
+    /**
+     * Trouve les k nœuds les plus proches d'un nœud donné (autre que lui-même)
+     * Même parcours par anneaux que findNearest, arrêté dès que le k-ième voisin trouvé
+     * est plus proche que tout anneau restant.
+     * @return Au plus k nœuds, du plus proche au plus éloigné
+     */
+    public List<Node> findNearest(Node node, int k) {
+        int cx = cellOf(node.getX());
+        int cy = cellOf(node.getY());
+        // Tas max sur la distance : la tête est le plus éloigné des k meilleurs
+        PriorityQueue<Node> best = new PriorityQueue<>(k + 1,
+            Comparator.comparingDouble((Node other) -> distanceSq(node, other)).reversed());
+
+        for (int ring = 0; k > 0; ring++) {
+            if ((double) (2 * ring + 1) * (2 * ring + 1) > 4.0 * cells.size()) {
+                best.clear(); // Parcours complet : les anneaux déjà vus sont repris
+                for (List<Node> cell : cells.values()) {
+                    offerNearest(node, cell, k, best);
+                }
+                break;
+            }
+            for (int dx = -ring; dx <= ring; dx++) {
+                for (int dy = -ring; dy <= ring; dy++) {
+                    if (Math.max(Math.abs(dx), Math.abs(dy)) != ring) {
+                        continue; // Seulement le bord de l'anneau
+                    }
+                    List<Node> cell = cells.get(key(cx + dx, cy + dy));
+                    if (cell != null) {
+                        offerNearest(node, cell, k, best);
+                    }
+                }
+            }
+            double ringDistance = ring * cellSize;
+            if (best.size() == k && distanceSq(node, best.peek()) <= ringDistance * ringDistance) {
+                break;
+            }
+        }
+
+        List<Node> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingDouble(other -> distanceSq(node, other)));
+        return result;
+    }
+
+    private static void offerNearest(Node node, List<Node> cell, int k, PriorityQueue<Node> best) {
+        for (Node other : cell) {
+            if (other == node) {
+                continue;
+            }
+            if (best.size() < k) {
+                best.add(other);
+            } else if (distanceSq(node, other) < distanceSq(node, best.peek())) {
+                best.poll();
+                best.add(other);
+            }
+        }
+    }
+
+    private static void visitForward(List<Node> cell, List<Node> neighborCell, double maxDistanceSq,
+                                     BiConsumer<Node, Node> action) {
+        if (neighborCell == null) {
+            return;
+        }
+        for (Node a : cell) {
+            for (Node b : neighborCell) {
+                acceptIfWithin(a, b, maxDistanceSq, action);
+            }
+        }
+    }
+
+    private static void acceptIfWithin(Node a, Node b, double maxDistanceSq, BiConsumer<Node, Node> action) {
+        if (distanceSq(a, b) <= maxDistanceSq) {
+            action.accept(a, b);
+        }
+    }
+
+    private static void collectWithin(List<Node> cell, double x, double y, double radiusSq, List<Node> result) {
+        for (Node node : cell) {
+            double dx = node.getX() - x;
+            double dy = node.getY() - y;
+            if (dx * dx + dy * dy <= radiusSq) {
+                result.add(node);
+            }
+        }
+    }
+
+    private static double distanceSq(Node a, Node b) {
+        double dx = a.getX() - b.getX();
+        double dy = a.getY() - b.getY();
+        return dx * dx + dy * dy;
+    }
+
+    private int cellOf(double coordinate) {
+        double cell = Math.floor(coordinate / cellSize);
+        // Bornage pour les tailles de cellule très grandes ou les coordonnées extrêmes
+        return (int) Math.max(Integer.MIN_VALUE + 1, Math.min(Integer.MAX_VALUE - 1, cell));
+    }
+
+    private static long key(int cellX, int cellY) {
+        return ((long) cellX << 32) | (cellY & 0xFFFFFFFFL);
+    }
+}
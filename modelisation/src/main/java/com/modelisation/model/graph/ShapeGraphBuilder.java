@@ -0,0 +1,510 @@
+package com.modelisation.model.graph;
+
+import com.modelisation.model.geometry.DelaunayTriangulation;
+import com.modelisation.model.logging.LoggingStrategy;
+import com.modelisation.model.shapes.Shape;
+import javafx.geometry.Bounds;
+import javafx.geometry.Point2D;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Construction du graphe de proximité utilisé pour le plus court chemin entre formes
+ * Chaque forme devient un nœud placé en son centre ; deux nœuds sont reliés lorsque leur
+ * distance est inférieure à un seuil de proximité, puis le graphe est rendu connexe.
+ * Les recherches de voisinage passent par une NodeGrid dont la cellule vaut le seuil.
+ * Les autres modes (GraphConstructionMode) relient les nœuds par triangulation de Delaunay
+ * ou à leurs k plus proches voisins (arbre k-d).
+ */
+public class ShapeGraphBuilder {
+
+    /** Au-delà de ce nombre de paires, la distance moyenne est estimée par échantillonnage */
+    static final int MAX_EXACT_PAIRS = 50_000;
+    private static final int DISTANCE_SAMPLES = 20_000;
+    /** Nombre moyen de voisins visé par le plafond de densité du seuil */
+    private static final double TARGET_NEIGHBORS = 32;
+    /** Nombre de nœuds à partir duquel le plafond de densité s'applique (dessins générés) */
+    static final int DENSITY_CAP_MIN_NODES = 2_000;
+    /** Voisins les plus proches examinés par nœud pour relier les composantes */
+    static final int NEAREST_CANDIDATES = 6;
+    private static final int[][] FORWARD_CELLS = {{1, -1}, {1, 0}, {1, 1}, {0, 1}};
+
+    private LoggingStrategy logger;
+
+    public void setLogger(LoggingStrategy logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * Obtient le centre d'une forme (position de son nœud dans le graphe)
+     * @param shape La forme
+     * @return Le centre de sa boîte englobante
+     */
+    public static Point2D getShapeCenter(Shape shape) {
+        // Les limites en cache sont symétriques autour du centre géométrique des formes 2D ;
+        // les formes 3D sont centrées sur leur étendue projetée (face avant + profondeur)
+        Bounds bounds = shape.getBounds();
+        return new Point2D(bounds.getCenterX(), bounds.getCenterY());
+    }
+
+    /**
+     * Crée la grille de voisinage adaptée à un seuil de proximité
+     * @param nodes Nœuds à indexer
+     * @param proximityThreshold Seuil de proximité (taille des cellules)
+     */
+    public NodeGrid createGrid(Collection<Node> nodes, double proximityThreshold) {
+        // Seuil nul lorsque tous les nœuds sont confondus : aucune arête de proximité possible
+        return new NodeGrid(nodes, proximityThreshold > 0 ? proximityThreshold : 1.0);
+    }
+
+    /**
+     * Relie tous les nœuds distants d'au plus le seuil de proximité
+     * Seules les cellules voisines de la grille sont comparées entre elles
+     * @param graph Graphe contenant les nœuds
+     * @param grid Grille contenant les nœuds, de cellule au moins égale au seuil
+     * @param proximityThreshold Distance maximale d'une arête
+     * @return Nombre d'arêtes créées
+     */
+    public int addProximityEdges(Graph graph, NodeGrid grid, double proximityThreshold) {
+        int[] edgesCreated = {0};
+        grid.forEachPairWithin(proximityThreshold, (node1, node2) -> {
+            double distance = node1.distanceTo(node2);
+            // Arête uniquement entre nœuds distincts situés dans le seuil de proximité
+            if (distance > 0) {
+                graph.addEdge(new Edge(node1, node2, distance));
+                edgesCreated[0]++;
+            }
+        });
+        log(LoggingStrategy.LogLevel.DEBUG, String.format("BuildGraph: Created %d edges with proximity threshold %.2f",
+                                                          edgesCreated[0], proximityThreshold));
+        return edgesCreated[0];
+    }
+
+    /**
+     * Relie un seul nœud aux nœuds situés dans le seuil de proximité (mise à jour incrémentale)
+     * S'il n'en existe aucun, le nœud est relié au plus proche pour ne pas rester isolé
+     * @return Nombre d'arêtes créées
+     */
+    public int connectNode(Graph graph, Node node, NodeGrid grid, double proximityThreshold) {
+        int edgesCreated = 0;
+        for (Node other : grid.findWithin(node.getX(), node.getY(), proximityThreshold)) {
+            double distance = node.distanceTo(other);
+            if (other != node && distance > 0) {
+                graph.addEdge(new Edge(node, other, distance));
+                edgesCreated++;
+            }
+        }
+        if (edgesCreated == 0) {
+            Node closestNode = grid.findNearest(node);
+            if (closestNode != null) {
+                graph.addEdge(new Edge(node, closestNode, node.distanceTo(closestNode)));
+                edgesCreated++;
+            }
+        }
+        return edgesCreated;
+    }
+
+    /**
+     * Relie les nœuds selon la triangulation de Delaunay de leurs positions (ou l'un de ses
+     * sous-graphes de Gabriel ou des voisins relatifs), sans seuil ni réparation de connexité
+     * Les nœuds confondus, écartés de la triangulation, sont reliés au nœud retenu à leur position.
+     * @param graph Graphe contenant les nœuds
+     * @param nodes Nœuds à relier
+     * @param mode Mode de construction basé sur la triangulation
+     * @return Nombre d'arêtes créées
+     */
+    public int addTriangulationEdges(Graph graph, List<Node> nodes, GraphConstructionMode mode) {
+        if (!mode.isTriangulationBased()) {
+            throw new IllegalArgumentException("Mode sans triangulation: " + mode);
+        }
+        int n = nodes.size();
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = nodes.get(i).getX();
+            ys[i] = nodes.get(i).getY();
+        }
+        DelaunayTriangulation triangulation = new DelaunayTriangulation(xs, ys);
+
+        int[] edgesCreated = {0};
+        DelaunayTriangulation.EdgeConsumer addEdge = (a, b) -> {
+            Node node1 = nodes.get(a);
+            Node node2 = nodes.get(b);
+            graph.addEdge(new Edge(node1, node2, node1.distanceTo(node2)));
+            edgesCreated[0]++;
+        };
+        switch (mode) {
+            case DELAUNAY:
+                triangulation.forEachEdge(addEdge);
+                break;
+            case GABRIEL:
+                triangulation.forEachGabrielEdge(addEdge);
+                break;
+            default:
+                triangulation.forEachRelativeNeighborhoodEdge(addEdge);
+                break;
+        }
+        if (triangulation.getTriangleCount() > 0) {
+            for (int i = 0; i < n; i++) {
+                int kept = triangulation.getDuplicateOf(i);
+                if (kept >= 0) {
+                    addEdge.accept(i, kept);
+                }
+            }
+        }
+        log(LoggingStrategy.LogLevel.DEBUG, String.format("BuildGraph: Created %d edges (%s, %d triangles)",
+                                                          edgesCreated[0], mode.getLabel(), triangulation.getTriangleCount()));
+        return edgesCreated[0];
+    }
+
+    /**
+     * Relie chaque nœud à ses k plus proches voisins (graphe kNN), via un arbre k-d
+     * Le degré sortant est borné par k, donc le nombre d'arêtes par n * k quelle que soit la
+     * densité locale. Le graphe kNN peut compter plusieurs composantes (groupes éloignés) :
+     * elles sont ensuite reliées par les grilles grossières de la réparation de connexité,
+     * à partir de la plus longue arête kNN (à plus petite échelle, les voisins sont déjà reliés).
+     * @param graph Graphe contenant les nœuds
+     * @param nodes Nœuds à relier
+     * @param k Nombre de voisins par nœud
+     * @return Nombre d'arêtes créées, réparation de connexité comprise
+     */
+    public int addNearestNeighborEdges(Graph graph, List<Node> nodes, int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("Le nombre de voisins doit être positif: " + k);
+        }
+        int n = nodes.size();
+        int[] neighbors = new KdTree(nodes).findAllNearest(k);
+
+        int edgesCreated = 0;
+        double longestEdge = 0;
+        for (int i = 0; i < n; i++) {
+            Node node = nodes.get(i);
+            for (int slot = i * k; slot < (i + 1) * k && neighbors[slot] >= 0; slot++) {
+                int j = neighbors[slot];
+                // Relation symétrique : l'arête n'est créée qu'une fois, par le plus petit indice
+                if (j < i && containsNeighbor(neighbors, j, k, i)) {
+                    continue;
+                }
+                Node other = nodes.get(j);
+                double distance = node.distanceTo(other);
+                graph.addEdge(new Edge(node, other, distance));
+                edgesCreated++;
+                longestEdge = Math.max(longestEdge, distance);
+            }
+        }
+        log(LoggingStrategy.LogLevel.DEBUG, String.format("BuildGraph: Created %d edges (%d nearest neighbours)",
+                                                          edgesCreated, k));
+
+        return edgesCreated + connectComponents(graph, longestEdge);
+    }
+
+    private static boolean containsNeighbor(int[] neighbors, int node, int k, int neighbor) {
+        for (int slot = node * k; slot < (node + 1) * k; slot++) {
+            if (neighbors[slot] == neighbor) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Calcule le seuil de proximité dynamique pour la création d'arêtes
+     * Basé sur la taille du canvas et le nombre de nœuds
+     */
+    public double calculateProximityThreshold(List<Node> nodes) {
+        if (nodes.size() < 2) {
+            return Double.MAX_VALUE; // Si moins de 2 nœuds, connecter tout
+        }
+
+        // Calculer les dimensions du canvas basées sur les positions des nœuds
+        double minX = nodes.stream().mapToDouble(Node::getX).min().orElse(0);
+        double maxX = nodes.stream().mapToDouble(Node::getX).max().orElse(800);
+        double minY = nodes.stream().mapToDouble(Node::getY).min().orElse(0);
+        double maxY = nodes.stream().mapToDouble(Node::getY).max().orElse(600);
+
+        double canvasWidth = maxX - minX;
+        double canvasHeight = maxY - minY;
+        double canvasDiagonal = Math.sqrt(canvasWidth * canvasWidth + canvasHeight * canvasHeight);
+
+        double averageDistance = estimateAverageDistance(nodes);
+
+        // Le seuil est basé sur un pourcentage de la distance moyenne
+        // Plus il y a de nœuds, plus le seuil est restrictif
+        double baseThreshold = averageDistance * 0.6; // 60% de la distance moyenne
+
+        // Ajuster selon le nombre de nœuds (plus de nœuds = seuil plus petit)
+        double nodeCountFactor = Math.max(0.3, 1.0 - (nodes.size() - 2) * 0.1);
+        double threshold = baseThreshold * nodeCountFactor;
+
+        // S'assurer que le seuil n'est pas trop petit (au moins 30% de la diagonale du canvas)
+        // AUGMENTÉ pour assurer la connectivité du graphe
+        double minThreshold = canvasDiagonal * 0.3;
+        threshold = Math.max(threshold, minThreshold);
+
+        // S'assurer que le seuil n'est pas trop grand (au plus 80% de la diagonale du canvas)
+        double maxThreshold = canvasDiagonal * 0.8;
+        threshold = Math.min(threshold, maxThreshold);
+
+        // Plafond de densité : pour les grands dessins, limiter le nombre moyen de voisins par nœud,
+        // sinon le plancher de 30 % de la diagonale rend le nombre d'arêtes quadratique.
+        // Réservé aux dessins d'au moins DENSITY_CAP_MIN_NODES formes : en dessous (dessins faits
+        // à la main), le seuil et donc le graphe restent ceux du calcul historique.
+        if (nodes.size() >= DENSITY_CAP_MIN_NODES) {
+            double areaRadius = Math.sqrt(TARGET_NEIGHBORS * canvasWidth * canvasHeight / (Math.PI * nodes.size()));
+            double lineRadius = TARGET_NEIGHBORS * canvasDiagonal / (2.0 * nodes.size()); // Nœuds presque alignés
+            double densityCap = Math.max(areaRadius, lineRadius);
+            if (densityCap > 0) {
+                threshold = Math.min(threshold, densityCap);
+            }
+        }
+
+        log(LoggingStrategy.LogLevel.INFO, String.format("ProximityThreshold: Canvas(%.0fx%.0f), AvgDist=%.2f, Nodes=%d, Threshold=%.2f",
+                                                         canvasWidth, canvasHeight, averageDistance, nodes.size(), threshold));
+
+        return threshold;
+    }
+
+    /**
+     * Estime la distance moyenne entre deux nœuds
+     * Calcul exact pour les petits ensembles, sinon moyenne d'un échantillon aléatoire de paires
+     * (graine fixe : le résultat reste reproductible d'une construction à l'autre)
+     */
+    double estimateAverageDistance(List<Node> nodes) {
+        int n = nodes.size();
+        long pairCount = (long) n * (n - 1) / 2;
+        double totalDistance = 0;
+        if (pairCount <= MAX_EXACT_PAIRS) {
+            for (int i = 0; i < n; i++) {
+                for (int j = i + 1; j < n; j++) {
+                    totalDistance += nodes.get(i).distanceTo(nodes.get(j));
+                }
+            }
+            return totalDistance / pairCount;
+        }
+        Random random = new Random(n);
+        for (int k = 0; k < DISTANCE_SAMPLES; k++) {
+            int i = random.nextInt(n);
+            int j = random.nextInt(n - 1);
+            if (j >= i) {
+                j++; // Paire de deux nœuds distincts, uniforme
+            }
+            totalDistance += nodes.get(i).distanceTo(nodes.get(j));
+        }
+        return totalDistance / DISTANCE_SAMPLES;
+    }
+
+    /**
+     * S'assure que le graphe est connecté en reliant ses composantes connexes
+     * Algorithme de Kruskal sur un ensemble réduit d'arêtes candidates : les composantes
+     * (union-find) sont d'abord reliées par les plus courtes arêtes vers les K plus proches
+     * voisins de chaque nœud, puis, pour des groupes trop éloignés, par des candidates
+     * obtenues sur des grilles de plus en plus grossières. Coût quasi linéaire en nombre de nœuds.
+     * @param graph Graphe à compléter
+     * @param grid Grille contenant tous les nœuds du graphe
+     * @return Nombre d'arêtes ajoutées
+     */
+    public int ensureGraphConnectivity(Graph graph, NodeGrid grid) {
+        CsrGraph csr = graph.toCsr();
+        int n = csr.getNodeCount();
+        DisjointSet components = componentsOf(csr);
+        if (components.getSetCount() <= 1) {
+            return 0;
+        }
+        int initialComponents = components.getSetCount();
+
+        // Candidates : les plus proches voisins situés dans une autre composante. Toute arête utile
+        // touche une composante autre que la plus grande : seuls ses nœuds sont interrogés.
+        int largest = largestComponent(components, n);
+        List<Edge> candidates = new ArrayList<>();
+        for (int v = 0; v < n; v++) {
+            if (components.find(v) == largest) {
+                continue;
+            }
+            Node node = csr.getNode(v);
+            for (Node neighbor : grid.findNearest(node, NEAREST_CANDIDATES)) {
+                if (!components.connected(v, csr.indexOf(neighbor))) {
+                    candidates.add(new Edge(node, neighbor, node.distanceTo(neighbor)));
+                }
+            }
+        }
+        int added = addSpanningEdges(graph, csr, components, candidates);
+        added += connectDistantComponents(graph, csr, components, grid.getCellSize());
+
+        log(LoggingStrategy.LogLevel.DEBUG, "BuildGraph: Connected " + initialComponents + " components with "
+                                            + added + " spanning tree edges");
+        return added;
+    }
+
+    /**
+     * Relie les composantes d'un graphe dont les nœuds voisins sont déjà connectés entre eux
+     * (graphe kNN) : seules les grilles grossières sont utiles, à partir d'une cellule
+     * au moins égale à la distance entre nœuds voisins d'une même composante.
+     * @param graph Graphe à compléter
+     * @param cellSize Taille de cellule de départ, doublée à chaque passe
+     * @return Nombre d'arêtes ajoutées
+     */
+    public int connectComponents(Graph graph, double cellSize) {
+        CsrGraph csr = graph.toCsr();
+        DisjointSet components = componentsOf(csr);
+        if (components.getSetCount() <= 1) {
+            return 0;
+        }
+        int initialComponents = components.getSetCount();
+        int added = connectDistantComponents(graph, csr, components, cellSize > 0 ? cellSize : 1.0);
+        log(LoggingStrategy.LogLevel.DEBUG, "BuildGraph: Connected " + initialComponents + " components with "
+                                            + added + " spanning tree edges");
+        return added;
+    }
+
+    private static DisjointSet componentsOf(CsrGraph csr) {
+        DisjointSet components = new DisjointSet(csr.getNodeCount());
+        for (int v = 0; v < csr.getNodeCount(); v++) {
+            for (int arc = csr.firstArc(v), end = csr.endArc(v); arc < end; arc++) {
+                components.union(v, csr.arcTarget(arc));
+            }
+        }
+        return components;
+    }
+
+    /**
+     * Groupes éloignés : une candidate par paire de composantes voisines, à échelle croissante
+     */
+    private int connectDistantComponents(Graph graph, CsrGraph csr, DisjointSet components, double cellSize) {
+        int added = 0;
+        while (components.getSetCount() > 1) {
+            cellSize *= 2;
+            added += addSpanningEdges(graph, csr, components, coarseCandidates(csr, components, cellSize));
+        }
+        return added;
+    }
+
+    private static int largestComponent(DisjointSet components, int n) {
+        int[] sizes = new int[n];
+        int largest = 0;
+        for (int v = 0; v < n; v++) {
+            int root = components.find(v);
+            if (++sizes[root] > sizes[largest]) {
+                largest = root;
+            }
+        }
+        return largest;
+    }
+
+    /**
+     * Kruskal : ajoute les candidates par longueur croissante lorsqu'elles relient deux composantes
+     */
+    private int addSpanningEdges(Graph graph, CsrGraph csr, DisjointSet components, List<Edge> candidates) {
+        candidates.sort(Comparator.comparingDouble(Edge::getWeight));
+        int added = 0;
+        for (Edge edge : candidates) {
+            if (components.union(csr.indexOf(edge.getSource()), csr.indexOf(edge.getTarget()))) {
+                graph.addEdge(edge);
+                added++;
+                if (components.getSetCount() == 1) {
+                    break;
+                }
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Candidates entre composantes sur une grille de cellule donnée
+     * Chaque cellule garde un nœud par composante présente ; ces représentants sont reliés
+     * à ceux des cellules voisines appartenant à d'autres composantes.
+     */
+    private List<Edge> coarseCandidates(CsrGraph csr, DisjointSet components, double cellSize) {
+        Map<Long, Map<Integer, Node>> representatives = new HashMap<>();
+        for (int v = 0; v < csr.getNodeCount(); v++) {
+            Node node = csr.getNode(v);
+            representatives.computeIfAbsent(coarseKey(node.getX(), node.getY(), cellSize), k -> new HashMap<>(4))
+                           .putIfAbsent(components.find(v), node);
+        }
+
+        List<Edge> candidates = new ArrayList<>();
+        for (Map.Entry<Long, Map<Integer, Node>> entry : representatives.entrySet()) {
+            int cx = (int) (entry.getKey() >> 32);
+            int cy = (int) (long) entry.getKey();
+            List<Map.Entry<Integer, Node>> cell = new ArrayList<>(entry.getValue().entrySet());
+            for (int i = 0; i < cell.size(); i++) {
+                for (int j = i + 1; j < cell.size(); j++) {
+                    addCandidate(cell.get(i).getValue(), cell.get(j).getValue(), candidates);
+                }
+            }
+            // Moitié "avant" des cellules voisines : chaque paire de cellules une seule fois
+            for (int[] offset : FORWARD_CELLS) {
+                Map<Integer, Node> neighborCell = representatives.get(coarseKey(cx + offset[0], cy + offset[1]));
+                if (neighborCell == null) {
+                    continue;
+                }
+                for (Map.Entry<Integer, Node> a : cell) {
+                    for (Map.Entry<Integer, Node> b : neighborCell.entrySet()) {
+                        if (!a.getKey().equals(b.getKey())) {
+                            addCandidate(a.getValue(), b.getValue(), candidates);
+                        }
+                    }
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private static void addCandidate(Node a, Node b, List<Edge> candidates) {
+        candidates.add(new Edge(a, b, a.distanceTo(b)));
+    }
+
+    private static long coarseKey(double x, double y, double cellSize) {
+        return coarseKey((int) Math.floor(x / cellSize), (int) Math.floor(y / cellSize));
+    }
+
+    private static long coarseKey(int cellX, int cellY) {
+        return ((long) cellX << 32) | (cellY & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Vérifie si le graphe est connecté en utilisant BFS
+     */
+    public boolean isGraphConnected(Graph graph, List<Node> nodes) {
+        if (nodes.isEmpty()) {
+            return true;
+        }
+
+        Set<Node> visited = new HashSet<>();
+        Queue<Node> queue = new LinkedList<>();
+
+        // Commencer BFS depuis le premier nœud
+        Node startNode = nodes.get(0);
+        queue.offer(startNode);
+        visited.add(startNode);
+
+        while (!queue.isEmpty()) {
+            Node current = queue.poll();
+            Map<Node, Double> neighbors = graph.getNeighbors(current);
+
+            for (Node neighbor : neighbors.keySet()) {
+                if (!visited.contains(neighbor)) {
+                    visited.add(neighbor);
+                    queue.offer(neighbor);
+                }
+            }
+        }
+
+        return visited.size() == nodes.size();
+    }
+
+    private void log(LoggingStrategy.LogLevel level, String message) {
+        if (logger != null) {
+            logger.log(level, message);
+        }
+    }
+}
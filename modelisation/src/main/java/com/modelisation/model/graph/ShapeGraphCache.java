@@ -0,0 +1,394 @@
+package com.modelisation.model.graph;
+
+import com.modelisation.model.Drawing;
+import com.modelisation.model.DrawingEvent;
+import com.modelisation.model.DrawingListener;
+import com.modelisation.model.logging.LoggingStrategy;
+import com.modelisation.model.shapes.Circle;
+import com.modelisation.model.shapes.Line;
+import com.modelisation.model.shapes.Rectangle;
+import com.modelisation.model.shapes.Shape;
+import javafx.geometry.Point2D;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Cache persistant du graphe de proximité d'un dessin (une forme = un nœud)
+ * Le graphe est construit à la première demande puis tenu à jour à partir des événements
+ * du dessin : un ajout, une suppression ou un déplacement ne touche que le nœud concerné
+ * et son voisinage. Les modifications globales (effacement, lot) provoquent une
+ * reconstruction paresseuse à la prochaine demande.
+ */
+public class ShapeGraphCache implements DrawingListener {
+
+    /** Nombre de voisins par nœud en mode NEAREST_NEIGHBORS (degré moyen proche de la triangulation) */
+    public static final int DEFAULT_NEAREST_NEIGHBORS = 6;
+
+    private final Drawing drawing;
+    private final ShapeGraphBuilder builder;
+    private final Map<Shape, Node> shapeToNode;
+    private Graph graph;
+    private boolean valid;
+
+    // Seuil de proximité figé lors de la construction, réutilisé par les mises à jour incrémentales
+    private double proximityThreshold;
+    private GraphConstructionMode constructionMode = GraphConstructionMode.PROXIMITY;
+    private int nearestNeighborCount = DEFAULT_NEAREST_NEIGHBORS;
+    private int builtNodeCount;
+    private NodeGrid nodeGrid;
+
+    private long nextNodeId = 0;
+    private int rebuildCount = 0;
+
+    // Nœuds de chaque famille de labels, dans l'ordre du dessin : le label d'un cercle, d'une ligne
+    // ou d'un rectangle est son rang dans sa famille, celui des autres formes leur index dans le dessin.
+    // Une suppression ne renumérote ainsi que les nœuds suivants de la même famille (et les autres formes).
+    private final List<Node> circleNodes = new ArrayList<>();
+    private final List<Node> lineNodes = new ArrayList<>();
+    private final List<Node> rectangleNodes = new ArrayList<>();
+    private final List<IndexedNode> otherNodes = new ArrayList<>();
+
+    /**
+     * Nœud d'une forme sans famille de labels, avec son index courant dans le dessin
+     */
+    private static final class IndexedNode {
+        final Node node;
+        final String typeName;
+        int index;
+
+        IndexedNode(Node node, String typeName, int index) {
+            this.node = node;
+            this.typeName = typeName;
+            this.index = index;
+        }
+    }
+
+    /**
+     * Crée le cache et l'abonne aux modifications du dessin
+     * @param drawing Dessin dont on maintient le graphe
+     */
+    public ShapeGraphCache(Drawing drawing) {
+        this.drawing = drawing;
+        this.builder = new ShapeGraphBuilder();
+        this.shapeToNode = new IdentityHashMap<>();
+        this.valid = false;
+        drawing.addListener(this);
+    }
+
+    /**
+     * Désabonne le cache du dessin (à appeler quand le dessin est remplacé)
+     */
+    public void dispose() {
+        drawing.removeListener(this);
+    }
+
+    /**
+     * Obtient le graphe à jour, en le construisant si nécessaire
+     * @return Le graphe de proximité du dessin
+     */
+    public Graph getGraph() {
+        if (!valid) {
+            rebuild();
+        }
+        return graph;
+    }
+
+    /**
+     * Obtient le nœud associé à une forme
+     * @param shape La forme
+     * @return Le nœud, ou null si la forme n'appartient pas au dessin
+     */
+    public Node getNode(Shape shape) {
+        getGraph();
+        return shapeToNode.get(shape);
+    }
+
+    /**
+     * Force une reconstruction complète à la prochaine demande
+     */
+    public void invalidate() {
+        valid = false;
+    }
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    public int getRebuildCount() {
+        return rebuildCount;
+    }
+
+    public double getProximityThreshold() {
+        return proximityThreshold;
+    }
+
+    public GraphConstructionMode getConstructionMode() {
+        return constructionMode;
+    }
+
+    /**
+     * Change le mode de construction ; le graphe est reconstruit à la prochaine demande
+     */
+    public void setConstructionMode(GraphConstructionMode constructionMode) {
+        if (constructionMode != this.constructionMode) {
+            this.constructionMode = constructionMode;
+            invalidate();
+        }
+    }
+
+    public int getNearestNeighborCount() {
+        return nearestNeighborCount;
+    }
+
+    /**
+     * Change le nombre de voisins du mode NEAREST_NEIGHBORS ; reconstruit à la prochaine demande si ce mode est actif
+     */
+    public void setNearestNeighborCount(int nearestNeighborCount) {
+        if (nearestNeighborCount < 1) {
+            throw new IllegalArgumentException("Le nombre de voisins doit être positif: " + nearestNeighborCount);
+        }
+        if (nearestNeighborCount != this.nearestNeighborCount) {
+            this.nearestNeighborCount = nearestNeighborCount;
+            if (constructionMode == GraphConstructionMode.NEAREST_NEIGHBORS) {
+                invalidate();
+            }
+        }
+    }
+
+    @Override
+    public void drawingChanged(DrawingEvent event) {
+        if (!valid || event instanceof DrawingEvent.PropertyChanged) {
+            return; // Sera reconstruit à la prochaine demande / rien à faire
+        }
+        if (!constructionMode.isIncremental()) {
+            invalidate(); // Triangulation ou voisins recalculés en O(n log n) à la prochaine demande
+            return;
+        }
+        if (event instanceof DrawingEvent.ShapeAdded) {
+            DrawingEvent.ShapeAdded added = (DrawingEvent.ShapeAdded) event;
+            if (added.getIndex() == drawing.getShapeCount() - 1 && !shapeToNode.containsKey(added.getShape())) {
+                onShapeAdded(added.getShape());
+            } else {
+                invalidate(); // Insertion au milieu ou forme déjà présente : labels et nœuds à recalculer
+            }
+        } else if (event instanceof DrawingEvent.ShapeRemoved) {
+            DrawingEvent.ShapeRemoved removed = (DrawingEvent.ShapeRemoved) event;
+            if (drawing.contains(removed.getShape())) {
+                invalidate(); // Une autre occurrence de la même forme reste dans le dessin
+            } else {
+                onShapeRemoved(removed.getShape(), removed.getIndex());
+            }
+        } else if (event instanceof DrawingEvent.ShapeMoved) {
+            onShapeMoved(((DrawingEvent.ShapeMoved) event).getShape());
+        } else {
+            invalidate(); // Effacement ou modification groupée
+        }
+
+        // Le seuil dépend du nombre de formes : reconstruire si celui-ci a trop changé depuis
+        if (valid && (graph.getNodeCount() > 2 * builtNodeCount || 2 * graph.getNodeCount() < builtNodeCount)) {
+            invalidate();
+        }
+    }
+
+    /**
+     * Reconstruit entièrement le graphe à partir des formes du dessin
+     */
+    private void rebuild() {
+        LoggingStrategy logger = drawing.getLogger();
+        builder.setLogger(logger);
+        graph = new Graph(false);
+        graph.setLogger(logger);
+        shapeToNode.clear();
+        clearLabelFamilies();
+
+        List<Shape> shapes = drawing.getShapes();
+        List<Node> nodes = new ArrayList<>(shapes.size());
+        for (int i = 0; i < shapes.size(); i++) {
+            Shape shape = shapes.get(i);
+            if (!shapeToNode.containsKey(shape)) {
+                nodes.add(createNode(shape, i));
+            }
+        }
+
+        if (constructionMode.isTriangulationBased()) {
+            // Connexe par construction : ni seuil, ni grille, ni réparation
+            proximityThreshold = 0;
+            nodeGrid = null;
+            builder.addTriangulationEdges(graph, nodes, constructionMode);
+        } else if (constructionMode == GraphConstructionMode.NEAREST_NEIGHBORS) {
+            proximityThreshold = 0;
+            nodeGrid = null;
+            builder.addNearestNeighborEdges(graph, nodes, nearestNeighborCount);
+        } else {
+            proximityThreshold = builder.calculateProximityThreshold(nodes);
+            nodeGrid = builder.createGrid(nodes, proximityThreshold);
+            builder.addProximityEdges(graph, nodeGrid, proximityThreshold);
+            builder.ensureGraphConnectivity(graph, nodeGrid);
+        }
+
+        builtNodeCount = nodes.size();
+        valid = true;
+        rebuildCount++;
+        if (logger != null) {
+            logger.log(LoggingStrategy.LogLevel.INFO, String.format("Graphe construit: %d nœuds, %d arêtes (%s, seuil %.2f)",
+                                                                    graph.getNodeCount(), graph.getEdgeCount(),
+                                                                    constructionMode.getLabel(), proximityThreshold));
+        }
+    }
+
+    private void onShapeAdded(Shape shape) {
+        Node node = createNode(shape, drawing.getShapeCount() - 1);
+        nodeGrid.add(node);
+        // Un nouveau nœud relié à au moins un autre ne peut pas déconnecter le graphe
+        builder.connectNode(graph, node, nodeGrid, proximityThreshold);
+    }
+
+    private void onShapeRemoved(Shape shape, int index) {
+        Node node = shapeToNode.remove(shape);
+        if (node == null) {
+            return;
+        }
+        List<Node> formerNeighbors = new ArrayList<>(graph.getNeighbors(node).keySet());
+        graph.removeNode(node.getId());
+        nodeGrid.remove(node);
+        // La suppression décale les labels des formes suivantes du même type
+        removeLabel(shape, node, index);
+        repairConnectivity(formerNeighbors);
+    }
+
+    private void onShapeMoved(Shape shape) {
+        Node node = shapeToNode.get(shape);
+        if (node == null) {
+            return;
+        }
+        List<Node> formerNeighbors = new ArrayList<>(graph.getNeighbors(node).keySet());
+        for (Edge edge : graph.getEdgesForNode(node)) {
+            graph.removeEdge(edge);
+        }
+        Point2D center = ShapeGraphBuilder.getShapeCenter(shape);
+        nodeGrid.remove(node);
+        node.setX(center.getX());
+        node.setY(center.getY());
+        nodeGrid.add(node);
+        builder.connectNode(graph, node, nodeGrid, proximityThreshold);
+        formerNeighbors.add(node);
+        repairConnectivity(formerNeighbors);
+    }
+
+    /**
+     * Vérifie que les anciens voisins d'un nœud modifié sont encore reliés entre eux
+     * Le parcours s'arrête dès qu'ils ont tous été atteints ; sinon la connectivité est rétablie
+     */
+    private void repairConnectivity(List<Node> formerNeighbors) {
+        if (formerNeighbors.size() < 2) {
+            return; // Retirer une feuille ne peut pas déconnecter le reste du graphe
+        }
+        Set<Node> remaining = new HashSet<>(formerNeighbors);
+        Set<Node> visited = new HashSet<>();
+        Queue<Node> queue = new ArrayDeque<>();
+        Node start = formerNeighbors.get(0);
+        queue.offer(start);
+        visited.add(start);
+        remaining.remove(start);
+        while (!queue.isEmpty() && !remaining.isEmpty()) {
+            for (Node neighbor : graph.getNeighbors(queue.poll()).keySet()) {
+                if (visited.add(neighbor)) {
+                    remaining.remove(neighbor);
+                    queue.offer(neighbor);
+                }
+            }
+        }
+        if (!remaining.isEmpty()) {
+            builder.ensureGraphConnectivity(graph, nodeGrid);
+        }
+    }
+
+    private Node createNode(Shape shape, int index) {
+        Point2D center = ShapeGraphBuilder.getShapeCenter(shape);
+        Node node = new Node(shape.getClass().getSimpleName() + "_" + (nextNodeId++), center.getX(), center.getY());
+        addLabel(shape, node, index);
+        graph.addNode(node);
+        shapeToNode.put(shape, node);
+        return node;
+    }
+
+    private void clearLabelFamilies() {
+        circleNodes.clear();
+        lineNodes.clear();
+        rectangleNodes.clear();
+        otherNodes.clear();
+    }
+
+    /**
+     * Famille de labels d'une forme : lettres pour les cercles et rectangles, nombres pour les lignes
+     * @return La liste de sa famille, ou null pour les formes labellisées par leur index
+     */
+    private List<Node> labelFamilyOf(Shape shape) {
+        if (shape instanceof Circle) {
+            return circleNodes;
+        } else if (shape instanceof Line) {
+            return lineNodes;
+        } else if (shape instanceof Rectangle) {
+            return rectangleNodes;
+        }
+        return null;
+    }
+
+    /**
+     * Label d'un nœud selon son rang dans sa famille
+     */
+    private String rankLabel(List<Node> family, int rank) {
+        if (family == lineNodes) {
+            return String.valueOf(rank + 1); // Les lignes commencent à 1
+        }
+        return String.valueOf((char)('A' + rank));
+    }
+
+    /**
+     * Donne son label au nœud d'une forme ajoutée à la fin du dessin (ou lors d'une reconstruction)
+     */
+    private void addLabel(Shape shape, Node node, int index) {
+        List<Node> family = labelFamilyOf(shape);
+        if (family != null) {
+            node.setLabel(rankLabel(family, family.size()));
+            family.add(node);
+        } else {
+            IndexedNode indexed = new IndexedNode(node, shape.getClass().getSimpleName(), index);
+            node.setLabel(indexed.typeName + " " + index);
+            otherNodes.add(indexed);
+        }
+    }
+
+    /**
+     * Retire le nœud d'une forme supprimée de sa famille et décale les labels qui en dépendent :
+     * les nœuds suivants de la même famille, et les formes sans famille situées après elle
+     * @param index Index qu'occupait la forme dans le dessin
+     */
+    private void removeLabel(Shape shape, Node node, int index) {
+        List<Node> family = labelFamilyOf(shape);
+        if (family != null) {
+            int rank = family.lastIndexOf(node);
+            family.remove(rank);
+            for (int r = rank; r < family.size(); r++) {
+                family.get(r).setLabel(rankLabel(family, r));
+            }
+        }
+        // Les formes sans famille sont rangées par index croissant : parcours depuis la fin
+        for (int r = otherNodes.size() - 1; r >= 0 && otherNodes.get(r).index >= index; r--) {
+            IndexedNode indexed = otherNodes.get(r);
+            if (indexed.node == node) {
+                otherNodes.remove(r);
+            } else {
+                indexed.index--;
+                indexed.node.setLabel(indexed.typeName + " " + indexed.index);
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.modelisation.model.graph.algorithms;
+
+import com.modelisation.model.graph.CsrGraph;
+import com.modelisation.model.graph.Graph;
+import com.modelisation.model.graph.Node;
+
+import java.util.*;
+
+/**
+ * Implémentation de l'algorithme A* pour le plus court chemin
+ * Strategy Pattern - Stratégie concrète guidée par la géométrie
+ * L'heuristique est la distance euclidienne jusqu'à la cible (Node.distanceTo). Elle est
+ * admissible lorsque le poids d'une arête n'est jamais inférieur à la distance entre ses
+ * extrémités, ce qui est le cas du graphe de proximité des formes (poids = distance).
+ * Seuls les nœuds orientés vers la cible sont explorés, au lieu de tout le disque de Dijkstra.
+ */
+public class AStarStrategy implements ShortestPathStrategy {
+    
+    @Override
+    public List<Node> findShortestPath(Graph graph, Node source, Node target) {
+        ShortestPathResult result = computeShortestPath(graph, source, target);
+        return result.isSuccessful() ? result.getPathTo(target) : null;
+    }
+    
+    /**
+     * Sans cible, il n'y a pas d'heuristique : le calcul équivaut à Dijkstra depuis la source
+     */
+    @Override
+    public ShortestPathResult findShortestPaths(Graph graph, Node source) {
+        return findShortestPaths(graph, source, null, Double.POSITIVE_INFINITY);
+    }
+    
+    /**
+     * Recherche guidée vers la cible, arrêtée dès que celle-ci est extraite de la file
+     * Les distances du résultat sont exactes pour les nœuds fixés ; les autres sont non atteints.
+     */
+    @Override
+    public ShortestPathResult findShortestPaths(Graph graph, Node source, Node target, double maxDistance) {
+        return findShortestPaths(graph, source, target, maxDistance, SearchTraceListener.NONE);
+    }
+    
+    @Override
+    public ShortestPathResult findShortestPaths(Graph graph, Node source, Node target, double maxDistance,
+                                                SearchTraceListener listener) {
+        if (graph == null || source == null) {
+            return new ShortestPathResult(null, false, "Nœud source null");
+        }
+        
+        CsrGraph csr = graph.toCsr();
+        int sourceIndex = csr.indexOf(source);
+        if (sourceIndex < 0) {
+            return new ShortestPathResult(source, false, "Nœud source non trouvé dans le graphe");
+        }
+        int targetIndex = target != null ? csr.indexOf(target) : -1;
+        if (target != null && targetIndex < 0) {
+            return new ShortestPathResult(source, false, "Nœud cible non trouvé dans le graphe");
+        }
+        
+        SearchState state = search(csr, sourceIndex, targetIndex, maxDistance,
+                                   listener != null ? listener : SearchTraceListener.NONE);
+        if (state.negativeWeight) {
+            return new ShortestPathResult(source, false, "L'algorithme A* ne supporte pas les poids négatifs");
+        }
+        // Les nœuds non fixés n'ont qu'une distance provisoire
+        CsrPaths.keepSettled(state.dist, state.prev, state.settled);
+        return new ShortestPathResult(source, csr, state.dist, state.prev, state.settledCount);
+    }
+    
+    /**
+     * Recherche A* depuis la source, jusqu'à l'extraction de la cible
+     * Les nœuds sont ordonnés par f = g + h, où g est la distance depuis la source
+     * et h l'estimation euclidienne de la distance restante (0 sans cible).
+     * @param target Indice de la cible, ou -1 pour calculer toutes les distances
+     * @param maxDistance Les chemins plus longs ne sont pas explorés
+     * @param trace Écouteur des étapes de cette recherche
+     * @return L'état de la recherche, interrompue au premier arc de poids négatif
+     */
+    private SearchState search(CsrGraph csr, int source, int target, double maxDistance, SearchTraceListener trace) {
+        int n = csr.getNodeCount();
+        SearchState state = new SearchState(n);
+        Node targetNode = target >= 0 ? csr.getNode(target) : null;
+        
+        double[] heuristic = new double[n];
+        Arrays.fill(heuristic, Double.NaN); // Calculée à la première rencontre du nœud
+        IndexedMinHeap openSet = new IndexedMinHeap(n);
+        
+        state.dist[source] = 0.0;
+        openSet.insert(source, estimate(csr, source, targetNode, heuristic));
+        
+        while (!openSet.isEmpty()) {
+            int current = openSet.poll();
+            if (!state.settled[current]) {
+                state.settled[current] = true;
+                state.settledCount++;
+                trace.nodeSettled(csr, current, state.dist[current]);
+            }
+            if (current == target) {
+                break;
+            }
+            
+            for (int arc = csr.firstArc(current), end = csr.endArc(current); arc < end; arc++) {
+                int neighbor = csr.arcTarget(arc);
+                double weight = csr.arcWeight(arc);
+                if (weight < 0) {
+                    // Une arête négative non orientée ferait baisser les distances indéfiniment
+                    state.negativeWeight = true;
+                    return state;
+                }
+                double tentative = state.dist[current] + weight;
+                if (tentative < state.dist[neighbor] && tentative <= maxDistance) {
+                    state.dist[neighbor] = tentative;
+                    state.prev[neighbor] = current;
+                    trace.edgeRelaxed(csr, current, neighbor, tentative);
+                    // Avec une heuristique cohérente un nœud déjà extrait n'est jamais amélioré ;
+                    // sinon il est réinséré pour garder un résultat exact
+                    state.settled[neighbor] = false;
+                    openSet.insertOrDecrease(neighbor, tentative + estimate(csr, neighbor, targetNode, heuristic));
+                }
+            }
+        }
+        return state;
+    }
+    
+    private static double estimate(CsrGraph csr, int node, Node targetNode, double[] heuristic) {
+        if (targetNode == null) {
+            return 0.0;
+        }
+        double h = heuristic[node];
+        if (Double.isNaN(h)) {
+            h = csr.getNode(node).distanceTo(targetNode);
+            heuristic[node] = h;
+        }
+        return h;
+    }
+    
+    @Override
+    public String getAlgorithmName() {
+        return "A*";
+    }
+    
+    @Override
+    public boolean supportsNegativeWeights() {
+        return false;
+    }
+    
+    /**
+     * Tableaux de travail d'une recherche, indexés par numéro de nœud (propres à chaque requête)
+     */
+    private static final class SearchState {
+        final double[] dist;
+        final int[] prev;
+        final boolean[] settled;
+        int settledCount;
+        boolean negativeWeight;
+        
+        SearchState(int nodeCount) {
+            dist = new double[nodeCount];
+            prev = new int[nodeCount];
+            settled = new boolean[nodeCount];
+            Arrays.fill(dist, Double.POSITIVE_INFINITY);
+            Arrays.fill(prev, CsrPaths.NO_PREVIOUS);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.modelisation.model.graph.algorithms;
 
+import com.modelisation.model.graph.CsrGraph;
 import com.modelisation.model.graph.Graph;
 import com.modelisation.model.graph.Node;
 
@@ -14,107 +15,55 @@ public class BFSAlgorithm implements ShortestPathStrategy {
     
     @Override
     public List<Node> findShortestPath(Graph graph, Node source, Node target) {
-        if (source == null || target == null) {
-            return null;
-        }
-        
-        if (!graph.getNodes().contains(source) || !graph.getNodes().contains(target)) {
-            return null;
+        return findPath(graph, source, target, false);
+    }
+    
+    @Override
+    public ShortestPathResult findShortestPaths(Graph graph, Node source) {
+        if (source == null) {
+            return new ShortestPathResult(null, false, "Nœud source null");
         }
         
-        // Si source et target sont identiques
-        if (source.equals(target)) {
-            return Arrays.asList(source);
+        CsrGraph csr = graph.toCsr();
+        int sourceIndex = csr.indexOf(source);
+        if (sourceIndex < 0) {
+            return new ShortestPathResult(source, false, "Nœud source non trouvé dans le graphe");
         }
         
-        // Réinitialiser les propriétés d'algorithme
-        graph.resetAlgorithmProperties();
-        
-        // BFS avec file FIFO
-        Queue<Node> queue = new LinkedList<>();
-        Set<Node> visited = new HashSet<>();
-        
-        // Initialiser la recherche
-        source.setDistance(0.0);
-        source.setPrevious(null);
-        queue.offer(source);
-        visited.add(source);
+        SearchState state = new SearchState(csr.getNodeCount());
+        search(csr, sourceIndex, -1, false, state, SearchTraceListener.NONE);
         
-        while (!queue.isEmpty()) {
-            Node current = queue.poll();
-            current.setVisited(true);
-            
-            // Si on a atteint la cible, reconstruire le chemin
-            if (current.equals(target)) {
-                return reconstructPath(target);
-            }
-            
-            // Examiner tous les voisins
-            Map<Node, Double> neighbors = graph.getNeighbors(current);
-            
-            for (Map.Entry<Node, Double> entry : neighbors.entrySet()) {
-                Node neighbor = entry.getKey();
-                double edgeWeight = entry.getValue();
-                
-                // Si le voisin n'a pas encore été visité
-                if (!visited.contains(neighbor)) {
-                    visited.add(neighbor);
-                    neighbor.setDistance(current.getDistance() + edgeWeight);
-                    neighbor.setPrevious(current);
-                    queue.offer(neighbor);
-                }
-            }
-        }
-        
-        // Aucun chemin trouvé
-        return null;
+        return new ShortestPathResult(source, csr, state.dist, state.prev, state.settledCount);
     }
     
+    /**
+     * Parcours arrêté dès que la cible est atteinte ; les nœuds plus éloignés que maxDistance
+     * (somme des poids le long de l'arbre BFS) sont ensuite retirés du résultat
+     */
     @Override
-    public ShortestPathResult findShortestPaths(Graph graph, Node source) {
+    public ShortestPathResult findShortestPaths(Graph graph, Node source, Node target, double maxDistance) {
+        return findShortestPaths(graph, source, target, maxDistance, SearchTraceListener.NONE);
+    }
+    
+    @Override
+    public ShortestPathResult findShortestPaths(Graph graph, Node source, Node target, double maxDistance,
+                                                SearchTraceListener listener) {
         if (source == null) {
             return new ShortestPathResult(null, false, "Nœud source null");
         }
         
-        if (!graph.getNodes().contains(source)) {
+        CsrGraph csr = graph.toCsr();
+        int sourceIndex = csr.indexOf(source);
+        if (sourceIndex < 0) {
             return new ShortestPathResult(source, false, "Nœud source non trouvé dans le graphe");
         }
         
-        // Réinitialiser les propriétés d'algorithme
-        graph.resetAlgorithmProperties();
-        
-        // BFS avec file FIFO
-        Queue<Node> queue = new LinkedList<>();
-        Set<Node> visited = new HashSet<>();
+        SearchState state = new SearchState(csr.getNodeCount());
+        search(csr, sourceIndex, target != null ? csr.indexOf(target) : -1, false, state,
+               listener != null ? listener : SearchTraceListener.NONE);
         
-        // Initialiser la recherche
-        source.setDistance(0.0);
-        source.setPrevious(null);
-        queue.offer(source);
-        visited.add(source);
-        
-        while (!queue.isEmpty()) {
-            Node current = queue.poll();
-            current.setVisited(true);
-            
-            // Examiner tous les voisins
-            Map<Node, Double> neighbors = graph.getNeighbors(current);
-            
-            for (Map.Entry<Node, Double> entry : neighbors.entrySet()) {
-                Node neighbor = entry.getKey();
-                double edgeWeight = entry.getValue();
-                
-                // Si le voisin n'a pas encore été visité
-                if (!visited.contains(neighbor)) {
-                    visited.add(neighbor);
-                    neighbor.setDistance(current.getDistance() + edgeWeight);
-                    neighbor.setPrevious(current);
-                    queue.offer(neighbor);
-                }
-            }
-        }
-        
-        return new ShortestPathResult(source);
+        ShortestPathResult result = new ShortestPathResult(source, csr, state.dist, state.prev, state.settledCount);
+        return maxDistance == Double.POSITIVE_INFINITY ? result : result.withinDistance(maxDistance);
     }
     
     /**
@@ -122,66 +71,95 @@ public class BFSAlgorithm implements ShortestPathStrategy {
      * Plus efficace car elle ne considère que le nombre d'arêtes
      */
     public List<Node> findShortestPathUnweighted(Graph graph, Node source, Node target) {
+        return findPath(graph, source, target, true);
+    }
+    
+    private List<Node> findPath(Graph graph, Node source, Node target, boolean unweighted) {
         if (source == null || target == null) {
             return null;
         }
         
-        if (!graph.getNodes().contains(source) || !graph.getNodes().contains(target)) {
+        CsrGraph csr = graph.toCsr();
+        int sourceIndex = csr.indexOf(source);
+        int targetIndex = csr.indexOf(target);
+        if (sourceIndex < 0 || targetIndex < 0) {
             return null;
         }
         
+        // Si source et target sont identiques
         if (source.equals(target)) {
             return Arrays.asList(source);
         }
         
-        // Réinitialiser les propriétés d'algorithme
-        graph.resetAlgorithmProperties();
-        
-        Queue<Node> queue = new LinkedList<>();
-        Set<Node> visited = new HashSet<>();
+        SearchState state = new SearchState(csr.getNodeCount());
+        boolean found = search(csr, sourceIndex, targetIndex, unweighted, state, SearchTraceListener.NONE);
         
-        source.setDistance(0.0);
-        source.setPrevious(null);
-        queue.offer(source);
-        visited.add(source);
+        // Aucun chemin trouvé
+        return found ? CsrPaths.buildPath(csr, state.prev, targetIndex) : null;
+    }
+    
+    /**
+     * Parcours en largeur sur l'instantané CSR, avec une file FIFO dans un tableau
+     * (chaque nœud y entre au plus une fois)
+     * @param target Indice du nœud cible, ou -1 pour parcourir tout le graphe
+     * @param unweighted true pour compter les arêtes plutôt que sommer leurs poids
+     * @param trace Écouteur des étapes de ce parcours
+     * @return true si la cible a été atteinte
+     */
+    private boolean search(CsrGraph csr, int source, int target, boolean unweighted, SearchState state,
+                           SearchTraceListener trace) {
+        int[] queue = new int[csr.getNodeCount()];
+        int head = 0, tail = 0;
         
-        while (!queue.isEmpty()) {
-            Node current = queue.poll();
-            current.setVisited(true);
+        // Initialiser la recherche
+        state.dist[source] = 0.0;
+        state.discovered[source] = true;
+        queue[tail++] = source;
+        
+        while (head < tail) {
+            int current = queue[head++];
+            state.settledCount++;
+            trace.nodeSettled(csr, current, state.dist[current]);
             
-            if (current.equals(target)) {
-                return reconstructPath(target);
+            // Si on a atteint la cible, arrêter la recherche
+            if (current == target) {
+                return true;
             }
             
-            // Pour BFS non pondéré, on ignore les poids des arêtes
-            Map<Node, Double> neighbors = graph.getNeighbors(current);
-            
-            for (Node neighbor : neighbors.keySet()) {
-                if (!visited.contains(neighbor)) {
-                    visited.add(neighbor);
-                    neighbor.setDistance(current.getDistance() + 1); // Distance = nombre d'arêtes
-                    neighbor.setPrevious(current);
-                    queue.offer(neighbor);
+            // Examiner tous les voisins
+            for (int arc = csr.firstArc(current), end = csr.endArc(current); arc < end; arc++) {
+                int neighbor = csr.arcTarget(arc);
+                
+                // Si le voisin n'a pas encore été visité
+                if (!state.discovered[neighbor]) {
+                    state.discovered[neighbor] = true;
+                    state.dist[neighbor] = state.dist[current] + (unweighted ? 1 : csr.arcWeight(arc));
+                    state.prev[neighbor] = current;
+                    trace.edgeRelaxed(csr, current, neighbor, state.dist[neighbor]);
+                    queue[tail++] = neighbor;
                 }
             }
         }
         
-        return null;
+        return false;
     }
     
     /**
-     * Reconstruit le chemin depuis le nœud cible vers la source
+     * Tableaux de travail d'un parcours, indexés par numéro de nœud (propres à chaque requête)
      */
-    private List<Node> reconstructPath(Node target) {
-        List<Node> path = new ArrayList<>();
-        Node current = target;
-        
-        while (current != null) {
-            path.add(0, current);
-            current = current.getPrevious();
+    private static final class SearchState {
+        final double[] dist;
+        final int[] prev;
+        final boolean[] discovered;
+        int settledCount;
+        
+        SearchState(int nodeCount) {
+            dist = new double[nodeCount];
+            prev = new int[nodeCount];
+            discovered = new boolean[nodeCount];
+            Arrays.fill(dist, Double.POSITIVE_INFINITY);
+            Arrays.fill(prev, CsrPaths.NO_PREVIOUS);
         }
-        
-        return path.isEmpty() ? null : path;
     }
     
     /**
@@ -0,0 +1,181 @@
+package com.modelisation.model.graph.algorithms;
+
+import com.modelisation.model.graph.CsrGraph;
+import com.modelisation.model.graph.Graph;
+import com.modelisation.model.graph.Node;
+
+import java.util.*;
+
+/**
+ * Implémentation de Dijkstra bidirectionnel pour les requêtes point à point
+ * Strategy Pattern - Stratégie concrète
+ * Deux recherches progressent simultanément, depuis la source et depuis la cible (sur le graphe
+ * transposé), et s'arrêtent dès que la somme des deux plus petites clés dépasse la meilleure
+ * distance déjà trouvée par une arête reliant les deux fronts. Sur un graphe géométrique,
+ * les deux disques explorés couvrent environ deux fois moins de nœuds que le disque unique de Dijkstra.
+ */
+public class BidirectionalDijkstraStrategy implements ShortestPathStrategy {
+
+    @Override
+    public List<Node> findShortestPath(Graph graph, Node source, Node target) {
+        ShortestPathResult result = computeShortestPath(graph, source, target);
+        return result.isSuccessful() ? result.getPathTo(target) : null;
+    }
+
+    /**
+     * Sans cible, la recherche est unidirectionnelle : identique à Dijkstra
+     */
+    @Override
+    public ShortestPathResult findShortestPaths(Graph graph, Node source) {
+        return findShortestPaths(graph, source, null, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Calcule le plus court chemin par recherche bidirectionnelle
+     * Les distances du résultat sont exactes pour les nœuds fixés par la recherche avant
+     * et pour les nœuds du chemin ; les autres nœuds sont considérés comme non atteints.
+     * Chaque front est limité à maxDistance, et un chemin plus long que la borne est ignoré.
+     */
+    @Override
+    public ShortestPathResult findShortestPaths(Graph graph, Node source, Node target, double maxDistance) {
+        return findShortestPaths(graph, source, target, maxDistance, SearchTraceListener.NONE);
+    }
+
+    @Override
+    public ShortestPathResult findShortestPaths(Graph graph, Node source, Node target, double maxDistance,
+                                                SearchTraceListener listener) {
+        SearchTraceListener trace = listener != null ? listener : SearchTraceListener.NONE;
+        if (target == null) {
+            return new DijkstraAlgorithm().findShortestPaths(graph, source, null, maxDistance, trace);
+        }
+        if (graph == null || source == null) {
+            return new ShortestPathResult(source, false, "Graphe ou source null");
+        }
+
+        CsrGraph forward = graph.toCsr();
+        CsrGraph backward = forward.reversed();
+        int s = forward.indexOf(source);
+        int t = forward.indexOf(target);
+        if (s < 0 || t < 0) {
+            return new ShortestPathResult(source, false, "Source ou cible non trouvée dans le graphe");
+        }
+
+        int n = forward.getNodeCount();
+        Frontier forwardSearch = new Frontier(n, s);
+        Frontier backwardSearch = new Frontier(n, t);
+
+        // Meilleur chemin connu : arc meetForward -> meetBackward reliant les deux fronts
+        double best = s == t ? 0.0 : Double.POSITIVE_INFINITY;
+        int meetForward = s == t ? s : -1;
+        int meetBackward = s == t ? t : -1;
+
+        while (!forwardSearch.queue.isEmpty() && !backwardSearch.queue.isEmpty()) {
+            // Critère d'arrêt : aucun chemin passant par les fronts ne peut être plus court
+            if (forwardSearch.minKey() + backwardSearch.minKey() >= best) {
+                break;
+            }
+
+            // Étendre le front le plus petit
+            boolean expandForward = forwardSearch.queue.size() <= backwardSearch.queue.size();
+            Frontier search = expandForward ? forwardSearch : backwardSearch;
+            Frontier other = expandForward ? backwardSearch : forwardSearch;
+            CsrGraph arcs = expandForward ? forward : backward;
+
+            int u = search.queue.poll();
+            search.settled[u] = true;
+            search.settledCount++;
+            // Les événements de la recherche arrière portent sur le graphe transposé
+            trace.nodeSettled(arcs, u, search.dist[u]);
+
+            for (int arc = arcs.firstArc(u), end = arcs.endArc(u); arc < end; arc++) {
+                int v = arcs.arcTarget(arc);
+                double weight = arcs.arcWeight(arc);
+                if (weight < 0) {
+                    return new ShortestPathResult(source, false,
+                        "L'algorithme de Dijkstra ne supporte pas les poids négatifs");
+                }
+                double distance = search.dist[u] + weight;
+                if (!search.settled[v] && distance < search.dist[v] && distance <= maxDistance) {
+                    search.dist[v] = distance;
+                    search.prev[v] = u;
+                    trace.edgeRelaxed(arcs, u, v, distance);
+                    search.queue.insertOrDecrease(v, distance);
+                }
+                // L'arc u -> v relie-t-il les deux fronts par un chemin plus court ?
+                double through = distance + other.dist[v];
+                if (through < best && through <= maxDistance) {
+                    best = through;
+                    meetForward = expandForward ? u : v;
+                    meetBackward = expandForward ? v : u;
+                }
+            }
+        }
+
+        int settledCount = forwardSearch.settledCount + backwardSearch.settledCount;
+        double[] dist = new double[n];
+        int[] prev = new int[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        Arrays.fill(prev, CsrPaths.NO_PREVIOUS);
+        for (int v = 0; v < n; v++) {
+            if (forwardSearch.settled[v]) {
+                dist[v] = forwardSearch.dist[v];
+                prev[v] = forwardSearch.prev[v];
+            }
+        }
+        if (meetForward < 0) {
+            return new ShortestPathResult(source, forward, dist, prev, settledCount); // Cible inaccessible
+        }
+
+        // Moitié source : chaîne des prédécesseurs de la recherche avant
+        for (int v = meetForward; v != CsrPaths.NO_PREVIOUS && !forwardSearch.settled[v]; v = forwardSearch.prev[v]) {
+            dist[v] = forwardSearch.dist[v];
+            prev[v] = forwardSearch.prev[v];
+        }
+        // Moitié cible : la chaîne de la recherche arrière est raccordée dans le sens source -> cible
+        if (meetBackward != meetForward) {
+            int previousOnPath = meetForward;
+            for (int v = meetBackward; v != CsrPaths.NO_PREVIOUS; v = backwardSearch.prev[v]) {
+                dist[v] = best - backwardSearch.dist[v];
+                prev[v] = previousOnPath;
+                previousOnPath = v;
+            }
+        }
+        return new ShortestPathResult(source, forward, dist, prev, settledCount);
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return "Dijkstra bidirectionnel";
+    }
+
+    @Override
+    public boolean supportsNegativeWeights() {
+        return false;
+    }
+
+    /**
+     * État d'une des deux recherches (propre à chaque requête)
+     */
+    private static final class Frontier {
+        final double[] dist;
+        final int[] prev;
+        final boolean[] settled;
+        final IndexedMinHeap queue;
+        int settledCount;
+
+        Frontier(int nodeCount, int origin) {
+            dist = new double[nodeCount];
+            prev = new int[nodeCount];
+            settled = new boolean[nodeCount];
+            queue = new IndexedMinHeap(nodeCount);
+            Arrays.fill(dist, Double.POSITIVE_INFINITY);
+            Arrays.fill(prev, CsrPaths.NO_PREVIOUS);
+            dist[origin] = 0.0;
+            queue.insert(origin, 0.0);
+        }
+
+        double minKey() {
+            return queue.keyOf(queue.peek());
+        }
+    }
+}
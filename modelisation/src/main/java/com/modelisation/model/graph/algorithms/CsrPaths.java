@@ -0,0 +1,107 @@
+package com.modelisation.model.graph.algorithms;
+
+import com.modelisation.model.graph.CsrGraph;
+import com.modelisation.model.graph.Node;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outils communs aux algorithmes exécutés sur un CsrGraph
+ * Les algorithmes calculent dans des tableaux indexés par numéro de nœud,
+ * à partir desquels les chemins sont reconstruits.
+ */
+final class CsrPaths {
+
+    /** Valeur de prev[] pour un nœud sans prédécesseur */
+    static final int NO_PREVIOUS = -1;
+
+    private CsrPaths() {
+    }
+
+    /**
+     * Rend inaccessibles les nœuds non fixés par une recherche interrompue
+     * (leur distance provisoire n'est pas garantie)
+     */
+    static void keepSettled(double[] dist, int[] prev, boolean[] settled) {
+        for (int v = 0; v < dist.length; v++) {
+            if (!settled[v]) {
+                dist[v] = Double.POSITIVE_INFINITY;
+                prev[v] = NO_PREVIOUS;
+            }
+        }
+    }
+
+    /**
+     * Choisit les prédécesseurs à partir des distances finales, pour les algorithmes qui ne
+     * les tiennent pas à jour (relâchements concurrents) : prev[v] est l'origine d'un arc tendu,
+     * c'est-à-dire tel que dist[u] + poids == dist[v], calculé comme lors du relâchement.
+     * Les origines strictement plus proches de la source sont préférées ; les nœuds qui n'ont
+     * que des arcs tendus de poids nul (nœuds confondus) sont rattachés ensuite de proche en proche
+     * à des nœuds déjà résolus, ce qui évite tout cycle de prédécesseurs.
+     * @param dist Distances finales (POSITIVE_INFINITY pour les nœuds non atteints)
+     * @return Les prédécesseurs (NO_PREVIOUS pour la source et les nœuds non atteints)
+     */
+    static int[] tightPredecessors(CsrGraph csr, double[] dist, int source) {
+        CsrGraph incoming = csr.reversed();
+        int n = dist.length;
+        int[] prev = new int[n];
+        Arrays.fill(prev, NO_PREVIOUS);
+        boolean[] resolved = new boolean[n];
+        resolved[source] = true;
+        List<Integer> pending = new ArrayList<>();
+        for (int v = 0; v < n; v++) {
+            if (v == source || dist[v] == Double.POSITIVE_INFINITY) {
+                continue;
+            }
+            for (int arc = incoming.firstArc(v), end = incoming.endArc(v); arc < end; arc++) {
+                int u = incoming.arcTarget(arc);
+                if (dist[u] < dist[v] && dist[u] + incoming.arcWeight(arc) == dist[v]) {
+                    prev[v] = u;
+                    resolved[v] = true;
+                    break;
+                }
+            }
+            if (!resolved[v]) {
+                pending.add(v);
+            }
+        }
+        // Égalités de distance : passes successives, rares et courtes en pratique
+        boolean progress = true;
+        while (!pending.isEmpty() && progress) {
+            progress = false;
+            List<Integer> unresolved = new ArrayList<>();
+            for (int v : pending) {
+                for (int arc = incoming.firstArc(v), end = incoming.endArc(v); arc < end; arc++) {
+                    int u = incoming.arcTarget(arc);
+                    if (resolved[u] && dist[u] + incoming.arcWeight(arc) == dist[v]) {
+                        prev[v] = u;
+                        resolved[v] = true;
+                        progress = true;
+                        break;
+                    }
+                }
+                if (!resolved[v]) {
+                    unresolved.add(v);
+                }
+            }
+            pending = unresolved;
+        }
+        return prev;
+    }
+
+    /**
+     * Reconstruit le chemin de la source jusqu'à un nœud en remontant les prédécesseurs
+     * @return Le chemin (source en premier)
+     */
+    static List<Node> buildPath(CsrGraph csr, int[] prev, int target) {
+        List<Node> path = new ArrayList<>();
+        for (int v = target; v != NO_PREVIOUS; v = prev[v]) {
+            path.add(csr.getNode(v));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+}
@@ -0,0 +1,376 @@
+package com.modelisation.model.graph.algorithms;
+
+import com.modelisation.model.graph.CsrGraph;
+import com.modelisation.model.graph.Graph;
+import com.modelisation.model.graph.Node;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Plus courts chemins parallèles par delta-stepping (Meyer et Sanders)
+ * Strategy Pattern - Stratégie concrète
+ * Les distances provisoires sont rangées dans des seaux de largeur delta. Le plus petit seau
+ * non vide est vidé par phases : ses nœuds relâchent en parallèle leurs arcs légers (poids au
+ * plus delta), qui peuvent le remplir à nouveau ; une fois le seau vide, ses nœuds sont définitifs
+ * et relâchent en parallèle leurs arcs lourds, qui ne touchent que les seaux suivants.
+ * Les relâchements concurrents prennent le minimum par compare-and-set sur les bits de la
+ * distance (l'ordre des doubles positifs est celui de leurs bits) : les distances obtenues sont
+ * exactement celles de Dijkstra. Les prédécesseurs sont choisis après coup parmi les arcs tendus,
+ * sans course ; en cas d'égalité entre deux plus courts chemins, le chemin peut différer de celui
+ * de Dijkstra, pour la même distance.
+ * Avec delta très petit, l'algorithme se comporte comme Dijkstra ; très grand, comme Bellman-Ford.
+ * Par défaut, delta vaut le poids moyen des arcs.
+ */
+public class DeltaSteppingStrategy implements ShortestPathStrategy {
+
+    /** Largeur de seau calculée pour chaque graphe (poids moyen des arcs) */
+    public static final double AUTOMATIC_BUCKET_WIDTH = Double.NaN;
+    /** Nœuds traités séquentiellement par une tâche ForkJoin */
+    private static final int SEQUENTIAL_THRESHOLD = 256;
+    private static final long UNPROCESSED = Long.MAX_VALUE;
+
+    private final double bucketWidth;
+    private final ForkJoinPool pool;
+
+    /**
+     * Largeur de seau automatique, sur le pool ForkJoin commun
+     */
+    public DeltaSteppingStrategy() {
+        this(AUTOMATIC_BUCKET_WIDTH);
+    }
+
+    /**
+     * @param bucketWidth Largeur des seaux (delta), ou AUTOMATIC_BUCKET_WIDTH
+     */
+    public DeltaSteppingStrategy(double bucketWidth) {
+        this(bucketWidth, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param bucketWidth Largeur des seaux (delta), ou AUTOMATIC_BUCKET_WIDTH
+     * @param pool Pool qui exécute les relâchements (son parallélisme fixe le nombre de cœurs utilisés)
+     */
+    public DeltaSteppingStrategy(double bucketWidth, ForkJoinPool pool) {
+        if (!Double.isNaN(bucketWidth) && !(bucketWidth > 0 && bucketWidth < Double.POSITIVE_INFINITY)) {
+            throw new IllegalArgumentException("La largeur de seau doit être positive et finie: " + bucketWidth);
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool ForkJoin null");
+        }
+        this.bucketWidth = bucketWidth;
+        this.pool = pool;
+    }
+
+    /**
+     * @return Largeur des seaux, ou AUTOMATIC_BUCKET_WIDTH (NaN)
+     */
+    public double getBucketWidth() {
+        return bucketWidth;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    @Override
+    public List<Node> findShortestPath(Graph graph, Node source, Node target) {
+        ShortestPathResult result = computeShortestPath(graph, source, target);
+        return result.isSuccessful() ? result.getPathTo(target) : null;
+    }
+
+    @Override
+    public ShortestPathResult findShortestPaths(Graph graph, Node source) {
+        return findShortestPaths(graph, source, null, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Avec une cible, la recherche s'arrête après le seau qui la contient ;
+     * seuls les nœuds des seaux vidés sont considérés comme atteints.
+     */
+    @Override
+    public ShortestPathResult findShortestPaths(Graph graph, Node source, Node target, double maxDistance) {
+        if (graph == null || source == null) {
+            return new ShortestPathResult(source, false, "Graphe ou source null");
+        }
+        CsrGraph csr = graph.toCsr();
+        int sourceIndex = csr.indexOf(source);
+        if (sourceIndex < 0) {
+            return new ShortestPathResult(source, false, "Nœud source non trouvé dans le graphe");
+        }
+        int targetIndex = target != null ? csr.indexOf(target) : -1;
+
+        // Poids négatifs refusés comme pour Dijkstra ; le même parcours donne le poids moyen
+        double totalWeight = 0;
+        for (int arc = 0; arc < csr.getArcCount(); arc++) {
+            double weight = csr.arcWeight(arc);
+            if (weight < 0) {
+                return new ShortestPathResult(source, false,
+                    "L'algorithme delta-stepping ne supporte pas les poids négatifs");
+            }
+            totalWeight += weight;
+        }
+        double delta = bucketWidth;
+        if (Double.isNaN(delta)) {
+            delta = totalWeight > 0 ? totalWeight / csr.getArcCount() : 1.0;
+        }
+
+        Search search = new Search(csr, delta, maxDistance);
+        long lastBucket = search.run(sourceIndex, targetIndex);
+        double[] dist = search.settledDistances(lastBucket);
+        int[] prev = CsrPaths.tightPredecessors(csr, dist, sourceIndex);
+        int settledCount = 0;
+        for (double distance : dist) {
+            if (distance != Double.POSITIVE_INFINITY) {
+                settledCount++;
+            }
+        }
+        return new ShortestPathResult(source, csr, dist, prev, settledCount);
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return "Delta-stepping";
+    }
+
+    @Override
+    public boolean supportsNegativeWeights() {
+        return false;
+    }
+
+    /**
+     * État d'une requête : distances partagées par les tâches et seaux à venir
+     */
+    private final class Search {
+        private final CsrGraph csr;
+        private final double delta;
+        private final double maxDistance;
+        // Bits des distances provisoires (doubles positifs : ordre des bits = ordre des valeurs)
+        private final AtomicLongArray dist;
+        // Plus petite distance à laquelle chaque nœud a déjà relâché ses arcs légers
+        private final AtomicLongArray processed;
+        // Seaux à venir : morceaux de nœuds déposés par les tâches, doublons et nœuds périmés compris
+        private final ConcurrentSkipListMap<Long, Queue<int[]>> buckets = new ConcurrentSkipListMap<>();
+        // Nœuds sortis du seau courant, qui relâcheront leurs arcs lourds
+        private final Queue<int[]> removed = new ConcurrentLinkedQueue<>();
+
+        Search(CsrGraph csr, double delta, double maxDistance) {
+            this.csr = csr;
+            this.delta = delta;
+            this.maxDistance = maxDistance;
+            int n = csr.getNodeCount();
+            dist = new AtomicLongArray(n);
+            processed = new AtomicLongArray(n);
+            long infinity = Double.doubleToLongBits(Double.POSITIVE_INFINITY);
+            for (int v = 0; v < n; v++) {
+                dist.set(v, infinity);
+                processed.set(v, UNPROCESSED);
+            }
+        }
+
+        /**
+         * Vide les seaux dans l'ordre, jusqu'au dernier ou jusqu'à celui de la cible
+         * @return Indice du dernier seau vidé : les nœuds des seaux jusqu'à celui-ci sont définitifs
+         */
+        long run(int sourceIndex, int targetIndex) {
+            dist.set(sourceIndex, Double.doubleToLongBits(0.0));
+            buckets.put(0L, new ConcurrentLinkedQueue<>(List.<int[]>of(new int[]{sourceIndex})));
+            long current = -1;
+            while (!buckets.isEmpty()) {
+                current = buckets.firstKey();
+                // Phases légères : le seau peut se remplir à nouveau tant que des distances y baissent
+                Queue<int[]> chunks;
+                while ((chunks = buckets.remove(current)) != null) {
+                    pool.invoke(new RelaxTask(concat(chunks), current, true));
+                }
+                if (targetIndex >= 0 && bucketOf(distance(targetIndex)) <= current) {
+                    break; // Cible définitive : les arcs lourds ne touchent que les seaux suivants
+                }
+                int[] settled = concat(removed);
+                removed.clear();
+                pool.invoke(new RelaxTask(settled, current, false));
+            }
+            return current;
+        }
+
+        /**
+         * @return Les distances, infinies au-delà du dernier seau vidé (non garanties)
+         */
+        double[] settledDistances(long lastBucket) {
+            double[] result = new double[csr.getNodeCount()];
+            for (int v = 0; v < result.length; v++) {
+                double distance = distance(v);
+                result[v] = bucketOf(distance) <= lastBucket ? distance : Double.POSITIVE_INFINITY;
+            }
+            return result;
+        }
+
+        double distance(int node) {
+            return Double.longBitsToDouble(dist.get(node));
+        }
+
+        long bucketOf(double distance) {
+            // Distance infinie : au-delà de tout seau (la conversion sature à Long.MAX_VALUE)
+            return (long) (distance / delta);
+        }
+
+        /**
+         * Abaisse la distance d'un nœud si la nouvelle est plus petite (minimum atomique)
+         * @return true si la distance a baissé
+         */
+        boolean relax(int node, double newDistance) {
+            long newBits = Double.doubleToLongBits(newDistance);
+            long oldBits;
+            do {
+                oldBits = dist.get(node);
+                if (newBits >= oldBits) {
+                    return false;
+                }
+            } while (!dist.compareAndSet(node, oldBits, newBits));
+            return true;
+        }
+
+        /**
+         * Réserve le relâchement des arcs légers d'un nœud à une distance donnée
+         * @return false si le nœud les a déjà relâchés à cette distance ou plus bas (doublon)
+         */
+        boolean claim(int node, long distanceBits) {
+            long processedBits;
+            do {
+                processedBits = processed.get(node);
+                if (processedBits <= distanceBits) {
+                    return false;
+                }
+            } while (!processed.compareAndSet(node, processedBits, distanceBits));
+            return true;
+        }
+
+        private void publish(long bucket, IntBuffer nodes) {
+            if (nodes.size() > 0) {
+                buckets.computeIfAbsent(bucket, key -> new ConcurrentLinkedQueue<>()).add(nodes.toArray());
+            }
+        }
+
+        /**
+         * Relâche les arcs légers (phase du seau courant) ou lourds (nœuds définitifs) d'une plage de nœuds
+         */
+        private final class RelaxTask extends RecursiveAction {
+            private final int[] nodes;
+            private final int from;
+            private final int to;
+            private final long bucket;
+            private final boolean light;
+
+            RelaxTask(int[] nodes, long bucket, boolean light) {
+                this(nodes, 0, nodes.length, bucket, light);
+            }
+
+            private RelaxTask(int[] nodes, int from, int to, long bucket, boolean light) {
+                this.nodes = nodes;
+                this.from = from;
+                this.to = to;
+                this.bucket = bucket;
+                this.light = light;
+            }
+
+            @Override
+            protected void compute() {
+                if (to - from > SEQUENTIAL_THRESHOLD) {
+                    int mid = (from + to) >>> 1;
+                    invokeAll(new RelaxTask(nodes, from, mid, bucket, light),
+                              new RelaxTask(nodes, mid, to, bucket, light));
+                    return;
+                }
+                // Nœuds à déposer, par seau : regroupés localement pour limiter les accès partagés.
+                // Les deux premiers seaux reçoivent presque tous les nœuds et ont leur propre tampon.
+                IntBuffer sameBucket = new IntBuffer();
+                IntBuffer nextBucket = new IntBuffer();
+                Map<Long, IntBuffer> laterBuckets = new HashMap<>();
+                IntBuffer relaxedNodes = new IntBuffer();
+                for (int i = from; i < to; i++) {
+                    int node = nodes[i];
+                    long bits = dist.get(node);
+                    double distance = Double.longBitsToDouble(bits);
+                    if (light) {
+                        // Entrée périmée (distance baissée depuis) ou déjà traitée
+                        if (bucketOf(distance) != bucket || !claim(node, bits)) {
+                            continue;
+                        }
+                        relaxedNodes.add(node);
+                    }
+                    for (int arc = csr.firstArc(node), end = csr.endArc(node); arc < end; arc++) {
+                        double weight = csr.arcWeight(arc);
+                        if ((weight <= delta) != light) {
+                            continue;
+                        }
+                        int neighbor = csr.arcTarget(arc);
+                        double newDistance = distance + weight;
+                        if (newDistance <= maxDistance && relax(neighbor, newDistance)) {
+                            long target = bucketOf(newDistance);
+                            if (target == bucket) {
+                                sameBucket.add(neighbor);
+                            } else if (target == bucket + 1) {
+                                nextBucket.add(neighbor);
+                            } else {
+                                laterBuckets.computeIfAbsent(target, key -> new IntBuffer()).add(neighbor);
+                            }
+                        }
+                    }
+                }
+                publish(bucket, sameBucket);
+                publish(bucket + 1, nextBucket);
+                for (Map.Entry<Long, IntBuffer> entry : laterBuckets.entrySet()) {
+                    publish(entry.getKey(), entry.getValue());
+                }
+                if (relaxedNodes.size() > 0) {
+                    removed.add(relaxedNodes.toArray());
+                }
+            }
+        }
+    }
+
+    private static int[] concat(Queue<int[]> chunks) {
+        int length = 0;
+        for (int[] chunk : chunks) {
+            length += chunk.length;
+        }
+        int[] result = new int[length];
+        int offset = 0;
+        for (int[] chunk : chunks) {
+            System.arraycopy(chunk, 0, result, offset, chunk.length);
+            offset += chunk.length;
+        }
+        return result;
+    }
+
+    /**
+     * Liste d'entiers extensible, propre à une tâche
+     */
+    private static final class IntBuffer {
+        private int[] values = new int[16];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.modelisation.model.graph.algorithms;
 
+import com.modelisation.model.graph.CsrGraph;
 import com.modelisation.model.graph.Graph;
 import com.modelisation.model.graph.Node;
 
@@ -8,67 +9,77 @@ import java.util.*;
 /**
  * Implémentation de l'algorithme de Dijkstra pour le plus court chemin
  * Strategy Pattern - Stratégie concrète pour l'algorithme de Dijkstra
+ * Le calcul est effectué sur l'instantané CSR du graphe (tableaux primitifs)
  */
 public class DijkstraAlgorithm implements ShortestPathStrategy {
     
     @Override
     public List<Node> findShortestPath(Graph graph, Node source, Node target) {
-        ShortestPathResult result = findShortestPaths(graph, source);
+        ShortestPathResult result = computeShortestPath(graph, source, target);
         return result.getPathTo(target);
     }
     
     @Override
     public ShortestPathResult findShortestPaths(Graph graph, Node source) {
+        return findShortestPaths(graph, source, null, Double.POSITIVE_INFINITY);
+    }
+    
+    @Override
+    public ShortestPathResult findShortestPaths(Graph graph, Node source, Node target, double maxDistance) {
+        return findShortestPaths(graph, source, target, maxDistance, SearchTraceListener.NONE);
+    }
+    
+    @Override
+    public ShortestPathResult findShortestPaths(Graph graph, Node source, Node target, double maxDistance,
+                                                SearchTraceListener listener) {
         // Vérifier les préconditions
         if (source == null) {
             return new ShortestPathResult(null, false, "Nœud source null");
         }
         
-        if (!graph.getNodes().contains(source)) {
+        CsrGraph csr = graph.toCsr();
+        int sourceIndex = csr.indexOf(source);
+        if (sourceIndex < 0) {
             return new ShortestPathResult(source, false, "Nœud source non trouvé dans le graphe");
         }
-        
-        // Réinitialiser les propriétés d'algorithme
-        graph.resetAlgorithmProperties();
-        
-        // Initialiser les distances
-        source.setDistance(0.0);
-        
-        // File de priorité pour les nœuds à traiter
-        PriorityQueue<Node> priorityQueue = new PriorityQueue<>(
-            Comparator.comparingDouble(Node::getDistance)
-        );
-        
-        // Ajouter tous les nœuds à la file de priorité
-        for (Node node : graph.getNodes()) {
-            priorityQueue.offer(node);
-        }
-        
-        // Ensemble des nœuds visités
-        Set<Node> visited = new HashSet<>();
+        int targetIndex = target != null ? csr.indexOf(target) : -1;
+        SearchTraceListener trace = listener != null ? listener : SearchTraceListener.NONE;
+        
+        // Initialiser les distances (état propre à cette requête)
+        int n = csr.getNodeCount();
+        double[] dist = new double[n];
+        int[] prev = new int[n];
+        boolean[] visited = new boolean[n];
+        int visitedCount = 0;
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        Arrays.fill(prev, CsrPaths.NO_PREVIOUS);
+        dist[sourceIndex] = 0.0;
+        
+        // File de priorité indexée pour les nœuds à traiter (diminution de clé en O(log n))
+        IndexedMinHeap priorityQueue = new IndexedMinHeap(n);
+        priorityQueue.insert(sourceIndex, 0.0);
         
         while (!priorityQueue.isEmpty()) {
             // Extraire le nœud avec la plus petite distance
-            Node current = priorityQueue.poll();
+            int current = priorityQueue.poll();
+            
+            // Marquer comme visité
+            visited[current] = true;
+            visitedCount++;
+            trace.nodeSettled(csr, current, dist[current]);
             
-            // Si la distance est infinie, tous les nœuds restants sont inaccessibles
-            if (current.getDistance() == Double.POSITIVE_INFINITY) {
+            // Si on a atteint la cible, sa distance est définitive
+            if (current == targetIndex) {
                 break;
             }
             
-            // Marquer comme visité
-            visited.add(current);
-            current.setVisited(true);
-            
             // Examiner tous les voisins
-            Map<Node, Double> neighbors = graph.getNeighbors(current);
-            
-            for (Map.Entry<Node, Double> entry : neighbors.entrySet()) {
-                Node neighbor = entry.getKey();
-                double edgeWeight = entry.getValue();
+            for (int arc = csr.firstArc(current), end = csr.endArc(current); arc < end; arc++) {
+                int neighbor = csr.arcTarget(arc);
+                double edgeWeight = csr.arcWeight(arc);
                 
                 // Ignorer les nœuds déjà visités
-                if (visited.contains(neighbor)) {
+                if (visited[neighbor]) {
                     continue;
                 }
                 
@@ -79,22 +90,23 @@ public class DijkstraAlgorithm implements ShortestPathStrategy {
                 }
                 
                 // Calculer la nouvelle distance
-                double newDistance = current.getDistance() + edgeWeight;
+                double newDistance = dist[current] + edgeWeight;
                 
-                // Si on a trouvé un chemin plus court
-                if (newDistance < neighbor.getDistance()) {
-                    // Retirer et remettre dans la file de priorité pour mettre à jour l'ordre
-                    priorityQueue.remove(neighbor);
+                // Si on a trouvé un chemin plus court, dans la borne de distance
+                if (newDistance < dist[neighbor] && newDistance <= maxDistance) {
+                    dist[neighbor] = newDistance;
+                    prev[neighbor] = current;
+                    trace.edgeRelaxed(csr, current, neighbor, newDistance);
                     
-                    neighbor.setDistance(newDistance);
-                    neighbor.setPrevious(current);
-                    
-                    priorityQueue.offer(neighbor);
+                    // Insérer ou remonter le nœud dans la file de priorité
+                    priorityQueue.insertOrDecrease(neighbor, newDistance);
                 }
             }
         }
         
-        return new ShortestPathResult(source);
+        // Les nœuds non visités n'ont qu'une distance provisoire
+        CsrPaths.keepSettled(dist, prev, visited);
+        return new ShortestPathResult(source, csr, dist, prev, visitedCount);
     }
     
     @Override
@@ -112,83 +124,11 @@ public class DijkstraAlgorithm implements ShortestPathStrategy {
      * Plus efficace quand on cherche seulement un chemin vers un nœud spécifique
      */
     public List<Node> findShortestPathOptimized(Graph graph, Node source, Node target) {
-        if (source == null || target == null) {
+        if (source == null || target == null || graph.getNode(target.getId()) == null) {
             return null;
         }
         
-        if (!graph.getNodes().contains(source) || !graph.getNodes().contains(target)) {
-            return null;
-        }
-        
-        // Si source et target sont identiques
-        if (source.equals(target)) {
-            return Arrays.asList(source);
-        }
-        
-        // Réinitialiser les propriétés d'algorithme
-        graph.resetAlgorithmProperties();
-        
-        // Initialiser les distances
-        source.setDistance(0.0);
-        
-        // File de priorité pour les nœuds à traiter
-        PriorityQueue<Node> priorityQueue = new PriorityQueue<>(
-            Comparator.comparingDouble(Node::getDistance)
-        );
-        
-        priorityQueue.offer(source);
-        Set<Node> visited = new HashSet<>();
-        
-        while (!priorityQueue.isEmpty()) {
-            Node current = priorityQueue.poll();
-            
-            // Si on a atteint la cible, on peut s'arrêter
-            if (current.equals(target)) {
-                break;
-            }
-            
-            // Si déjà visité, ignorer
-            if (visited.contains(current)) {
-                continue;
-            }
-            
-            visited.add(current);
-            current.setVisited(true);
-            
-            // Examiner tous les voisins
-            Map<Node, Double> neighbors = graph.getNeighbors(current);
-            
-            for (Map.Entry<Node, Double> entry : neighbors.entrySet()) {
-                Node neighbor = entry.getKey();
-                double edgeWeight = entry.getValue();
-                
-                if (visited.contains(neighbor) || edgeWeight < 0) {
-                    continue;
-                }
-                
-                double newDistance = current.getDistance() + edgeWeight;
-                
-                if (newDistance < neighbor.getDistance()) {
-                    neighbor.setDistance(newDistance);
-                    neighbor.setPrevious(current);
-                    priorityQueue.offer(neighbor);
-                }
-            }
-        }
-        
-        // Reconstruire le chemin
-        if (target.getDistance() == Double.POSITIVE_INFINITY) {
-            return null; // Aucun chemin trouvé
-        }
-        
-        List<Node> path = new ArrayList<>();
-        Node current = target;
-        
-        while (current != null) {
-            path.add(0, current);
-            current = current.getPrevious();
-        }
-        
-        return path;
+        ShortestPathResult result = findShortestPaths(graph, source, target, Double.POSITIVE_INFINITY);
+        return result.isSuccessful() ? result.getPathTo(target) : null;
     }
 }
@@ -0,0 +1,178 @@
+package com.modelisation.model.graph.algorithms;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * File de priorité min indexée (tas 4-aire) sur des éléments entiers 0..capacity-1
+ * Chaque élément est présent au plus une fois ; sa position dans le tas est connue,
+ * ce qui permet une vraie diminution de clé en O(log n) au lieu d'un retrait en O(n)
+ * (PriorityQueue.remove) ou de doublons dans la file.
+ * Aucune allocation après la construction.
+ */
+public final class IndexedMinHeap {
+
+    private static final int ARITY = 4;
+
+    private final int[] heap;       // position -> élément
+    private final int[] positions;  // élément -> position, -1 si absent
+    private final double[] keys;    // élément -> clé
+    private int size;
+
+    /**
+     * @param capacity Nombre d'éléments possibles (éléments 0 à capacity-1)
+     */
+    public IndexedMinHeap(int capacity) {
+        heap = new int[capacity];
+        positions = new int[capacity];
+        keys = new double[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int element) {
+        return positions[element] >= 0;
+    }
+
+    /**
+     * @return La clé courante d'un élément présent dans le tas
+     */
+    public double keyOf(int element) {
+        return keys[element];
+    }
+
+    /**
+     * Ajoute un élément absent du tas
+     */
+    public void insert(int element, double key) {
+        if (positions[element] >= 0) {
+            throw new IllegalArgumentException("Élément déjà présent: " + element);
+        }
+        keys[element] = key;
+        positions[element] = size;
+        heap[size] = element;
+        siftUp(size++);
+    }
+
+    /**
+     * Diminue la clé d'un élément présent dans le tas
+     */
+    public void decreaseKey(int element, double key) {
+        if (positions[element] < 0 || key > keys[element]) {
+            throw new IllegalArgumentException("Diminution de clé invalide pour l'élément " + element);
+        }
+        keys[element] = key;
+        siftUp(positions[element]);
+    }
+
+    /**
+     * Ajoute l'élément, ou diminue sa clé s'il est déjà présent avec une clé plus grande
+     * @return true si le tas a été modifié
+     */
+    public boolean insertOrDecrease(int element, double key) {
+        if (positions[element] < 0) {
+            insert(element, key);
+            return true;
+        }
+        if (key < keys[element]) {
+            keys[element] = key;
+            siftUp(positions[element]);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return L'élément de plus petite clé, sans le retirer
+     */
+    public int peek() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return heap[0];
+    }
+
+    /**
+     * Retire et retourne l'élément de plus petite clé
+     */
+    public int poll() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        int min = heap[0];
+        positions[min] = -1;
+        size--;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            positions[last] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    /**
+     * Vide le tas (en O(taille) : seuls les éléments présents sont réinitialisés)
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int position) {
+        int element = heap[position];
+        double key = keys[element];
+        while (position > 0) {
+            int parentPosition = (position - 1) / ARITY;
+            int parent = heap[parentPosition];
+            if (keys[parent] <= key) {
+                break;
+            }
+            heap[position] = parent;
+            positions[parent] = position;
+            position = parentPosition;
+        }
+        heap[position] = element;
+        positions[element] = position;
+    }
+
+    private void siftDown(int position) {
+        int element = heap[position];
+        double key = keys[element];
+        while (true) {
+            int firstChild = position * ARITY + 1;
+            if (firstChild >= size) {
+                break;
+            }
+            // Plus petit des (au plus) ARITY enfants
+            int lastChild = Math.min(firstChild + ARITY, size);
+            int bestPosition = firstChild;
+            double bestKey = keys[heap[firstChild]];
+            for (int child = firstChild + 1; child < lastChild; child++) {
+                double childKey = keys[heap[child]];
+                if (childKey < bestKey) {
+                    bestKey = childKey;
+                    bestPosition = child;
+                }
+            }
+            if (key <= bestKey) {
+                break;
+            }
+            int best = heap[bestPosition];
+            heap[position] = best;
+            positions[best] = position;
+            position = bestPosition;
+        }
+        heap[position] = element;
+        positions[element] = position;
+    }
+}
@@ -0,0 +1,33 @@
+package com.modelisation.model.graph.algorithms;
+
+import com.modelisation.model.graph.CsrGraph;
+import com.modelisation.model.logging.LoggingStrategy;
+
+/**
+ * Trace d'une recherche envoyée au logger au niveau DEBUG
+ * À n'installer qu'à la demande : chaque événement construit un message.
+ */
+public class LoggingTraceListener implements SearchTraceListener {
+
+    private final LoggingStrategy logger;
+
+    public LoggingTraceListener(LoggingStrategy logger) {
+        this.logger = logger;
+    }
+
+    @Override
+    public void nodeSettled(CsrGraph graph, int node, double distance) {
+        if (logger != null) {
+            logger.log(LoggingStrategy.LogLevel.DEBUG,
+                       "Trace: " + graph.getNode(node).getLabel() + " fixé à la distance " + distance);
+        }
+    }
+
+    @Override
+    public void edgeRelaxed(CsrGraph graph, int from, int to, double distance) {
+        if (logger != null) {
+            logger.log(LoggingStrategy.LogLevel.DEBUG, "Trace: distance de " + graph.getNode(to).getLabel()
+                       + " ramenée à " + distance + " via " + graph.getNode(from).getLabel());
+        }
+    }
+}
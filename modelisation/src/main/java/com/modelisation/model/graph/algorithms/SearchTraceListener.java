@@ -0,0 +1,34 @@
+package com.modelisation.model.graph.algorithms;
+
+import com.modelisation.model.graph.CsrGraph;
+
+/**
+ * Écouteur des étapes internes d'une recherche de plus court chemin (débogage, visualisation)
+ * Les événements portent les indices CSR des nœuds : aucune chaîne ni objet n'est construit
+ * par l'algorithme. Avec l'implémentation par défaut NONE, dont les méthodes sont vides,
+ * les appels sont éliminés par le compilateur JIT et le traçage ne coûte rien.
+ */
+public interface SearchTraceListener {
+
+    /** Écouteur sans effet, utilisé par défaut */
+    SearchTraceListener NONE = new SearchTraceListener() {};
+
+    /**
+     * Un nœud est fixé : sa distance est définitive
+     * @param graph Instantané parcouru
+     * @param node Indice du nœud
+     * @param distance Distance depuis l'origine de la recherche
+     */
+    default void nodeSettled(CsrGraph graph, int node, double distance) {
+    }
+
+    /**
+     * La distance d'un nœud est améliorée en passant par un arc
+     * @param graph Instantané parcouru
+     * @param from Indice du nœud d'où part l'arc
+     * @param to Indice du nœud dont la distance diminue
+     * @param distance Nouvelle distance de to
+     */
+    default void edgeRelaxed(CsrGraph graph, int from, int to, double distance) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.modelisation.model.graph.algorithms;
 
+import com.modelisation.model.graph.CsrGraph;
 import com.modelisation.model.graph.Graph;
 import com.modelisation.model.graph.Node;
 
@@ -8,6 +9,9 @@ import java.util.List;
 /**
  * Interface Strategy pour les algorithmes de plus court chemin
  * Permet de changer dynamiquement l'algorithme utilisé
+ * Les implémentations sont sans état et ne modifient pas les nœuds :
+ * une même instance peut servir plusieurs requêtes en parallèle sur un graphe partagé
+ * (non modifié pendant ce temps).
  */
 public interface ShortestPathStrategy {
     
@@ -28,6 +32,47 @@ public interface ShortestPathStrategy {
      */
     ShortestPathResult findShortestPaths(Graph graph, Node source);
     
+    /**
+     * Calcule les plus courts chemins depuis une source, en s'arrêtant au plus tôt
+     * La recherche s'arrête dès que la cible est fixée, et n'explore pas au-delà de maxDistance.
+     * Seules les distances des nœuds fixés sont garanties ; les nœuds non atteints
+     * (ou plus éloignés que maxDistance) sont inaccessibles dans le résultat.
+     * Par défaut, calcule l'arbre complet puis applique la borne ; les stratégies capables
+     * de s'arrêter plus tôt redéfinissent cette méthode.
+     * @param graph Le graphe
+     * @param source Nœud source
+     * @param target Nœud cible, ou null pour tous les nœuds dans la borne
+     * @param maxDistance Distance maximale explorée (Double.POSITIVE_INFINITY pour aucune borne)
+     * @return Résultat dont getPathTo(target) et getDistanceTo(target) sont exacts
+     */
+    default ShortestPathResult findShortestPaths(Graph graph, Node source, Node target, double maxDistance) {
+        ShortestPathResult result = findShortestPaths(graph, source);
+        return maxDistance == Double.POSITIVE_INFINITY ? result : result.withinDistance(maxDistance);
+    }
+    
+    /**
+     * Calcule le plus court chemin entre deux nœuds et retourne le résultat détaillé
+     * (distance, chemin, nombre de nœuds fixés), en s'arrêtant dès que la cible est atteinte
+     * @param graph Le graphe
+     * @param source Nœud source
+     * @param target Nœud cible
+     * @return Résultat dont getPathTo(target) et getDistanceTo(target) sont exacts
+     */
+    default ShortestPathResult computeShortestPath(Graph graph, Node source, Node target) {
+        return findShortestPaths(graph, source, target, Double.POSITIVE_INFINITY);
+    }
+    
+    /**
+     * Variante tracée de findShortestPaths : l'écouteur reçoit les étapes de cette seule recherche
+     * (nœuds fixés, arcs relâchés). Les autres variantes utilisent SearchTraceListener.NONE,
+     * dont le traçage ne coûte rien. Les stratégies qui ne tracent pas leurs étapes ignorent l'écouteur.
+     * @param listener L'écouteur de cette requête, ou null pour aucun traçage
+     */
+    default ShortestPathResult findShortestPaths(Graph graph, Node source, Node target, double maxDistance,
+                                                 SearchTraceListener listener) {
+        return findShortestPaths(graph, source, target, maxDistance);
+    }
+    
     /**
      * Obtient le nom de l'algorithme
      * @return Nom de l'algorithme
@@ -42,20 +87,60 @@ public interface ShortestPathStrategy {
     
     /**
      * Classe pour encapsuler les résultats d'un algorithme de plus court chemin
+     * Les distances et prédécesseurs sont stockés dans des tableaux indexés par numéro de nœud
+     * de l'instantané CSR : le résultat reste valable après d'autres requêtes sur le même graphe.
      */
     class ShortestPathResult {
         private final Node source;
         private final boolean successful;
         private final String errorMessage;
+        private final CsrGraph graph;
+        private final double[] distances;
+        private final int[] previous;
+        private final int settledCount;
         
         public ShortestPathResult(Node source, boolean successful, String errorMessage) {
             this.source = source;
             this.successful = successful;
             this.errorMessage = errorMessage;
+            this.graph = null;
+            this.distances = null;
+            this.previous = null;
+            this.settledCount = 0;
         }
         
-        public ShortestPathResult(Node source) {
-            this(source, true, null);
+        /**
+         * Résultat d'un calcul réussi
+         * @param source Nœud source
+         * @param graph Instantané sur lequel le calcul a été fait
+         * @param distances Distance de la source à chaque nœud (POSITIVE_INFINITY si inaccessible)
+         * @param previous Prédécesseur de chaque nœud sur son plus court chemin (-1 pour aucun)
+         */
+        public ShortestPathResult(Node source, CsrGraph graph, double[] distances, int[] previous) {
+            this(source, graph, distances, previous, countReached(distances));
+        }
+        
+        /**
+         * Résultat d'un calcul réussi, avec le nombre de nœuds fixés (extraits de la file) par la recherche
+         */
+        public ShortestPathResult(Node source, CsrGraph graph, double[] distances, int[] previous, int settledCount) {
+            this.source = source;
+            this.successful = true;
+            this.errorMessage = null;
+            this.graph = graph;
+            this.distances = distances;
+            this.previous = previous;
+            this.settledCount = settledCount;
+        }
+        
+        private static int countReached(double[] distances) {
+            int count = 0;
+            for (double distance : distances) {
+                if (distance != Double.POSITIVE_INFINITY) {
+                    count++;
+                }
+            }
+            return count;
         }
         
         /**
@@ -64,19 +149,11 @@ public interface ShortestPathStrategy {
          * @return Liste des nœuds formant le chemin, ou null si aucun chemin n'existe
          */
         public List<Node> getPathTo(Node target) {
-            if (!successful || target.getDistance() == Double.POSITIVE_INFINITY) {
+            int index = indexOf(target);
+            if (index < 0 || distances[index] == Double.POSITIVE_INFINITY) {
                 return null;
             }
-            
-            List<Node> path = new java.util.ArrayList<>();
-            Node current = target;
-            
-            while (current != null) {
-                path.add(0, current);
-                current = current.getPrevious();
-            }
-            
-            return path.isEmpty() ? null : path;
+            return CsrPaths.buildPath(graph, previous, index);
         }
         
         /**
@@ -85,7 +162,8 @@ public interface ShortestPathStrategy {
          * @return Distance vers le nœud cible, ou Double.POSITIVE_INFINITY si inaccessible
          */
         public double getDistanceTo(Node target) {
-            return target.getDistance();
+            int index = indexOf(target);
+            return index >= 0 ? distances[index] : Double.POSITIVE_INFINITY;
         }
         
         /**
@@ -94,12 +172,40 @@ public interface ShortestPathStrategy {
          * @return true si le nœud est accessible
          */
         public boolean isReachable(Node target) {
-            return target.getDistance() != Double.POSITIVE_INFINITY;
+            return getDistanceTo(target) != Double.POSITIVE_INFINITY;
+        }
+        
+        /**
+         * Restreint le résultat aux nœuds situés à au plus maxDistance de la source
+         * @return Un nouveau résultat ; les nœuds plus éloignés y sont inaccessibles
+         */
+        public ShortestPathResult withinDistance(double maxDistance) {
+            if (!successful || graph == null) {
+                return this;
+            }
+            double[] boundedDistances = distances.clone();
+            int[] boundedPrevious = previous.clone();
+            for (int v = 0; v < boundedDistances.length; v++) {
+                if (boundedDistances[v] > maxDistance) {
+                    boundedDistances[v] = Double.POSITIVE_INFINITY;
+                    boundedPrevious[v] = CsrPaths.NO_PREVIOUS;
+                }
+            }
+            return new ShortestPathResult(source, graph, boundedDistances, boundedPrevious, settledCount);
+        }
+        
+        private int indexOf(Node target) {
+            return successful && graph != null ? graph.indexOf(target) : -1;
         }
         
         // Getters
         public Node getSource() { return source; }
         public boolean isSuccessful() { return successful; }
         public String getErrorMessage() { return errorMessage; }
+        
+        /**
+         * @return Nombre de nœuds fixés par la recherche (mesure du travail effectué)
+         */
+        public int getSettledCount() { return settledCount; }
     }
 }
@@ -1,5 +1,7 @@
 package com.modelisation.model.shapes;
 
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 
@@ -25,9 +27,16 @@ public class Circle extends Shape implements AbstractCircle {
 
     @Override
     public boolean contains(double pointX, double pointY) {
-        // Vérifier si le point est dans le cercle en calculant la distance au centre
-        double distance = Math.sqrt(Math.pow(pointX - x, 2) + Math.pow(pointY - y, 2));
-        return distance <= radius;
+        // Vérifier si le point est dans le cercle en comparant les distances au carré
+        double dx = pointX - x;
+        double dy = pointY - y;
+        return dx * dx + dy * dy <= radius * radius;
+    }
+
+    @Override
+    protected Bounds computeBounds() {
+        double extent = radius + strokeWidth / 2;
+        return new BoundingBox(x - extent, y - extent, 2 * extent, 2 * extent);
     }
 
     @Override
@@ -42,7 +51,7 @@ public class Circle extends Shape implements AbstractCircle {
 
     // Getters et Setters
     public double getRadius() { return radius; }
-    public void setRadius(double radius) { this.radius = radius; }
+    public void setRadius(double radius) { this.radius = radius; invalidateBounds(); }
 
     @Override
     public String toString() {
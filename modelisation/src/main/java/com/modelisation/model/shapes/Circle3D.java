@@ -1,5 +1,7 @@
 package com.modelisation.model.shapes;
 
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 
@@ -36,6 +38,14 @@ public class Circle3D extends Shape implements AbstractCircle {
         return (dx * dx) / (radius * radius) + (dy * dy) / ((radius / 2) * (radius / 2)) <= 1;
     }
 
+    @Override
+    protected Bounds computeBounds() {
+        double halfStroke = getStrokeWidth() / 2;
+        double extentX = radius + halfStroke;
+        double extentY = radius / 2 + halfStroke;
+        return new BoundingBox(getX() - extentX, getY() - extentY, 2 * extentX, 2 * extentY);
+    }
+
     @Override
     public double getArea() {
         return Math.PI * radius * (radius / 2); // Area of the projected ellipse
@@ -56,5 +66,6 @@ public class Circle3D extends Shape implements AbstractCircle {
 
     public void setRadius(double radius) {
         this.radius = radius;
+        invalidateBounds();
     }
 }
@@ -1,5 +1,7 @@
 package com.modelisation.model.shapes;
 
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 
@@ -8,6 +10,8 @@ import javafx.scene.paint.Color;
  * Implémentation concrète de Shape
  */
 public class Line extends Shape {
+    private static final double HIT_TOLERANCE = 5.0; // Tolérance de sélection en pixels
+
     private double endX;
     private double endY;
 
@@ -27,7 +31,7 @@ public class Line extends Shape {
     @Override
     public boolean contains(double pointX, double pointY) {
         // Vérifier si le point est proche de la ligne (tolérance de 5 pixels)
-        double tolerance = 5.0;
+        double tolerance = HIT_TOLERANCE;
         
         // Calculer la distance du point à la ligne
         double A = endY - y;
@@ -47,6 +51,17 @@ public class Line extends Shape {
                pointY >= minY - tolerance && pointY <= maxY + tolerance;
     }
 
+    @Override
+    protected Bounds computeBounds() {
+        // Couvre à la fois le trait dessiné et la zone de tolérance de contains()
+        double margin = Math.max(HIT_TOLERANCE, strokeWidth / 2);
+        double minX = Math.min(x, endX) - margin;
+        double minY = Math.min(y, endY) - margin;
+        double maxX = Math.max(x, endX) + margin;
+        double maxY = Math.max(y, endY) + margin;
+        return new BoundingBox(minX, minY, maxX - minX, maxY - minY);
+    }
+
     @Override
     public double getArea() {
         return 0; // Une ligne n'a pas d'aire
@@ -67,10 +82,10 @@ public class Line extends Shape {
 
     // Getters et Setters
     public double getEndX() { return endX; }
-    public void setEndX(double endX) { this.endX = endX; }
+    public void setEndX(double endX) { this.endX = endX; invalidateBounds(); }
 
     public double getEndY() { return endY; }
-    public void setEndY(double endY) { this.endY = endY; }
+    public void setEndY(double endY) { this.endY = endY; invalidateBounds(); }
 
     @Override
     public String toString() {
@@ -1,5 +1,7 @@
 package com.modelisation.model.shapes;
 
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 
@@ -30,6 +32,12 @@ public class Rectangle extends Shape implements AbstractRectangle {
                pointY >= y && pointY <= y + height;
     }
 
+    @Override
+    protected Bounds computeBounds() {
+        double halfStroke = strokeWidth / 2;
+        return new BoundingBox(x - halfStroke, y - halfStroke, width + strokeWidth, height + strokeWidth);
+    }
+
     @Override
     public double getArea() {
         return width * height;
@@ -42,10 +50,10 @@ public class Rectangle extends Shape implements AbstractRectangle {
 
     // Getters et Setters
     public double getWidth() { return width; }
-    public void setWidth(double width) { this.width = width; }
+    public void setWidth(double width) { this.width = width; invalidateBounds(); }
 
     public double getHeight() { return height; }
-    public void setHeight(double height) { this.height = height; }
+    public void setHeight(double height) { this.height = height; invalidateBounds(); }
 
     @Override
     public String toString() {
@@ -1,5 +1,7 @@
 package com.modelisation.model.shapes;
 
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 
@@ -62,6 +64,17 @@ public class Rectangle3D extends Shape implements AbstractRectangle {
                pointY >= getY() && pointY <= getY() + height;
     }
 
+    @Override
+    protected Bounds computeBounds() {
+        // Face avant + décalage de profondeur vers le haut et la droite (voir draw)
+        double offsetX = width * depthFactor * 0.707;
+        double offsetY = height * depthFactor * 0.707;
+        // Les faces en perspective ont des angles aigus : la jointure "miter" dépasse du demi-trait
+        double margin = getStrokeWidth() * 1.5;
+        return new BoundingBox(getX() - margin, getY() - offsetY - margin,
+                               width + offsetX + 2 * margin, height + offsetY + 2 * margin);
+    }
+
     @Override
     public double getArea() {
         // Surface area of a cuboid: 2*(lw + lh + wh)
@@ -76,7 +89,7 @@ public class Rectangle3D extends Shape implements AbstractRectangle {
     }
 
     public double getWidth() { return width; }
-    public void setWidth(double width) { this.width = width; }
+    public void setWidth(double width) { this.width = width; invalidateBounds(); }
     public double getHeight() { return height; }
-    public void setHeight(double height) { this.height = height; }
+    public void setHeight(double height) { this.height = height; invalidateBounds(); }
 }
@@ -1,5 +1,6 @@
 package com.modelisation.model.shapes;
 
+import javafx.geometry.Bounds;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 
@@ -12,6 +13,7 @@ public abstract class Shape {
     protected Color color;
     protected double strokeWidth;
     protected String id;
+    private Bounds cachedBounds; // Boîte englobante calculée à la demande
 
     public Shape(double x, double y, Color color, double strokeWidth) {
         this.x = x;
@@ -47,6 +49,34 @@ public abstract class Shape {
      */
     public abstract double getPerimeter();
 
+    /**
+     * Méthode abstraite pour calculer la boîte englobante de la forme
+     * La boîte doit couvrir tout ce que draw() peint (épaisseur du trait comprise)
+     * ainsi que toute la zone où contains() retourne true
+     * @return la boîte englobante alignée sur les axes
+     */
+    protected abstract Bounds computeBounds();
+
+    /**
+     * Obtient la boîte englobante de la forme
+     * Le résultat est mis en cache jusqu'à la prochaine modification de la géométrie
+     * @return la boîte englobante alignée sur les axes
+     */
+    public Bounds getBounds() {
+        if (cachedBounds == null) {
+            cachedBounds = computeBounds();
+        }
+        return cachedBounds;
+    }
+
+    /**
+     * Invalide la boîte englobante en cache
+     * Doit être appelée par tout setter qui modifie la géométrie
+     */
+    protected void invalidateBounds() {
+        cachedBounds = null;
+    }
+
     /**
      * Génère un ID unique pour la forme
      * @return ID unique
@@ -57,16 +87,16 @@ public abstract class Shape {
 
     // Getters et Setters
     public double getX() { return x; }
-    public void setX(double x) { this.x = x; }
+    public void setX(double x) { this.x = x; invalidateBounds(); }
 
     public double getY() { return y; }
-    public void setY(double y) { this.y = y; }
+    public void setY(double y) { this.y = y; invalidateBounds(); }
 
     public Color getColor() { return color; }
     public void setColor(Color color) { this.color = color; }
 
     public double getStrokeWidth() { return strokeWidth; }
-    public void setStrokeWidth(double strokeWidth) { this.strokeWidth = strokeWidth; }
+    public void setStrokeWidth(double strokeWidth) { this.strokeWidth = strokeWidth; invalidateBounds(); }
 
     public String getId() { return id; }
 
@@ -1,28 +1,47 @@
 package com.modelisation.view;
 
 import com.modelisation.model.Drawing;
+import com.modelisation.model.DrawingEvent;
+import com.modelisation.model.DrawingListener;
 import com.modelisation.model.shapes.Shape;
 import com.modelisation.model.shapes.ShapeFactory;
 import com.modelisation.model.logging.LoggingStrategy;
 import com.modelisation.controller.DrawingController;
+import javafx.animation.AnimationTimer;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
 import javafx.scene.paint.Color;
 import com.modelisation.model.graph.Graph;
 import com.modelisation.model.graph.Node;
 import com.modelisation.model.graph.Edge;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Observable;
-import java.util.Observer;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Canvas personnalisé pour le dessin des formes géométriques
- * Implémente Observer pour réagir aux changements du modèle Drawing
+ * Implémente DrawingListener pour réagir aux changements du modèle Drawing
+ * 
+ * Le rendu est réparti sur deux calques :
+ * - ce canvas (calque statique) contient les formes validées et leurs labels,
+ *   repeint uniquement quand le dessin ou le viewport change ;
+ * - un calque de superposition transparent (voir getOverlay) contient les éléments
+ *   éphémères : prévisualisation de la forme en cours, nœuds sélectionnés et chemin
+ *   le plus court. Le glisser de la souris ne repeint que ce calque.
+ * 
+ * Les demandes de rendu (redraw, repaintRegion, redrawOverlay) ne dessinent pas immédiatement :
+ * elles marquent les calques à repeindre et un AnimationTimer effectue au plus un rendu
+ * par pulse JavaFX, quel que soit le nombre de modifications survenues entre deux images.
  */
-@SuppressWarnings("deprecation") // Observer est deprecated mais toujours fonctionnel
-public class DrawingCanvas extends Canvas implements Observer {
+public class DrawingCanvas extends Canvas implements DrawingListener {
     
     private Drawing drawing;
     private ShapeFactory.ShapeType currentShapeType;
@@ -38,10 +57,54 @@ public class DrawingCanvas extends Canvas implements Observer {
 
     private boolean isDrawing = false;
     private Shape previewShape;
+
+    // Calque de superposition (prévisualisation, sélection, chemin le plus court)
+    private final Canvas overlay;
+    private Graph overlayGraph;
+
+    // Ordonnanceur de rendu : les demandes sont regroupées et traitées une fois par pulse
+    private final AnimationTimer redrawTimer;
+    private boolean fullRedrawPending = false;
+    private Bounds pendingDirtyRegion;
+    private boolean overlayRedrawPending = false;
+    private long redrawRequestCount = 0;
+    private long redrawPerformedCount = 0;
+
+    // Viewport : coin supérieur gauche visible (coordonnées du dessin) et facteur de zoom
+    private static final double MIN_ZOOM = 0.05;
+    private static final double MAX_ZOOM = 20.0;
+    private static final double ZOOM_STEP = 1.1;
+    private double viewX = 0;
+    private double viewY = 0;
+    private double zoom = 1.0;
+    private boolean isPanning = false;
+    private double lastPanX, lastPanY;
+
+    // Labels des formes (A, B, 1, 2...) : ils dépendent de l'ordre de toutes les formes,
+    // on les calcule donc une fois par modification du dessin plutôt qu'à chaque image
+    private static final double LABEL_MARGIN = 20; // Décalage maximal d'un label par rapport à sa forme
+    private final Map<Shape, String> shapeLabels = new HashMap<>();
+    private boolean shapeLabelsValid = false;
+    private double maxLabelWidth = 0;
+    private int circleLabelCount, lineLabelCount, rectangleLabelCount;
+    private static final int OTHER_LABELS = 0, CIRCLE_LABELS = 1, LINE_LABELS = 2, RECTANGLE_LABELS = 3;
     
     public DrawingCanvas(double width, double height) {
         super(width, height);
         
+        // Le calque de superposition suit la taille du canvas et laisse passer la souris
+        this.overlay = new Canvas(width, height);
+        this.overlay.widthProperty().bind(widthProperty());
+        this.overlay.heightProperty().bind(heightProperty());
+        this.overlay.setMouseTransparent(true);
+        
+        this.redrawTimer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                renderPendingLayers();
+            }
+        };
+        
         // Valeurs par défaut
         this.currentShapeType = ShapeFactory.ShapeType.RECTANGLE;
         this.currentDimensionType = DimensionType.D2; // Default to 2D
@@ -50,7 +113,7 @@ public class DrawingCanvas extends Canvas implements Observer {
         
         // Initialiser le dessin
         this.drawing = new Drawing();
-        this.drawing.addObserver(this);
+        this.drawing.addListener(this);
         
         // Configurer les événements de souris
         setupMouseEvents();
@@ -68,19 +131,28 @@ public class DrawingCanvas extends Canvas implements Observer {
         setOnMouseDragged(this::handleMouseDragged);
         setOnMouseReleased(this::handleMouseReleased);
         setOnMouseClicked(this::handleMouseClicked);
+        setOnScroll(this::handleScroll);
     }
     
     /**
      * Gère l'événement de pression de la souris
      */
     private void handleMousePressed(MouseEvent event) {
+        // Bouton droit ou molette : déplacement de la vue
+        if (event.isSecondaryButtonDown() || event.isMiddleButtonDown()) {
+            isPanning = true;
+            lastPanX = event.getX();
+            lastPanY = event.getY();
+            return;
+        }
+
         // Ne pas commencer le dessin en mode PATH_SELECTION
         if ("PATH_SELECTION".equals(interactionMode)) {
             return;
         }
 
-        startX = event.getX();
-        startY = event.getY();
+        startX = screenToWorldX(event.getX());
+        startY = screenToWorldY(event.getY());
         isDrawing = true;
 
         if (logger != null) {
@@ -95,28 +167,40 @@ public class DrawingCanvas extends Canvas implements Observer {
      * Gère l'événement de glissement de la souris (preview du dessin)
      */
     private void handleMouseDragged(MouseEvent event) {
+        if (isPanning) {
+            pan(event.getX() - lastPanX, event.getY() - lastPanY);
+            lastPanX = event.getX();
+            lastPanY = event.getY();
+            return;
+        }
+
         // Ne pas dessiner en mode PATH_SELECTION
         if ("PATH_SELECTION".equals(interactionMode) || !isDrawing) return;
 
-        double currentX = event.getX();
-        double currentY = event.getY();
+        double currentX = screenToWorldX(event.getX());
+        double currentY = screenToWorldY(event.getY());
 
         // Créer une forme de prévisualisation
         createPreviewShape(startX, startY, currentX, currentY);
 
-        // Redessiner le canvas avec la prévisualisation
-        redraw();
+        // Seul le calque de superposition est repeint : les formes validées ne bougent pas
+        redrawOverlay();
     }
     
     /**
      * Gère l'événement de relâchement de la souris
      */
     private void handleMouseReleased(MouseEvent event) {
+        if (isPanning) {
+            isPanning = false;
+            return;
+        }
+
         // Ne pas créer de forme en mode PATH_SELECTION
         if ("PATH_SELECTION".equals(interactionMode) || !isDrawing) return;
         
-        double endX = event.getX();
-        double endY = event.getY();
+        double endX = screenToWorldX(event.getX());
+        double endY = screenToWorldY(event.getY());
 
         if (drawingController != null && (currentShapeType == ShapeFactory.ShapeType.CIRCLE || currentShapeType == ShapeFactory.ShapeType.RECTANGLE)) {
             double param1, param2 = 0;
@@ -150,15 +234,23 @@ public class DrawingCanvas extends Canvas implements Observer {
         }
         
         // Réinitialiser l'état de dessin
+        // (la nouvelle forme est dessinée sur le calque statique par la notification du modèle)
         isDrawing = false;
         previewShape = null;
-        redraw();
+        redrawOverlay();
     }
     
     /**
      * Gère l'événement de clic de souris (pour sélection)
      */
     private void handleMouseClicked(MouseEvent event) {
+        // Les clics du bouton droit / molette servent au déplacement de la vue
+        if (event.getButton() != javafx.scene.input.MouseButton.PRIMARY) {
+            return;
+        }
+        double worldX = screenToWorldX(event.getX());
+        double worldY = screenToWorldY(event.getY());
+
         if (logger != null) {
             logger.log(LoggingStrategy.LogLevel.DEBUG,
                        String.format("Clic de souris à (%.2f, %.2f) - Mode: %s, Click Count: %d", 
@@ -168,7 +260,7 @@ public class DrawingCanvas extends Canvas implements Observer {
         if ("PATH_SELECTION".equals(interactionMode)) {
             if (drawingController != null) {
                 // In path selection mode, any click (single or double) is for path selection
-                drawingController.handleCanvasClickForShortestPath(event.getX(), event.getY());
+                drawingController.handleCanvasClickForShortestPath(worldX, worldY);
             } else {
                 if (logger != null) {
                     logger.log(LoggingStrategy.LogLevel.ERROR, "DrawingController not set in DrawingCanvas for PATH_SELECTION mode.");
@@ -177,7 +269,7 @@ public class DrawingCanvas extends Canvas implements Observer {
         } else {
             // Normal interaction mode: existing double-click to delete logic
             if (event.getClickCount() == 2) { // Double-clic pour sélection/suppression
-                Shape selectedShape = drawing.findShapeAt(event.getX(), event.getY());
+                Shape selectedShape = drawing.findShapeAt(worldX, worldY);
                 if (selectedShape != null) {
                     drawing.removeShape(selectedShape);
                     
@@ -191,6 +283,16 @@ public class DrawingCanvas extends Canvas implements Observer {
         }
     }
     
+    /**
+     * Gère la molette : zoom centré sur la position du curseur
+     */
+    private void handleScroll(ScrollEvent event) {
+        if (event.getDeltaY() == 0) return;
+        double factor = event.getDeltaY() > 0 ? ZOOM_STEP : 1 / ZOOM_STEP;
+        zoomAt(factor, event.getX(), event.getY());
+        event.consume();
+    }
+    
     /**
      * Crée une forme de prévisualisation
      */
@@ -247,9 +349,66 @@ public class DrawingCanvas extends Canvas implements Observer {
     }
     
     /**
-     * Redessine tout le canvas
+     * Demande le rendu complet du calque statique (formes validées)
+     * Le rendu a lieu à la prochaine pulse ; plusieurs demandes dans la même image n'en font qu'une
      */
     public void redraw() {
+        redrawRequestCount++;
+        fullRedrawPending = true;
+        pendingDirtyRegion = null; // Couverte par le rendu complet
+        redrawTimer.start();
+    }
+    
+    /**
+     * Demande le rendu d'une zone du calque statique (zone modifiée)
+     * Les zones demandées avant la prochaine pulse sont fusionnées
+     * @param dirtyRegion Zone modifiée, en coordonnées du dessin
+     */
+    public void repaintRegion(Bounds dirtyRegion) {
+        redrawRequestCount++;
+        if (!fullRedrawPending) {
+            pendingDirtyRegion = pendingDirtyRegion == null ? dirtyRegion : DrawingEvent.union(pendingDirtyRegion, dirtyRegion);
+        }
+        redrawTimer.start();
+    }
+    
+    /**
+     * Demande le rendu du calque de superposition : graphe affiché (sélection, chemin) puis prévisualisation
+     * Le coût ne dépend pas du nombre de formes du dessin
+     */
+    public void redrawOverlay() {
+        redrawRequestCount++;
+        overlayRedrawPending = true;
+        redrawTimer.start();
+    }
+    
+    /**
+     * Effectue les rendus en attente (appelé par l'AnimationTimer à chaque pulse)
+     */
+    private void renderPendingLayers() {
+        if (!fullRedrawPending && pendingDirtyRegion == null && !overlayRedrawPending) {
+            redrawTimer.stop(); // Rien à faire : ne plus être réveillé à chaque image
+            return;
+        }
+        if (fullRedrawPending) {
+            paintStaticLayer();
+        } else if (pendingDirtyRegion != null) {
+            paintStaticRegion(pendingDirtyRegion);
+        }
+        if (overlayRedrawPending) {
+            paintOverlay();
+        }
+        fullRedrawPending = false;
+        pendingDirtyRegion = null;
+        overlayRedrawPending = false;
+        redrawPerformedCount++;
+    }
+    
+    /**
+     * Redessine le calque statique (formes validées)
+     * Seules les formes dont la boîte englobante intersecte le viewport sont dessinées
+     */
+    private void paintStaticLayer() {
         GraphicsContext gc = getGraphicsContext2D();
         
         // Effacer le canvas
@@ -259,43 +418,307 @@ public class DrawingCanvas extends Canvas implements Observer {
         gc.setFill(Color.WHITE);
         gc.fillRect(0, 0, getWidth(), getHeight());
         
-        // Dessiner toutes les formes du dessin avec leurs labels personnalisés
-        List<Shape> shapes = drawing.getShapes();
-        int circleCounter = 0;
-        int lineCounter = 1;
-        int rectangleCounter = 0;
-
-        for (Shape shape : shapes) {
+        ensureShapeLabels();
+        
+        gc.save();
+        applyViewTransform(gc);
+        drawShapesIn(gc, getViewportBounds());
+        gc.restore();
+    }
+    
+    /**
+     * Repeint uniquement une zone du calque statique
+     * Le canvas est découpé (clip) sur cette zone et seules les formes qui la touchent sont redessinées
+     */
+    private void paintStaticRegion(Bounds dirtyRegion) {
+        ensureShapeLabels();
+        
+        // Le label de la forme modifiée peut déborder de sa boîte englobante
+        Bounds region = inflate(dirtyRegion, maxLabelWidth + LABEL_MARGIN);
+        if (!region.intersects(getViewportBounds())) {
+            return; // Zone hors de l'écran
+        }
+        
+        // Rectangle écran arrondi au pixel près pour ne pas laisser de traces d'anticrénelage
+        double screenMinX = Math.max(0, Math.floor((region.getMinX() - viewX) * zoom) - 1);
+        double screenMinY = Math.max(0, Math.floor((region.getMinY() - viewY) * zoom) - 1);
+        double screenMaxX = Math.min(getWidth(), Math.ceil((region.getMaxX() - viewX) * zoom) + 1);
+        double screenMaxY = Math.min(getHeight(), Math.ceil((region.getMaxY() - viewY) * zoom) + 1);
+        double screenWidth = screenMaxX - screenMinX;
+        double screenHeight = screenMaxY - screenMinY;
+        
+        GraphicsContext gc = getGraphicsContext2D();
+        gc.save();
+        gc.beginPath();
+        gc.rect(screenMinX, screenMinY, screenWidth, screenHeight);
+        gc.clip();
+        
+        gc.setFill(Color.WHITE);
+        gc.fillRect(screenMinX, screenMinY, screenWidth, screenHeight);
+        
+        applyViewTransform(gc);
+        drawShapesIn(gc, new BoundingBox(screenToWorldX(screenMinX), screenToWorldY(screenMinY),
+                                         screenWidth / zoom, screenHeight / zoom));
+        gc.restore();
+    }
+    
+    /**
+     * Dessine, dans l'ordre d'empilement, les formes (et leurs labels) qui touchent une région
+     * Le contexte graphique doit déjà contenir la transformation du viewport
+     */
+    private void drawShapesIn(GraphicsContext gc, Bounds region) {
+        // Les labels peuvent déborder de la forme : élargir la zone de recherche en conséquence
+        Bounds searchRegion = inflate(region, maxLabelWidth + LABEL_MARGIN);
+        for (Shape shape : drawing.findShapesIn(searchRegion)) {
             shape.draw(gc);
 
-            // Générer le label personnalisé selon le type de forme
-            String customLabel;
-            if (shape instanceof com.modelisation.model.shapes.Circle) {
-                customLabel = String.valueOf((char)('A' + circleCounter));
-                circleCounter++;
-            } else if (shape instanceof com.modelisation.model.shapes.Line) {
-                customLabel = String.valueOf(lineCounter);
-                lineCounter++;
-            } else if (shape instanceof com.modelisation.model.shapes.Rectangle) {
-                customLabel = String.valueOf((char)('A' + rectangleCounter));
-                rectangleCounter++;
-            } else {
-                customLabel = shape.getId();
-            }
-
             // Afficher le label personnalisé de la forme
-            drawShapeLabel(gc, shape, customLabel);
+            drawShapeLabel(gc, shape, shapeLabels.get(shape));
         }
+    }
+    
+    /**
+     * Redessine le calque de superposition
+     */
+    private void paintOverlay() {
+        GraphicsContext gc = overlay.getGraphicsContext2D();
+        gc.clearRect(0, 0, overlay.getWidth(), overlay.getHeight());
         
+        gc.save();
+        applyViewTransform(gc);
+        if (overlayGraph != null) {
+            renderGraph(gc, overlayGraph);
+        }
         // Dessiner la forme de prévisualisation si elle existe
         if (previewShape != null) {
             previewShape.draw(gc);
         }
+        gc.restore();
+    }
+    
+    /**
+     * Obtient le nombre de rendus demandés depuis la création (ou le dernier resetRedrawCounters)
+     * @return Nombre d'appels à redraw, repaintRegion et redrawOverlay
+     */
+    public long getRedrawRequestCount() {
+        return redrawRequestCount;
+    }
+    
+    /**
+     * Obtient le nombre de rendus réellement effectués (au plus un par pulse)
+     * @return Nombre d'images rendues
+     */
+    public long getRedrawPerformedCount() {
+        return redrawPerformedCount;
+    }
+    
+    /**
+     * Remet à zéro les compteurs de rendu
+     */
+    public void resetRedrawCounters() {
+        redrawRequestCount = 0;
+        redrawPerformedCount = 0;
+    }
+    
+    /**
+     * Obtient le calque de superposition, à empiler au-dessus de ce canvas
+     * @return Le canvas transparent de superposition
+     */
+    public Canvas getOverlay() {
+        return overlay;
+    }
+    
+    /**
+     * Recalcule les labels personnalisés de toutes les formes si le dessin a changé
+     * Cercles et rectangles : A, B, C... ; lignes : 1, 2, 3... ; autres : identifiant
+     */
+    private void ensureShapeLabels() {
+        if (shapeLabelsValid) {
+            return;
+        }
+        shapeLabels.clear();
+        maxLabelWidth = 0;
+        circleLabelCount = 0;
+        lineLabelCount = 0;
+        rectangleLabelCount = 0;
+
+        drawing.forEachShape(this::assignNextLabel);
+        shapeLabelsValid = true;
+    }
+    
+    /**
+     * Attribue à une forme le label suivant pour son type
+     */
+    private void assignNextLabel(Shape shape) {
+        // Générer le label personnalisé selon le type de forme
+        String customLabel;
+        switch (labelSequence(shape)) {
+            case CIRCLE_LABELS:
+                customLabel = String.valueOf((char)('A' + circleLabelCount));
+                circleLabelCount++;
+                break;
+            case LINE_LABELS:
+                lineLabelCount++;
+                customLabel = String.valueOf(lineLabelCount);
+                break;
+            case RECTANGLE_LABELS:
+                customLabel = String.valueOf((char)('A' + rectangleLabelCount));
+                rectangleLabelCount++;
+                break;
+            default:
+                customLabel = shape.getId();
+        }
+        shapeLabels.put(shape, customLabel);
+        maxLabelWidth = Math.max(maxLabelWidth, estimateLabelWidth(customLabel));
+    }
+    
+    /**
+     * Obtient la séquence de labels (compteur) utilisée par une forme
+     */
+    private static int labelSequence(Shape shape) {
+        if (shape instanceof com.modelisation.model.shapes.Circle) {
+            return CIRCLE_LABELS;
+        } else if (shape instanceof com.modelisation.model.shapes.Line) {
+            return LINE_LABELS;
+        } else if (shape instanceof com.modelisation.model.shapes.Rectangle) {
+            return RECTANGLE_LABELS;
+        }
+        return OTHER_LABELS;
+    }
+    
+    /**
+     * Met à jour les labels après une modification d'une seule forme
+     * @return true si aucune autre forme n'a changé de label (un repaint partiel suffit)
+     */
+    private boolean updateShapeLabels(DrawingEvent event) {
+        if (!shapeLabelsValid) {
+            return false;
+        }
+        if (event instanceof DrawingEvent.ShapeMoved) {
+            return true;
+        }
+        if (event instanceof DrawingEvent.ShapeAdded) {
+            DrawingEvent.ShapeAdded added = (DrawingEvent.ShapeAdded) event;
+            if (added.getIndex() != drawing.getShapeCount() - 1) {
+                return false; // Insertion au milieu : les labels suivants sont décalés
+            }
+            // Forme ajoutée en fin de liste : elle prend le label suivant
+            assignNextLabel(added.getShape());
+            return true;
+        }
+        if (event instanceof DrawingEvent.ShapeRemoved) {
+            DrawingEvent.ShapeRemoved removed = (DrawingEvent.ShapeRemoved) event;
+            int sequence = labelSequence(removed.getShape());
+            if (sequence != OTHER_LABELS) {
+                // Les formes suivantes de la même séquence perdent un rang : leurs labels changent
+                List<Shape> shapes = drawing.getShapes();
+                for (int i = removed.getIndex(); i < shapes.size(); i++) {
+                    if (labelSequence(shapes.get(i)) == sequence) {
+                        return false;
+                    }
+                }
+            }
+            // C'était la dernière de sa séquence : seul son label disparaît
+            shapeLabels.remove(removed.getShape());
+            switch (sequence) {
+                case CIRCLE_LABELS: circleLabelCount--; break;
+                case LINE_LABELS: lineLabelCount--; break;
+                case RECTANGLE_LABELS: rectangleLabelCount--; break;
+                default: break;
+            }
+            return true;
+        }
+        return false;
+    }
+    
+    // --- Viewport (pan / zoom) ---
+    
+    /**
+     * Obtient la zone du dessin actuellement visible
+     * @return La région visible en coordonnées du dessin
+     */
+    public Bounds getViewportBounds() {
+        return new BoundingBox(viewX, viewY, getWidth() / zoom, getHeight() / zoom);
+    }
+    
+    /**
+     * Positionne le viewport
+     * @param x Coordonnée X du dessin affichée dans le coin supérieur gauche
+     * @param y Coordonnée Y du dessin affichée dans le coin supérieur gauche
+     * @param zoom Facteur de zoom (1.0 = taille réelle)
+     */
+    public void setViewport(double x, double y, double zoom) {
+        this.viewX = x;
+        this.viewY = y;
+        this.zoom = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom));
+        redraw();
+        redrawOverlay();
+    }
+    
+    /**
+     * Réinitialise le viewport (origine, zoom 1:1)
+     */
+    public void resetViewport() {
+        setViewport(0, 0, 1.0);
+    }
+    
+    /**
+     * Déplace la vue
+     * @param screenDx Déplacement horizontal en pixels écran
+     * @param screenDy Déplacement vertical en pixels écran
+     */
+    public void pan(double screenDx, double screenDy) {
+        setViewport(viewX - screenDx / zoom, viewY - screenDy / zoom, zoom);
+    }
+    
+    /**
+     * Zoome en gardant fixe le point du dessin situé sous la position écran donnée
+     * @param factor Facteur multiplicatif (> 1 pour zoomer)
+     * @param screenX Position X écran du point fixe
+     * @param screenY Position Y écran du point fixe
+     */
+    public void zoomAt(double factor, double screenX, double screenY) {
+        double worldX = screenToWorldX(screenX);
+        double worldY = screenToWorldY(screenY);
+        double newZoom = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom * factor));
+        setViewport(worldX - screenX / newZoom, worldY - screenY / newZoom, newZoom);
+    }
+    
+    public double getZoom() {
+        return zoom;
+    }
+    
+    public double screenToWorldX(double screenX) {
+        return viewX + screenX / zoom;
+    }
+    
+    public double screenToWorldY(double screenY) {
+        return viewY + screenY / zoom;
+    }
+    
+    private void applyViewTransform(GraphicsContext gc) {
+        gc.scale(zoom, zoom);
+        gc.translate(-viewX, -viewY);
+    }
+    
+    private static Bounds inflate(Bounds bounds, double margin) {
+        return new BoundingBox(bounds.getMinX() - margin, bounds.getMinY() - margin,
+                               bounds.getWidth() + 2 * margin, bounds.getHeight() + 2 * margin);
     }
     
     @Override
-    public void update(Observable o, Object arg) {
-        // Redessiner quand le modèle change
+    public void drawingChanged(DrawingEvent event) {
+        if (event instanceof DrawingEvent.PropertyChanged) {
+            return; // Rien de visible n'a changé
+        }
+        // Modification d'une seule forme : ne repeindre que la zone touchée
+        Bounds dirtyRegion = event.getDirtyRegion();
+        if (dirtyRegion != null && updateShapeLabels(event)) {
+            repaintRegion(dirtyRegion);
+            return;
+        }
+        // Redessiner tout quand le modèle change globalement
+        shapeLabelsValid = false;
         redraw();
     }
     
@@ -306,12 +729,15 @@ public class DrawingCanvas extends Canvas implements Observer {
     
     public void setDrawing(Drawing drawing) {
         if (this.drawing != null) {
-            this.drawing.deleteObserver(this);
+            this.drawing.removeListener(this);
         }
         
         this.drawing = drawing;
-        this.drawing.addObserver(this);
+        this.drawing.addListener(this);
+        shapeLabelsValid = false;
+        overlayGraph = null; // Le graphe affiché correspondait à l'ancien dessin
         redraw();
+        redrawOverlay();
     }
     
     public ShapeFactory.ShapeType getCurrentShapeType() {
@@ -398,19 +824,20 @@ public class DrawingCanvas extends Canvas implements Observer {
         double labelX, labelY;
         String labelText = customLabel;
 
+        Bounds bounds = shape.getBounds();
+
         if (shape instanceof com.modelisation.model.shapes.Circle) {
             // Pour les cercles, centrer le label
-            labelX = shape.getX() - 15;
-            labelY = shape.getY() + 5;
+            labelX = bounds.getCenterX() - 15;
+            labelY = bounds.getCenterY() + 5;
         } else if (shape instanceof com.modelisation.model.shapes.Rectangle) {
             // Pour les rectangles, placer le label en haut à gauche
             labelX = shape.getX() + 5;
             labelY = shape.getY() + 15;
         } else if (shape instanceof com.modelisation.model.shapes.Line) {
             // Pour les lignes, placer le label au milieu
-            com.modelisation.model.shapes.Line line = (com.modelisation.model.shapes.Line) shape;
-            labelX = (shape.getX() + line.getEndX()) / 2;
-            labelY = (shape.getY() + line.getEndY()) / 2 - 5;
+            labelX = bounds.getCenterX();
+            labelY = bounds.getCenterY() - 5;
         } else {
             // Position par défaut
             labelX = shape.getX();
@@ -420,7 +847,7 @@ public class DrawingCanvas extends Canvas implements Observer {
         // Dessiner un fond blanc semi-transparent pour le texte
         gc.setFill(Color.WHITE);
         gc.setGlobalAlpha(0.8);
-        double textWidth = labelText.length() * 6; // Estimation approximative
+        double textWidth = estimateLabelWidth(labelText);
         gc.fillRect(labelX - 2, labelY - 12, textWidth + 4, 14);
 
         // Dessiner le texte
@@ -434,15 +861,59 @@ public class DrawingCanvas extends Canvas implements Observer {
     }
 
     /**
-     * Dessine un graphe sur le canvas.
-     * Cette méthode superpose le graphe (uniquement les arêtes surlignées du chemin le plus court) 
-     * sur le dessin existant.
+     * Estime la largeur d'un label (6 pixels par caractère)
+     */
+    private static double estimateLabelWidth(String label) {
+        return label.length() * 6; // Estimation approximative
+    }
+
+    /**
+     * Dessine un graphe sur le calque de superposition.
+     * Le graphe (nœuds, sélection et chemin le plus court surligné) reste affiché au-dessus
+     * du dessin jusqu'à l'appel de clearGraph.
      * @param graphToDraw Le graphe à dessiner.
      */
     public void drawGraph(Graph graphToDraw) {
         if (logger != null) {
             logger.log(LoggingStrategy.LogLevel.DEBUG, "drawGraph called.");
+            logGraphSummary(graphToDraw);
+        }
+        overlayGraph = graphToDraw;
+        redrawOverlay();
+    }
+    
+    /**
+     * Journalise le graphe affiché et son chemin surligné, une fois par appel de drawGraph
+     * (le calque est ensuite redessiné à chaque déplacement ou zoom, sans journalisation)
+     */
+    private void logGraphSummary(Graph graphToDraw) {
+        if (graphToDraw == null) {
+            return;
+        }
+        List<Edge> edges = graphToDraw.getEdges();
+        int highlightedEdgeCount = 0;
+        for (Edge edge : edges) {
+            if (edge.isHighlighted()) {
+                highlightedEdgeCount++;
+                logger.log(LoggingStrategy.LogLevel.DEBUG, "DrawingCanvas.drawGraph: Found HIGHLIGHTED Edge from '" + (edge.getSource() != null ? edge.getSource().getLabel() : "null") + "' to '" + (edge.getTarget() != null ? edge.getTarget().getLabel() : "null") + "'");
+            }
         }
+        logger.log(LoggingStrategy.LogLevel.INFO, "DrawingCanvas.drawGraph: Processing graph with " + graphToDraw.getNodeCount() + " nodes and " + edges.size() + " edges, "
+                   + highlightedEdgeCount + " highlighted.");
+    }
+    
+    /**
+     * Retire le graphe affiché sur le calque de superposition
+     */
+    public void clearGraph() {
+        overlayGraph = null;
+        redrawOverlay();
+    }
+    
+    /**
+     * Dessine un graphe avec le contexte graphique donné (déjà transformé par le viewport)
+     */
+    private void renderGraph(GraphicsContext gc, Graph graphToDraw) {
 
         if (graphToDraw == null) {
             if (logger != null) {
@@ -451,32 +922,18 @@ public class DrawingCanvas extends Canvas implements Observer {
             return;
         }
         
-        if (graphToDraw.getEdges().isEmpty()) {
+        List<Edge> edges = graphToDraw.getEdges();
+        if (edges.isEmpty()) {
             if (logger != null) {
                 logger.log(LoggingStrategy.LogLevel.DEBUG, "DrawingCanvas.drawGraph: Graph has no edges, nothing to draw.");
             }
             return;
         }
 
-        GraphicsContext gc = getGraphicsContext2D();
-
-        if (logger != null) {
-            logger.log(LoggingStrategy.LogLevel.INFO, "DrawingCanvas.drawGraph: Processing graph with " + graphToDraw.getNodes().size() + " nodes and " + graphToDraw.getEdges().size() + " edges.");
-            int highlightedEdgeCount = 0;
-            for (Edge edge : graphToDraw.getEdges()) {
-                if (edge.isHighlighted()) {
-                    highlightedEdgeCount++;
-                    logger.log(LoggingStrategy.LogLevel.INFO, "DrawingCanvas.drawGraph: Found HIGHLIGHTED Edge from '" + (edge.getSource() != null ? edge.getSource().getLabel() : "null") + "' to '" + (edge.getTarget() != null ? edge.getTarget().getLabel() : "null") + "'");
-                } else {
-                    // Optional: log non-highlighted edges for debugging if needed
-                    // logger.log(LoggingStrategy.LogLevel.DEBUG, "DrawingCanvas.drawGraph: Non-highlighted Edge from '" + (edge.getSource() != null ? edge.getSource().getLabel() : "null") + "' to '" + (edge.getTarget() != null ? edge.getTarget().getLabel() : "null") + "'");
-                }
-            }
-            logger.log(LoggingStrategy.LogLevel.INFO, "DrawingCanvas.drawGraph: Total highlighted edges to draw: " + highlightedEdgeCount);
-        }
-
-        // Dessiner d'abord toutes les arêtes en gris clair
-        for (Edge edge : graphToDraw.getEdges()) {
+        // Dessiner d'abord toutes les arêtes en gris clair, en relevant celles du chemin
+        List<Edge> highlightedEdges = new ArrayList<>();
+        Set<Node> pathNodes = new HashSet<>();
+        for (Edge edge : edges) {
             Node source = edge.getSource();
             Node target = edge.getTarget();
 
@@ -487,7 +944,11 @@ public class DrawingCanvas extends Canvas implements Observer {
                 continue;
             }
 
-            if (!edge.isHighlighted()) {
+            if (edge.isHighlighted()) {
+                highlightedEdges.add(edge);
+                pathNodes.add(source);
+                pathNodes.add(target);
+            } else {
                 gc.setStroke(Color.LIGHTGRAY); // Arêtes normales en gris clair
                 gc.setLineWidth(1.0);
                 gc.strokeLine(source.getX(), source.getY(), target.getX(), target.getY());
@@ -495,32 +956,15 @@ public class DrawingCanvas extends Canvas implements Observer {
         }
 
         // Puis dessiner les arêtes du chemin le plus court en ROUGE avec effet de brillance
-        for (Edge edge : graphToDraw.getEdges()) {
-            if (edge.isHighlighted()) {
-                Node source = edge.getSource();
-                Node target = edge.getTarget();
-
-                if (source == null || target == null) {
-                    if (logger != null) {
-                        logger.log(LoggingStrategy.LogLevel.WARNING, "DrawingCanvas.drawGraph: Skipping highlighted edge with null source or target.");
-                    }
-                    continue;
-                }
-
-                // Dessiner le chemin avec effet de brillance (glow effect)
-                drawHighlightedPath(gc, source, target);
-
-                if (logger != null) {
-                    logger.log(LoggingStrategy.LogLevel.INFO, "DrawingCanvas.drawGraph: Drew highlighted path from '" + source.getLabel() + "' to '" + target.getLabel() + "'.");
-                }
-            }
+        for (Edge edge : highlightedEdges) {
+            drawHighlightedPath(gc, edge.getSource(), edge.getTarget());
         }
 
         // Dessiner les nœuds par-dessus les arêtes
         for (Node node : graphToDraw.getNodes()) {
             if (node != null) {
                 // Vérifier si le nœud fait partie du chemin mis en évidence
-                boolean isOnPath = isNodeOnHighlightedPath(node, graphToDraw);
+                boolean isOnPath = pathNodes.contains(node);
 
                 if (node.isSelected()) {
                     // Nœuds sélectionnés avec effet spécial
@@ -544,7 +988,7 @@ public class DrawingCanvas extends Canvas implements Observer {
                 gc.fillText(node.getLabel(), node.getX() - 13, node.getY() - 12);
             }
         }
-        
+
         if (logger != null) {
             logger.log(LoggingStrategy.LogLevel.DEBUG, "DrawingCanvas.drawGraph: Finished drawing graph elements.");
         }
@@ -635,23 +1079,6 @@ public class DrawingCanvas extends Canvas implements Observer {
         gc.strokeLine(midX, midY, arrowX2, arrowY2);
     }
 
-    /**
-     * Vérifie si un nœud fait partie du chemin mis en évidence
-     * @param node Le nœud à vérifier
-     * @param graph Le graphe contenant les arêtes
-     * @return true si le nœud est sur le chemin mis en évidence
-     */
-    private boolean isNodeOnHighlightedPath(Node node, Graph graph) {
-        for (Edge edge : graph.getEdges()) {
-            if (edge.isHighlighted()) {
-                if (edge.getSource().equals(node) || edge.getTarget().equals(node)) {
-                    return true;
-                }
-            }
-        }
-        return false;
-    }
-
     /**
      * Dessine un nœud sélectionné avec effet spécial
      * @param gc Le contexte graphique
@@ -5,9 +5,11 @@ import com.modelisation.model.Drawing;
 import com.modelisation.model.logging.*;
 import javafx.application.Platform;
 import javafx.geometry.Orientation;
+import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 
@@ -84,8 +86,10 @@ public class MainView {
         topContainer.getChildren().addAll(menuBar, toolBar);
         root.setTop(topContainer);
         
-        // Canvas au centre
-        ScrollPane scrollPane = new ScrollPane(drawingCanvas);
+        // Canvas au centre : calque statique surmonté du calque de superposition
+        StackPane canvasLayers = new StackPane(drawingCanvas, drawingCanvas.getOverlay());
+        canvasLayers.setAlignment(Pos.TOP_LEFT);
+        ScrollPane scrollPane = new ScrollPane(canvasLayers);
         scrollPane.setFitToWidth(true);
         scrollPane.setFitToHeight(true);
         root.setCenter(scrollPane);
@@ -132,9 +136,10 @@ public class MainView {
         MenuItem graphItem = new MenuItem("Outils de graphe");
         MenuItem shortestPathItem = new MenuItem("Plus court chemin");
         MenuItem algorithmSelectionItem = new MenuItem("Choisir algorithme...");
+        MenuItem graphModeItem = new MenuItem("Type de graphe...");
 
         toolsMenu.getItems().addAll(statisticsItem, graphItem, new SeparatorMenuItem(),
-                                   shortestPathItem, algorithmSelectionItem);
+                                   shortestPathItem, algorithmSelectionItem, graphModeItem);
         
         // Menu Aide
         Menu helpMenu = new Menu("Aide");
@@ -249,11 +254,13 @@ public class MainView {
         ((Button) toolBar.getItems().get(4)).setOnAction(e -> controller.clearDrawing());
 
         // Menu Outils - Assuming "Outils" is the 3rd menu (index 2)
-        if (menuBar.getMenus().size() > 2 && menuBar.getMenus().get(2).getItems().size() > 4) {
+        if (menuBar.getMenus().size() > 2 && menuBar.getMenus().get(2).getItems().size() > 5) {
             // "Plus court chemin" is now at index 3 (after separator)
             menuBar.getMenus().get(2).getItems().get(3).setOnAction(e -> controller.toggleShortestPathMode());
             // "Choisir algorithme..." is at index 4
             menuBar.getMenus().get(2).getItems().get(4).setOnAction(e -> controller.showAlgorithmSelectionDialog());
+            // "Type de graphe..." is at index 5
+            menuBar.getMenus().get(2).getItems().get(5).setOnAction(e -> controller.showGraphModeSelectionDialog());
         }
     }
     
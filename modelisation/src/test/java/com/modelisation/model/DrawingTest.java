@@ -2,11 +2,14 @@ package com.modelisation.model;
 
 import com.modelisation.model.shapes.*;
 import com.modelisation.model.logging.ConsoleLogger;
+import javafx.geometry.BoundingBox;
 import javafx.scene.paint.Color;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.List;
+
 /**
  * Tests unitaires pour la classe Drawing
  */
@@ -97,6 +100,175 @@ public class DrawingTest {
         assertNull(found);
     }
     
+    @Test
+    public void testFindShapeAtReturnsTopmostShape() {
+        Rectangle bottom = new Rectangle(0, 0, 100, 100, Color.RED, 1.0);
+        Circle middle = new Circle(50, 50, 20, Color.BLUE, 1.0);
+        Rectangle top = new Rectangle(40, 40, 20, 20, Color.GREEN, 1.0);
+        
+        drawing.addShape(bottom);
+        drawing.addShape(middle);
+        drawing.addShape(top);
+        
+        // La forme ajoutée en dernier est au-dessus
+        assertEquals(top, drawing.findShapeAt(50, 50));
+        assertEquals(middle, drawing.findShapeAt(50, 35));
+        assertEquals(bottom, drawing.findShapeAt(5, 5));
+        
+        // Après suppression, la forme du dessous redevient sélectionnable
+        drawing.removeShape(top);
+        assertEquals(middle, drawing.findShapeAt(50, 50));
+        
+        drawing.clear();
+        assertNull(drawing.findShapeAt(50, 50));
+    }
+    
+    @Test
+    public void testFindShapeAtWithCustomSpatialIndex() {
+        Line line = new Line(0, 0, 1000, 1000, Color.BLACK, 1.0);
+        Circle circle = new Circle(500, 500, 10, Color.BLUE, 1.0);
+        drawing.addShape(line);
+        drawing.addShape(circle);
+        
+        // Changer d'index réindexe les formes existantes
+        drawing.setSpatialIndex(new UniformGridIndex(8.0));
+        assertEquals(circle, drawing.findShapeAt(500, 500));
+        assertEquals(line, drawing.findShapeAt(100, 102));
+        assertNull(drawing.findShapeAt(100, 200));
+    }
+    
+    @Test
+    public void testFindShapesInRegion() {
+        Rectangle far = new Rectangle(5000, 5000, 10, 10, Color.BLACK, 1.0);
+        Circle second = new Circle(50, 50, 10, Color.BLACK, 1.0);
+        Rectangle first = new Rectangle(0, 0, 100, 100, Color.BLACK, 1.0);
+        Line third = new Line(90, 90, 300, 300, Color.BLACK, 1.0);
+        
+        drawing.addShape(far);
+        drawing.addShape(first);
+        drawing.addShape(second);
+        drawing.addShape(third);
+        
+        // Seules les formes visibles sont retournées, dans l'ordre d'empilement
+        List<Shape> visible = drawing.findShapesIn(new BoundingBox(0, 0, 200, 200));
+        assertEquals(List.of(first, second, third), visible);
+    }
+    
+    @Test
+    public void testListenersReceiveTypedEvents() {
+        Rectangle rect = new Rectangle(0, 0, 10, 10, Color.BLACK, 1.0);
+        Circle circle = new Circle(50, 50, 10, Color.BLACK, 1.0);
+        List<DrawingEvent> events = new java.util.ArrayList<>();
+        DrawingListener listener = events::add;
+        drawing.addListener(listener);
+        
+        drawing.addShape(rect);
+        drawing.addShape(circle);
+        drawing.removeShape(rect);
+        drawing.setName("Renommé");
+        drawing.clear();
+        
+        assertEquals(5, events.size());
+        assertEquals(1, assertInstanceOf(DrawingEvent.ShapeAdded.class, events.get(1)).getIndex());
+        DrawingEvent.ShapeRemoved removed = assertInstanceOf(DrawingEvent.ShapeRemoved.class, events.get(2));
+        assertSame(rect, removed.getShape());
+        assertEquals(0, removed.getIndex());
+        assertEquals("name", assertInstanceOf(DrawingEvent.PropertyChanged.class, events.get(3)).getPropertyName());
+        assertEquals(1, assertInstanceOf(DrawingEvent.Cleared.class, events.get(4)).getRemovedCount());
+        
+        // Un listener peut se retirer pendant la notification (liste copy-on-write)
+        drawing.addListener(new DrawingListener() {
+            @Override
+            public void drawingChanged(DrawingEvent event) {
+                drawing.removeListener(this);
+            }
+        });
+        drawing.removeListener(listener);
+        drawing.addShape(rect);
+        drawing.addShape(circle);
+        assertEquals(5, events.size());
+    }
+    
+    @Test
+    public void testUpdateShapeNotifiesDirtyRegion() {
+        Rectangle rect = new Rectangle(0, 0, 10, 10, Color.BLACK, 0.0);
+        drawing.addShape(rect);
+        
+        List<DrawingEvent> changes = new java.util.ArrayList<>();
+        drawing.addListener(changes::add);
+        
+        assertTrue(drawing.updateShape(rect, shape -> shape.setX(100)));
+        
+        // La zone modifiée couvre l'ancienne et la nouvelle position
+        assertEquals(1, changes.size());
+        DrawingEvent.ShapeMoved change = assertInstanceOf(DrawingEvent.ShapeMoved.class, changes.get(0));
+        assertSame(rect, change.getShape());
+        assertEquals(new BoundingBox(0, 0, 110, 10), change.getDirtyRegion());
+        
+        // L'index spatial suit la nouvelle position
+        assertNull(drawing.findShapeAt(5, 5));
+        assertSame(rect, drawing.findShapeAt(105, 5));
+    }
+    
+    @Test
+    public void testBatchOperationsNotifyOnce() {
+        Rectangle rect = new Rectangle(0, 0, 10, 10, Color.BLACK, 0.0);
+        Circle circle = new Circle(100, 100, 10, Color.BLACK, 0.0);
+        Line line = new Line(0, 0, 50, 50, Color.BLACK, 1.0);
+        
+        List<DrawingEvent> changes = new java.util.ArrayList<>();
+        drawing.addListener(changes::add);
+        
+        drawing.addAll(List.of(rect, circle, line));
+        assertEquals(3, drawing.getShapeCount());
+        assertEquals(1, changes.size());
+        DrawingEvent.Batch change = assertInstanceOf(DrawingEvent.Batch.class, changes.get(0));
+        assertEquals(3, change.getAddedCount());
+        assertEquals(new BoundingBox(-5, -5, 115, 115), change.getDirtyRegion()); // Tolérance de sélection de la ligne incluse
+        assertSame(circle, drawing.findShapeAt(100, 100));
+        
+        assertEquals(2, drawing.removeAll(List.of(rect, circle)));
+        assertEquals(List.of(line), drawing.getShapes());
+        assertNull(drawing.findShapeAt(100, 100));
+        assertEquals(2, changes.size());
+        
+        // Lots imbriqués : une seule notification à la fin du lot extérieur
+        drawing.batch(d -> {
+            d.addShape(rect);
+            d.batch(inner -> inner.removeShape(line));
+            d.updateShape(rect, s -> s.setX(20));
+        });
+        assertEquals(3, changes.size());
+        assertEquals(List.of(rect), drawing.getShapes());
+        
+        // Un lot sans modification ne notifie pas
+        drawing.batch(d -> { });
+        assertEquals(3, changes.size());
+    }
+    
+    @Test
+    public void testShapesSnapshot() {
+        Rectangle rect = new Rectangle(0, 0, 10, 10, Color.BLACK, 1.0);
+        Circle circle = new Circle(50, 50, 10, Color.BLACK, 1.0);
+        drawing.addShape(rect);
+        drawing.addShape(circle);
+        
+        // Pas de copie tant que le dessin ne change pas, et la vue est en lecture seule
+        List<Shape> shapes = drawing.getShapes();
+        assertSame(shapes, drawing.getShapes());
+        assertThrows(UnsupportedOperationException.class, () -> shapes.add(rect));
+        
+        // Le parcours reste valide si le dessin est modifié pendant
+        List<Shape> visited = new java.util.ArrayList<>();
+        drawing.forEachShape(shape -> {
+            visited.add(shape);
+            drawing.removeShape(shape);
+        });
+        assertEquals(List.of(rect, circle), visited);
+        assertEquals(0, drawing.getShapeCount());
+        assertEquals(2, shapes.size()); // L'ancien instantané n'est pas modifié
+    }
+    
     @Test
     public void testCalculations() {
         Rectangle rect = new Rectangle(0, 0, 10, 5, Color.BLACK, 1.0); // Aire: 50
@@ -1,13 +1,31 @@
 package com.modelisation.model.graph;
 
+import com.modelisation.model.Drawing;
+import com.modelisation.model.geometry.ConvexHull;
+import com.modelisation.model.geometry.DelaunayTriangulation;
+import com.modelisation.model.shapes.Circle;
+import com.modelisation.model.shapes.Circle3D;
+import com.modelisation.model.shapes.Line;
+import com.modelisation.model.shapes.Rectangle;
 import com.modelisation.model.graph.algorithms.DijkstraAlgorithm;
+import com.modelisation.model.graph.algorithms.DijkstraStrategy;
 import com.modelisation.model.graph.algorithms.BFSAlgorithm;
+import com.modelisation.model.graph.algorithms.AStarStrategy;
+import com.modelisation.model.graph.algorithms.BidirectionalDijkstraStrategy;
+import com.modelisation.model.graph.algorithms.DeltaSteppingStrategy;
+import com.modelisation.model.graph.algorithms.IndexedMinHeap;
+import com.modelisation.model.graph.algorithms.SearchTraceListener;
 import com.modelisation.model.graph.algorithms.ShortestPathStrategy;
+import javafx.scene.paint.Color;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Tests unitaires pour les classes Graph et les algorithmes de plus court chemin
@@ -97,6 +115,272 @@ public class GraphTest {
         assertEquals(7.0, result.getDistanceTo(nodeD), 0.001);
     }
     
+    @Test
+    public void testConcurrentQueriesDoNotShareState() {
+        graph.addEdge("A", "B", 5.0);
+        graph.addEdge("A", "C", 3.0);
+        graph.addEdge("B", "D", 2.0);
+        graph.addEdge("C", "D", 4.0);
+        
+        DijkstraAlgorithm dijkstra = new DijkstraAlgorithm();
+        ShortestPathStrategy.ShortestPathResult fromA = dijkstra.findShortestPaths(graph, nodeA);
+        ShortestPathStrategy.ShortestPathResult fromD = dijkstra.findShortestPaths(graph, nodeD);
+        
+        // Le second calcul n'invalide pas le premier, et les nœuds ne sont pas modifiés
+        assertEquals(7.0, fromA.getDistanceTo(nodeD), 0.001);
+        assertEquals(List.of(nodeA, nodeC, nodeD), fromA.getPathTo(nodeD));
+        assertEquals(7.0, fromD.getDistanceTo(nodeA), 0.001);
+        assertEquals(Double.POSITIVE_INFINITY, nodeD.getDistance());
+        assertNull(nodeD.getPrevious());
+        
+        // Requêtes en parallèle sur le même graphe et la même stratégie
+        List<Node> sources = List.of(nodeA, nodeB, nodeC, nodeD);
+        List<Double> parallel = sources.parallelStream()
+            .map(source -> dijkstra.findShortestPaths(graph, source).getDistanceTo(nodeA))
+            .collect(java.util.stream.Collectors.toList());
+        assertEquals(List.of(0.0, 5.0, 3.0, 7.0), parallel);
+    }
+    
+    @Test
+    public void testPointToPointStrategiesMatchDijkstra() {
+        // Graphe de proximité aléatoire : poids = distance euclidienne, heuristique admissible
+        Random random = new Random(7);
+        Graph proximityGraph = new Graph(false);
+        List<Node> nodes = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            Node node = new Node("P" + i, random.nextDouble() * 1000, random.nextDouble() * 1000);
+            nodes.add(node);
+            proximityGraph.addNode(node);
+        }
+        new NodeGrid(nodes, 120).forEachPairWithin(120,
+            (a, b) -> proximityGraph.addEdge(new Edge(a, b, a.distanceTo(b))));
+        
+        DijkstraAlgorithm dijkstra = new DijkstraAlgorithm();
+        List<ShortestPathStrategy> strategies = List.of(new AStarStrategy(), new BidirectionalDijkstraStrategy());
+        for (int q = 0; q < 20; q++) {
+            Node source = nodes.get(random.nextInt(nodes.size()));
+            Node target = nodes.get(random.nextInt(nodes.size()));
+            ShortestPathStrategy.ShortestPathResult reference = dijkstra.findShortestPaths(proximityGraph, source);
+            for (ShortestPathStrategy strategy : strategies) {
+                ShortestPathStrategy.ShortestPathResult result = strategy.computeShortestPath(proximityGraph, source, target);
+                List<Node> path = strategy.findShortestPath(proximityGraph, source, target);
+                if (!reference.isReachable(target)) {
+                    assertNull(path);
+                    continue;
+                }
+                assertNotNull(path, strategy.getAlgorithmName());
+                assertEquals(source, path.get(0));
+                assertEquals(target, path.get(path.size() - 1));
+                double length = 0;
+                for (int i = 0; i + 1 < path.size(); i++) {
+                    length += path.get(i).distanceTo(path.get(i + 1));
+                }
+                assertEquals(reference.getDistanceTo(target), length, 1e-6, strategy.getAlgorithmName());
+                assertEquals(reference.getDistanceTo(target), result.getDistanceTo(target), 1e-6);
+                assertTrue(result.getSettledCount() <= reference.getSettledCount());
+            }
+        }
+        
+        // Graphe dirigé : la recherche arrière suit les arcs inversés
+        Graph directedGraph = new Graph(true);
+        List.of(nodeA, nodeB, nodeC).forEach(directedGraph::addNode);
+        directedGraph.addEdge("A", "B", 1.0);
+        directedGraph.addEdge("B", "C", 1.0);
+        directedGraph.addEdge("C", "A", 1.0);
+        BidirectionalDijkstraStrategy bidirectional = new BidirectionalDijkstraStrategy();
+        assertEquals(List.of(nodeA, nodeB, nodeC), bidirectional.findShortestPath(directedGraph, nodeA, nodeC));
+        assertEquals(List.of(nodeC, nodeA, nodeB), bidirectional.findShortestPath(directedGraph, nodeC, nodeB));
+        
+        // Poids négatif : échec immédiat comme Dijkstra, même vers une cible inaccessible
+        Graph negativeGraph = new Graph(false);
+        List.of(nodeA, nodeB, nodeC).forEach(negativeGraph::addNode);
+        negativeGraph.addEdge("A", "B", -1.0);
+        for (ShortestPathStrategy strategy : List.of(dijkstra, new AStarStrategy())) {
+            ShortestPathStrategy.ShortestPathResult failed = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> strategy.computeShortestPath(negativeGraph, nodeA, nodeC));
+            assertFalse(failed.isSuccessful(), strategy.getAlgorithmName());
+            assertNull(strategy.findShortestPath(negativeGraph, nodeA, nodeC));
+        }
+    }
+    
+    @Test
+    public void testDeltaSteppingMatchesDijkstra() {
+        // Graphe de proximité assez grand pour découper les phases en tâches, avec des nœuds
+        // confondus reliés par des arêtes de poids nul
+        Random random = new Random(11);
+        Graph proximityGraph = new Graph(false);
+        List<Node> nodes = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            Node node = i % 50 == 49
+                ? new Node("P" + i, nodes.get(i - 1).getX(), nodes.get(i - 1).getY())
+                : new Node("P" + i, random.nextDouble() * 2000, random.nextDouble() * 2000);
+            nodes.add(node);
+            proximityGraph.addNode(node);
+        }
+        new NodeGrid(nodes, 60).forEachPairWithin(60,
+            (a, b) -> proximityGraph.addEdge(new Edge(a, b, a.distanceTo(b))));
+        
+        DijkstraAlgorithm dijkstra = new DijkstraAlgorithm();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<DeltaSteppingStrategy> strategies = List.of(new DeltaSteppingStrategy(DeltaSteppingStrategy.AUTOMATIC_BUCKET_WIDTH, pool),
+                new DeltaSteppingStrategy(1.0, pool), new DeltaSteppingStrategy(1e6, pool));
+            for (int q = 0; q < 5; q++) {
+                Node source = nodes.get(random.nextInt(nodes.size()));
+                ShortestPathStrategy.ShortestPathResult reference = dijkstra.findShortestPaths(proximityGraph, source);
+                for (DeltaSteppingStrategy strategy : strategies) {
+                    String name = "delta = " + strategy.getBucketWidth();
+                    ShortestPathStrategy.ShortestPathResult result = strategy.findShortestPaths(proximityGraph, source);
+                    assertTrue(result.isSuccessful(), name);
+                    assertEquals(reference.getSettledCount(), result.getSettledCount(), name);
+                    for (Node node : nodes) {
+                        // Distances identiques au bit près
+                        assertEquals(reference.getDistanceTo(node), result.getDistanceTo(node), 0.0, name);
+                        List<Node> path = result.getPathTo(node);
+                        if (path == null) {
+                            assertFalse(reference.isReachable(node), name);
+                            continue;
+                        }
+                        assertEquals(source, path.get(0));
+                        double length = 0;
+                        for (int i = 0; i + 1 < path.size(); i++) {
+                            length += path.get(i).distanceTo(path.get(i + 1));
+                        }
+                        assertEquals(result.getDistanceTo(node), length, 1e-9, name);
+                    }
+                    
+                    // Arrêt après le seau de la cible
+                    Node target = nodes.get(random.nextInt(nodes.size()));
+                    ShortestPathStrategy.ShortestPathResult pointToPoint =
+                        strategy.computeShortestPath(proximityGraph, source, target);
+                    assertEquals(reference.getDistanceTo(target), pointToPoint.getDistanceTo(target), 0.0, name);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        
+        // Graphe dirigé : les prédécesseurs suivent les arcs entrants
+        Graph directedGraph = new Graph(true);
+        List.of(nodeA, nodeB, nodeC).forEach(directedGraph::addNode);
+        directedGraph.addEdge("A", "B", 1.0);
+        directedGraph.addEdge("B", "C", 1.0);
+        directedGraph.addEdge("C", "A", 1.0);
+        DeltaSteppingStrategy deltaStepping = new DeltaSteppingStrategy(0.5);
+        assertEquals(List.of(nodeC, nodeA, nodeB), deltaStepping.findShortestPath(directedGraph, nodeC, nodeB));
+        
+        directedGraph.addEdge("A", "C", -1.0);
+        assertFalse(deltaStepping.findShortestPaths(directedGraph, nodeA).isSuccessful());
+        assertThrows(IllegalArgumentException.class, () -> new DeltaSteppingStrategy(0.0));
+    }
+    
+    @Test
+    public void testEarlyStopAndDistanceBound() {
+        // Chaîne de 100 nœuds espacés de 1 : la cible proche ne nécessite pas tout l'arbre
+        Graph chain = new Graph(false);
+        List<Node> nodes = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Node node = new Node("N" + i, i, 0);
+            nodes.add(node);
+            chain.addNode(node);
+            if (i > 0) {
+                chain.addEdge(new Edge(nodes.get(i - 1), node, 1.0));
+            }
+        }
+        Node source = nodes.get(0);
+        Node nearTarget = nodes.get(10);
+        
+        List<ShortestPathStrategy> strategies = List.of(new DijkstraAlgorithm(), new DijkstraStrategy(),
+            new AStarStrategy(), new BidirectionalDijkstraStrategy(), new BFSAlgorithm(), new DeltaSteppingStrategy());
+        for (ShortestPathStrategy strategy : strategies) {
+            String name = strategy.getAlgorithmName();
+            ShortestPathStrategy.ShortestPathResult result = strategy.computeShortestPath(chain, source, nearTarget);
+            assertTrue(result.isSuccessful(), name);
+            assertEquals(10.0, result.getDistanceTo(nearTarget), 1e-9, name);
+            assertEquals(11, result.getPathTo(nearTarget).size(), name);
+            assertTrue(result.getSettledCount() < nodes.size(), name);
+            
+            // Borne de distance : les nœuds au-delà sont non atteints
+            ShortestPathStrategy.ShortestPathResult bounded =
+                strategy.findShortestPaths(chain, source, null, 5.5);
+            assertTrue(bounded.isReachable(nodes.get(5)), name);
+            assertFalse(bounded.isReachable(nodes.get(6)), name);
+            assertNull(bounded.getPathTo(nodes.get(50)), name);
+            assertNull(strategy.findShortestPaths(chain, source, nearTarget, 5.5).getPathTo(nearTarget), name);
+        }
+    }
+    
+    @Test
+    public void testTraceListener() {
+        graph.addEdge("A", "B", 100.0);
+        graph.addEdge("A", "C", 112.0);
+        graph.addEdge("B", "D", 112.0);
+        graph.addEdge("C", "D", 100.0);
+        
+        // Les événements suivent la recherche : un par nœud fixé, distances relâchées décroissantes
+        List<Node> settledNodes = new ArrayList<>();
+        List<Double> relaxedDistances = new ArrayList<>();
+        SearchTraceListener recorder = new SearchTraceListener() {
+            @Override
+            public void nodeSettled(CsrGraph csr, int node, double distance) {
+                settledNodes.add(csr.getNode(node));
+            }
+            
+            @Override
+            public void edgeRelaxed(CsrGraph csr, int from, int to, double distance) {
+                relaxedDistances.add(distance);
+            }
+        };
+        
+        for (ShortestPathStrategy strategy : List.of(new DijkstraStrategy(), new DijkstraAlgorithm(), new AStarStrategy(),
+                                                     new BidirectionalDijkstraStrategy(), new BFSAlgorithm())) {
+            settledNodes.clear();
+            relaxedDistances.clear();
+            ShortestPathStrategy.ShortestPathResult result =
+                strategy.findShortestPaths(graph, nodeA, nodeD, Double.POSITIVE_INFINITY, recorder);
+            assertTrue(result.isSuccessful());
+            if (strategy instanceof BidirectionalDijkstraStrategy) {
+                // Deux fronts : les nœuds fixés par la recherche arrière sont aussi tracés
+                assertFalse(settledNodes.isEmpty());
+                continue;
+            }
+            assertEquals(result.getSettledCount(), settledNodes.size(), strategy.getAlgorithmName());
+            assertEquals(nodeA, settledNodes.get(0));
+            assertEquals(nodeD, settledNodes.get(settledNodes.size() - 1));
+            assertFalse(relaxedDistances.isEmpty());
+            
+            // L'écouteur ne vaut que pour sa requête : plus aucun événement ensuite
+            settledNodes.clear();
+            strategy.computeShortestPath(graph, nodeA, nodeD);
+            assertTrue(settledNodes.isEmpty());
+        }
+    }
+    
+    @Test
+    public void testIndexedMinHeap() {
+        IndexedMinHeap heap = new IndexedMinHeap(10);
+        heap.insert(3, 5.0);
+        heap.insert(7, 2.0);
+        heap.insert(1, 9.0);
+        heap.insert(4, 4.0);
+        heap.insert(0, 6.0);
+        
+        // Diminution de clé : l'élément remonte sans être dupliqué
+        heap.decreaseKey(1, 1.0);
+        assertFalse(heap.insertOrDecrease(3, 8.0)); // Clé plus grande : ignorée
+        assertTrue(heap.insertOrDecrease(0, 3.0));
+        assertEquals(5, heap.size());
+        
+        int[] expectedOrder = {1, 7, 0, 4, 3};
+        for (int expected : expectedOrder) {
+            assertTrue(heap.contains(expected));
+            assertEquals(expected, heap.poll());
+            assertFalse(heap.contains(expected));
+        }
+        assertTrue(heap.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(2, 0.0));
+    }
+    
     @Test
     public void testBFSAlgorithm() {
         // Créer un graphe simple
@@ -164,6 +448,65 @@ public class GraphTest {
         assertNull(graph.getNode("A"));
     }
     
+    @Test
+    public void testAdjacencyUpdates() {
+        assertTrue(graph.addEdge("A", "B", 1.0));
+        assertFalse(graph.addEdge("A", "B", 2.0)); // Doublon refusé
+        graph.addEdge("B", "C", 1.0);
+        graph.addEdge("C", "D", 1.0);
+        
+        // Non dirigé : les voisins sont trouvés dans les deux sens
+        assertEquals(2, graph.getNeighbors(nodeB).size());
+        assertEquals(2, graph.getEdgesForNode(nodeC).size());
+        assertSame(graph.getEdge(nodeB, nodeC), graph.getEdgesForNode(nodeB).get(1));
+        
+        // La suppression d'une arête met à jour le voisinage des deux extrémités
+        assertTrue(graph.removeEdge(new Edge(nodeB, nodeC, 1.0)));
+        assertFalse(graph.getNeighbors(nodeC).containsKey(nodeB));
+        assertEquals(1, graph.getNeighbors(nodeB).size());
+        assertNull(graph.getEdge(nodeB, nodeC));
+        
+        // La suppression d'un nœud retire ses arêtes du voisinage des autres
+        graph.removeNode("D");
+        assertTrue(graph.getNeighbors(nodeC).isEmpty());
+        assertEquals(1, graph.getEdgeCount());
+        
+        // Dirigé : seules les arêtes sortantes sont des voisins
+        Graph directedGraph = new Graph(true);
+        directedGraph.addNode(nodeA);
+        directedGraph.addNode(nodeB);
+        directedGraph.addEdge("A", "B", 1.0);
+        assertTrue(directedGraph.getNeighbors(nodeA).containsKey(nodeB));
+        assertTrue(directedGraph.getNeighbors(nodeB).isEmpty());
+        assertEquals(1, directedGraph.getEdgesForNode(nodeB).size());
+    }
+    
+    @Test
+    public void testCsrSnapshot() {
+        graph.addEdge("A", "B", 5.0);
+        graph.addEdge("A", "C", 3.0);
+        
+        CsrGraph csr = graph.toCsr();
+        assertEquals(4, csr.getNodeCount());
+        assertEquals(4, csr.getArcCount()); // Deux arcs par arête non dirigée
+        assertSame(csr, graph.toCsr()); // Réutilisé tant que le graphe ne change pas
+        
+        int a = csr.indexOf(nodeA);
+        assertEquals(2, csr.degree(a));
+        assertEquals(nodeB, csr.getNode(csr.arcTarget(csr.firstArc(a))));
+        assertEquals(5.0, csr.arcWeight(csr.firstArc(a)), 0.001);
+        assertEquals(1, csr.degree(csr.indexOf(nodeC)));
+        assertEquals(0, csr.degree(csr.indexOf(nodeD)));
+        assertEquals(-1, csr.indexOf(new Node("Z", 0, 0)));
+        
+        // Toute modification de structure produit un nouvel instantané
+        graph.addEdge("C", "D", 1.0);
+        CsrGraph updated = graph.toCsr();
+        assertNotSame(csr, updated);
+        assertEquals(6, updated.getArcCount());
+        assertEquals(4, csr.getArcCount()); // L'ancien instantané est immuable
+    }
+    
     @Test
     public void testClearGraph() {
         graph.addEdge("A", "B", 1.0);
@@ -177,4 +520,502 @@ public class GraphTest {
         assertEquals(0, graph.getNodeCount());
         assertEquals(0, graph.getEdgeCount());
     }
+    
+    @Test
+    public void testShapeGraphCacheIncrementalUpdates() {
+        Drawing drawing = new Drawing();
+        Circle a = new Circle(0, 0, 10, Color.BLACK, 1.0);
+        Circle b = new Circle(100, 0, 10, Color.BLACK, 1.0);
+        Circle c = new Circle(200, 0, 10, Color.BLACK, 1.0);
+        Rectangle r = new Rectangle(90, 190, 20, 20, Color.BLACK, 1.0);
+        drawing.addAll(List.of(a, b, c, r));
+        
+        ShapeGraphCache cache = new ShapeGraphCache(drawing);
+        Graph built = cache.getGraph();
+        assertEquals(4, built.getNodeCount());
+        assertTrue(built.isConnected());
+        assertEquals("B", cache.getNode(b).getLabel());
+        assertEquals(1, cache.getRebuildCount());
+        
+        // Ajout, déplacement et suppression d'une forme : même graphe, mis à jour sans reconstruction
+        Circle d = new Circle(300, 0, 10, Color.BLACK, 1.0);
+        drawing.addShape(d);
+        assertEquals("D", cache.getNode(d).getLabel());
+        assertEquals(5, cache.getGraph().getNodeCount());
+        
+        drawing.updateShape(d, s -> s.setX(250));
+        assertEquals(250, cache.getNode(d).getX(), 0.001);
+        
+        String idOfC = cache.getNode(c).getId();
+        drawing.removeShape(b);
+        assertNull(cache.getNode(b));
+        assertEquals("B", cache.getNode(c).getLabel()); // Les labels suivants sont décalés
+        assertEquals(idOfC, cache.getNode(c).getId()); // Les identifiants restent stables
+        
+        assertSame(built, cache.getGraph());
+        assertEquals(1, cache.getRebuildCount());
+        assertEquals(4, built.getNodeCount());
+        assertTrue(built.isConnected());
+        
+        // Une modification globale provoque une reconstruction paresseuse
+        drawing.clear();
+        assertFalse(cache.isValid());
+        assertEquals(0, cache.getGraph().getNodeCount());
+        assertEquals(2, cache.getRebuildCount());
+        
+        cache.dispose();
+        drawing.addShape(a);
+        assertEquals(0, cache.getGraph().getNodeCount());
+    }
+    
+    @Test
+    public void testShapeGraphCacheRelabelsAfterRemoval() {
+        Drawing drawing = new Drawing();
+        Circle a = new Circle(0, 0, 10, Color.BLACK, 1.0);
+        Circle3D x = new Circle3D(50, 0, 10, Color.BLACK, 1.0);
+        Circle b = new Circle(100, 0, 10, Color.BLACK, 1.0);
+        Line l = new Line(140, 0, 160, 0, Color.BLACK, 1.0);
+        Circle3D y = new Circle3D(200, 0, 10, Color.BLACK, 1.0);
+        drawing.addAll(List.of(a, x, b, l, y));
+        
+        ShapeGraphCache cache = new ShapeGraphCache(drawing);
+        assertEquals("Circle3D 1", cache.getNode(x).getLabel());
+        assertEquals("B", cache.getNode(b).getLabel());
+        assertEquals("1", cache.getNode(l).getLabel());
+        
+        // Cercles suivants et formes indexées décalés, lignes inchangées, sans reconstruction
+        drawing.removeShape(a);
+        assertEquals(1, cache.getRebuildCount());
+        assertEquals("Circle3D 0", cache.getNode(x).getLabel());
+        assertEquals("A", cache.getNode(b).getLabel());
+        assertEquals("1", cache.getNode(l).getLabel());
+        assertEquals("Circle3D 3", cache.getNode(y).getLabel());
+        
+        drawing.removeShape(x);
+        assertEquals("Circle3D 2", cache.getNode(y).getLabel());
+        drawing.addShape(new Circle(300, 0, 10, Color.BLACK, 1.0));
+        assertEquals(1, cache.getRebuildCount());
+        
+        // Mêmes labels qu'une reconstruction complète
+        List<String> incremental = new ArrayList<>();
+        drawing.getShapes().forEach(shape -> incremental.add(cache.getNode(shape).getLabel()));
+        cache.invalidate();
+        List<String> rebuilt = new ArrayList<>();
+        drawing.getShapes().forEach(shape -> rebuilt.add(cache.getNode(shape).getLabel()));
+        assertEquals(List.of("A", "1", "Circle3D 2", "B"), rebuilt);
+        assertEquals(rebuilt, incremental);
+    }
+    
+    @Test
+    public void testNodeGridMatchesBruteForce() {
+        Random random = new Random(42);
+        List<Node> nodes = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            nodes.add(new Node("N" + i, random.nextDouble() * 1000, random.nextDouble() * 500));
+        }
+        double threshold = 60;
+        NodeGrid grid = new NodeGrid(nodes, threshold);
+        
+        // Mêmes arêtes de proximité qu'avec la comparaison de toutes les paires
+        Graph gridGraph = new Graph(false);
+        nodes.forEach(gridGraph::addNode);
+        int created = new ShapeGraphBuilder().addProximityEdges(gridGraph, grid, threshold);
+        int expected = 0;
+        for (int i = 0; i < nodes.size(); i++) {
+            for (int j = i + 1; j < nodes.size(); j++) {
+                if (nodes.get(i).distanceTo(nodes.get(j)) <= threshold) {
+                    expected++;
+                    assertTrue(gridGraph.getNeighbors(nodes.get(i)).containsKey(nodes.get(j)));
+                }
+            }
+        }
+        assertEquals(expected, created);
+        
+        // Plus proche voisin identique à une recherche exhaustive
+        for (Node node : nodes) {
+            Node nearest = null;
+            for (Node other : nodes) {
+                if (other != node && (nearest == null || node.distanceTo(other) < node.distanceTo(nearest))) {
+                    nearest = other;
+                }
+            }
+            assertEquals(node.distanceTo(nearest), node.distanceTo(grid.findNearest(node)), 1e-9);
+            
+            // k plus proches voisins : la k-ième distance est celle du tri exhaustif
+            List<Node> sorted = new ArrayList<>(nodes);
+            sorted.remove(node);
+            sorted.sort((n1, n2) -> Double.compare(node.distanceTo(n1), node.distanceTo(n2)));
+            List<Node> kNearest = grid.findNearest(node, 5);
+            assertEquals(5, kNearest.size());
+            assertEquals(node.distanceTo(sorted.get(4)), node.distanceTo(kNearest.get(4)), 1e-9);
+        }
+        
+        assertEquals(nodes.size(), grid.size());
+        assertTrue(grid.remove(nodes.get(0)));
+        assertFalse(grid.remove(nodes.get(0)));
+        assertEquals(nodes.size() - 1, grid.size());
+    }
+    
+    @Test
+    public void testProximityThresholdUnchangedBelowDensityCap() {
+        // Dessin moyen (100 formes) : seuil historique, plancher de 30 % de la diagonale
+        Random random = new Random(11);
+        List<Node> nodes = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            nodes.add(new Node("N" + i, random.nextDouble() * 800, random.nextDouble() * 600));
+        }
+        ShapeGraphBuilder builder = new ShapeGraphBuilder();
+        double threshold = builder.calculateProximityThreshold(nodes);
+        double minX = nodes.stream().mapToDouble(Node::getX).min().orElse(0);
+        double maxX = nodes.stream().mapToDouble(Node::getX).max().orElse(0);
+        double minY = nodes.stream().mapToDouble(Node::getY).min().orElse(0);
+        double maxY = nodes.stream().mapToDouble(Node::getY).max().orElse(0);
+        assertEquals(0.3 * Math.hypot(maxX - minX, maxY - minY), threshold, 1e-9);
+        assertEquals(297.62, threshold, 0.01);
+        
+        Graph proximity = new Graph(false);
+        nodes.forEach(proximity::addNode);
+        assertEquals(1764, builder.addProximityEdges(proximity, builder.createGrid(nodes, threshold), threshold));
+        
+        // Grand dessin : le plafond de densité abaisse le seuil sous le plancher
+        List<Node> large = new ArrayList<>();
+        for (int i = 0; i < ShapeGraphBuilder.DENSITY_CAP_MIN_NODES; i++) {
+            large.add(new Node("L" + i, random.nextDouble() * 800, random.nextDouble() * 600));
+        }
+        assertTrue(builder.calculateProximityThreshold(large) < 0.3 * Math.hypot(800, 600) * 0.9);
+    }
+    
+    @Test
+    public void testConnectivityRepair() {
+        // Trois groupes très éloignés et deux nœuds isolés : aucune arête de proximité entre eux
+        Random random = new Random(3);
+        Graph clusters = new Graph(false);
+        List<Node> nodes = new ArrayList<>();
+        double[][] centers = {{0, 0}, {5000, 0}, {0, 8000}};
+        for (double[] center : centers) {
+            for (int i = 0; i < 50; i++) {
+                nodes.add(new Node("C" + nodes.size(), center[0] + random.nextDouble() * 100,
+                                   center[1] + random.nextDouble() * 100));
+            }
+        }
+        nodes.add(new Node("I1", 2500, 2500));
+        nodes.add(new Node("I2", 2600, 2500));
+        nodes.forEach(clusters::addNode);
+        
+        ShapeGraphBuilder builder = new ShapeGraphBuilder();
+        NodeGrid grid = builder.createGrid(nodes, 40);
+        builder.addProximityEdges(clusters, grid, 40);
+        assertFalse(clusters.isConnected());
+        
+        int added = builder.ensureGraphConnectivity(clusters, grid);
+        assertTrue(clusters.isConnected());
+        assertTrue(builder.isGraphConnected(clusters, nodes));
+        assertEquals(0, builder.ensureGraphConnectivity(clusters, grid));
+        assertTrue(added >= 4); // Au moins une arête par composante en trop
+        // Les deux nœuds isolés sont reliés entre eux par l'arête la plus courte possible
+        assertTrue(clusters.getNeighbors(nodes.get(150)).containsKey(nodes.get(151)));
+    }
+    
+    @Test
+    public void testDisjointSet() {
+        DisjointSet sets = new DisjointSet(6);
+        assertEquals(6, sets.getSetCount());
+        assertTrue(sets.union(0, 1));
+        assertTrue(sets.union(2, 3));
+        assertFalse(sets.union(1, 0));
+        assertTrue(sets.union(1, 3));
+        assertTrue(sets.connected(0, 2));
+        assertFalse(sets.connected(0, 4));
+        assertEquals(3, sets.getSetCount());
+        assertEquals(sets.find(0), sets.find(3));
+    }
+    
+    @Test
+    public void testTriangulationGraphs() {
+        Random random = new Random(11);
+        int n = 400;
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            // Coordonnées entières : nombreux points cocirculaires et alignés
+            xs[i] = random.nextInt(200);
+            ys[i] = random.nextInt(200);
+        }
+        DelaunayTriangulation triangulation = new DelaunayTriangulation(xs, ys);
+        
+        // Propriété de Delaunay : aucun point strictement dans un cercle circonscrit
+        for (int t = 0; t < triangulation.getTriangleCount(); t++) {
+            int a = triangulation.getTriangleVertex(3 * t);
+            int b = triangulation.getTriangleVertex(3 * t + 1);
+            int c = triangulation.getTriangleVertex(3 * t + 2);
+            double d = 2 * (xs[a] * (ys[b] - ys[c]) + xs[b] * (ys[c] - ys[a]) + xs[c] * (ys[a] - ys[b]));
+            double ux = ((xs[a] * xs[a] + ys[a] * ys[a]) * (ys[b] - ys[c]) + (xs[b] * xs[b] + ys[b] * ys[b]) * (ys[c] - ys[a])
+                         + (xs[c] * xs[c] + ys[c] * ys[c]) * (ys[a] - ys[b])) / d;
+            double uy = ((xs[a] * xs[a] + ys[a] * ys[a]) * (xs[c] - xs[b]) + (xs[b] * xs[b] + ys[b] * ys[b]) * (xs[a] - xs[c])
+                         + (xs[c] * xs[c] + ys[c] * ys[c]) * (xs[b] - xs[a])) / d;
+            double radius = Math.hypot(xs[a] - ux, ys[a] - uy);
+            for (int p = 0; p < n; p++) {
+                assertTrue(Math.hypot(xs[p] - ux, ys[p] - uy) >= radius - 1e-6, "Point dans le cercle circonscrit");
+            }
+        }
+        
+        // Gabriel et RNG : mêmes arêtes qu'un test exhaustif sur tous les points, et RNG ⊆ Gabriel ⊆ Delaunay
+        List<long[]> delaunay = new ArrayList<>();
+        triangulation.forEachEdge((a, b) -> delaunay.add(new long[]{a, b}));
+        assertTrue(delaunay.size() <= 3 * n - 6);
+        java.util.Set<Long> gabriel = new java.util.HashSet<>();
+        triangulation.forEachGabrielEdge((a, b) -> gabriel.add(pairKey(a, b)));
+        java.util.Set<Long> rng = new java.util.HashSet<>();
+        triangulation.forEachRelativeNeighborhoodEdge((a, b) -> rng.add(pairKey(a, b)));
+        for (long[] edge : delaunay) {
+            int a = (int) edge[0], b = (int) edge[1];
+            double length = Math.hypot(xs[a] - xs[b], ys[a] - ys[b]);
+            boolean inDisk = false, inLune = false;
+            for (int c = 0; c < n; c++) {
+                if (c == a || c == b || triangulation.getDuplicateOf(c) >= 0) {
+                    continue;
+                }
+                double ac = Math.hypot(xs[a] - xs[c], ys[a] - ys[c]);
+                double bc = Math.hypot(xs[b] - xs[c], ys[b] - ys[c]);
+                inDisk |= ac * ac + bc * bc < length * length - 1e-9;
+                inLune |= Math.max(ac, bc) < length - 1e-9;
+            }
+            assertEquals(!inDisk, gabriel.contains(pairKey(a, b)));
+            assertEquals(!inLune, rng.contains(pairKey(a, b)));
+        }
+        assertTrue(gabriel.containsAll(rng));
+        
+        // Graphes des formes : connexes par construction, y compris avec doublons et points alignés
+        ShapeGraphBuilder builder = new ShapeGraphBuilder();
+        for (GraphConstructionMode mode : List.of(GraphConstructionMode.DELAUNAY, GraphConstructionMode.GABRIEL,
+                                                  GraphConstructionMode.RELATIVE_NEIGHBORHOOD)) {
+            Graph shapesGraph = new Graph(false);
+            List<Node> nodes = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                nodes.add(new Node("T" + i, xs[i], ys[i]));
+            }
+            nodes.forEach(shapesGraph::addNode);
+            int edges = builder.addTriangulationEdges(shapesGraph, nodes, mode);
+            assertTrue(shapesGraph.isConnected(), mode.getLabel());
+            assertTrue(edges <= 3 * n, mode.getLabel());
+            
+            Graph line = new Graph(false);
+            List<Node> aligned = List.of(new Node("L0", 0, 0), new Node("L1", 20, 10), new Node("L2", 10, 5),
+                                         new Node("L3", 10, 5));
+            aligned.forEach(line::addNode);
+            assertEquals(3, builder.addTriangulationEdges(line, aligned, mode));
+            assertTrue(line.isConnected());
+        }
+        
+        // Copies confondues des points du triangle initial (centre et couronne) : chaque position
+        // garde un seul point triangulé, auquel ses copies sont rattachées, sans boucle
+        List<double[]> points = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            points.add(new double[]{500, 500});
+        }
+        for (int copy = 0; copy < 2; copy++) {
+            for (int i = 0; i < 40; i++) {
+                double angle = 2 * Math.PI * i / 40;
+                points.add(new double[]{500 + 100 * Math.cos(angle), 500 + 100 * Math.sin(angle)});
+            }
+        }
+        double[] px = new double[points.size()];
+        double[] py = new double[points.size()];
+        for (int i = 0; i < points.size(); i++) {
+            px[i] = points.get(i)[0];
+            py[i] = points.get(i)[1];
+        }
+        DelaunayTriangulation withCopies = new DelaunayTriangulation(px, py);
+        int triangulated = 0;
+        for (int i = 0; i < px.length; i++) {
+            int kept = withCopies.getDuplicateOf(i);
+            if (kept < 0) {
+                triangulated++;
+            } else {
+                assertNotEquals(i, kept);
+                assertEquals(-1, withCopies.getDuplicateOf(kept));
+                assertEquals(px[i], px[kept], 1e-9);
+                assertEquals(py[i], py[kept], 1e-9);
+            }
+        }
+        assertEquals(41, triangulated);
+        
+        List<Node> copies = new ArrayList<>();
+        Graph copiesGraph = new Graph(false);
+        for (int i = 0; i < px.length; i++) {
+            copies.add(new Node("D" + i, px[i], py[i]));
+        }
+        copies.forEach(copiesGraph::addNode);
+        builder.addTriangulationEdges(copiesGraph, copies, GraphConstructionMode.DELAUNAY);
+        for (Node node : copies) {
+            assertFalse(copiesGraph.getNeighbors(node).containsKey(node), node.getId());
+        }
+        assertTrue(copiesGraph.isConnected());
+    }
+    
+    @Test
+    public void testShapeGraphCacheConstructionMode() {
+        Drawing drawing = new Drawing();
+        Random random = new Random(5);
+        for (int i = 0; i < 60; i++) {
+            drawing.addShape(new Circle(random.nextDouble() * 800, random.nextDouble() * 600, 10, Color.RED, 1.0));
+        }
+        ShapeGraphCache cache = new ShapeGraphCache(drawing);
+        int proximityEdges = cache.getGraph().getEdgeCount();
+        
+        cache.setConstructionMode(GraphConstructionMode.RELATIVE_NEIGHBORHOOD);
+        assertFalse(cache.isValid());
+        Graph rng = cache.getGraph();
+        assertTrue(rng.isConnected());
+        assertTrue(rng.getEdgeCount() < proximityEdges);
+        assertTrue(rng.getEdgeCount() >= drawing.getShapeCount() - 1);
+        
+        // Toute modification du dessin reconstruit la triangulation
+        drawing.addShape(new Circle(400, 300, 10, Color.BLUE, 1.0));
+        assertEquals(drawing.getShapeCount(), cache.getGraph().getNodeCount());
+        assertTrue(cache.getGraph().isConnected());
+    }
+    
+    @Test
+    public void testConvexHullAndDiameter() {
+        // Points entiers avec doublons et alignements, diamètre comparé à la recherche exhaustive
+        Random random = new Random(17);
+        for (int round = 0; round < 20; round++) {
+            int n = 1 + random.nextInt(300);
+            List<Node> nodes = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                nodes.add(new Node("H" + i, random.nextInt(50), random.nextInt(30)));
+            }
+            ConvexHull hull = ConvexHull.ofNodes(nodes);
+            
+            double expected = 0;
+            for (Node a : nodes) {
+                for (Node b : nodes) {
+                    expected = Math.max(expected, a.distanceTo(b));
+                }
+            }
+            int[] pair = hull.getFarthestPair();
+            assertEquals(expected, nodes.get(pair[0]).distanceTo(nodes.get(pair[1])), 1e-9);
+            assertEquals(expected, hull.getDiameter(), 1e-9);
+            
+            // Sens trigonométrique strict, et tous les points à gauche de chaque arête ou dessus
+            int[] vertices = hull.getVertexIndices();
+            int h = vertices.length;
+            for (int i = 0; i < h && h >= 3; i++) {
+                Node a = nodes.get(vertices[i]);
+                Node b = nodes.get(vertices[(i + 1) % h]);
+                assertTrue(cross(a, b, nodes.get(vertices[(i + 2) % h])) > 0);
+                for (Node p : nodes) {
+                    assertTrue(cross(a, b, p) >= 0);
+                }
+            }
+        }
+        
+        // Cas dégénérés : aucun point, points confondus, points alignés
+        assertEquals(0, new ConvexHull(new double[0], new double[0]).getFarthestPair().length);
+        ConvexHull same = new ConvexHull(new double[]{3, 3, 3}, new double[]{4, 4, 4});
+        assertEquals(1, same.getVertexCount());
+        assertEquals(0.0, same.getDiameter());
+        ConvexHull line = new ConvexHull(new double[]{0, 1, 2, 3, 2}, new double[]{0, 1, 2, 3, 2});
+        assertEquals(2, line.getVertexCount());
+        assertEquals(Math.sqrt(18), line.getDiameter(), 1e-9);
+        
+        // Centres des formes
+        List<com.modelisation.model.shapes.Shape> shapes = List.of(
+            new Circle(0, 0, 5, Color.RED, 1.0), new Circle(100, 0, 5, Color.RED, 1.0),
+            new Circle(50, 20, 5, Color.RED, 1.0), new Rectangle(40, 70, 20, 20, Color.RED, 1.0));
+        ConvexHull shapeHull = ConvexHull.ofShapeCenters(shapes);
+        assertEquals(3, shapeHull.getVertexCount());
+        assertEquals(100.0, shapeHull.getDiameter(), 1e-9);
+    }
+    
+    private static double cross(Node a, Node b, Node c) {
+        return (b.getX() - a.getX()) * (c.getY() - a.getY()) - (b.getY() - a.getY()) * (c.getX() - a.getX());
+    }
+    
+    @Test
+    public void testKdTreeMatchesBruteForce() {
+        // Points entiers avec doublons, plus que le seuil parallèle pour exercer ForkJoin
+        Random random = new Random(23);
+        List<Node> nodes = new ArrayList<>();
+        for (int i = 0; i < 3 * KdTree.PARALLEL_THRESHOLD; i++) {
+            nodes.add(new Node("K" + i, random.nextInt(200), random.nextInt(100)));
+        }
+        KdTree tree = new KdTree(nodes);
+        int k = 5;
+        int[] all = tree.findAllNearest(k);
+        assertEquals(nodes.size() * k, all.length);
+        
+        for (int i = 0; i < nodes.size(); i += 7) {
+            Node node = nodes.get(i);
+            List<Double> expected = new ArrayList<>();
+            for (int j = 0; j < nodes.size(); j++) {
+                if (j != i) {
+                    expected.add(node.distanceTo(nodes.get(j)));
+                }
+            }
+            expected.sort(null);
+            int[] nearest = tree.findNearest(i, k);
+            assertEquals(k, nearest.length);
+            for (int rank = 0; rank < k; rank++) {
+                assertNotEquals(i, nearest[rank]);
+                assertEquals(expected.get(rank), node.distanceTo(nodes.get(nearest[rank])), 1e-9);
+                assertEquals(expected.get(rank), node.distanceTo(nodes.get(all[i * k + rank])), 1e-9);
+            }
+        }
+        
+        // Requête par position : le nœud situé à cette position est compris
+        int[] atPosition = tree.findNearest(nodes.get(0).getX(), nodes.get(0).getY(), 1);
+        assertEquals(0.0, nodes.get(0).distanceTo(nodes.get(atPosition[0])), 1e-9);
+        
+        // Moins de k autres nœuds : complété par -1
+        KdTree small = new KdTree(List.of(new Node("S0", 0, 0), new Node("S1", 3, 4)));
+        assertArrayEquals(new int[]{1, -1, -1, 0, -1, -1}, small.findAllNearest(3));
+        assertEquals(0, new KdTree(new ArrayList<>()).findAllNearest(2).length);
+        
+        // k nul : aucun voisin ; k négatif : refusé
+        assertEquals(0, small.findNearest(0, 0).length);
+        assertEquals(0, small.findNearest(1.0, 1.0, 0).length);
+        assertEquals(0, small.findAllNearest(0).length);
+        assertThrows(IllegalArgumentException.class, () -> small.findNearest(0, -1));
+        assertThrows(IllegalArgumentException.class, () -> small.findNearest(1.0, 1.0, -1));
+        assertThrows(IllegalArgumentException.class, () -> small.findAllNearest(-1));
+    }
+    
+    @Test
+    public void testNearestNeighborGraph() {
+        // Deux groupes denses et éloignés : le graphe kNN seul n'est pas connexe
+        Drawing drawing = new Drawing();
+        Random random = new Random(31);
+        for (int i = 0; i < 200; i++) {
+            double offset = i % 2 == 0 ? 0 : 5000;
+            drawing.addShape(new Circle(offset + random.nextDouble() * 100, random.nextDouble() * 100, 2, Color.RED, 1.0));
+        }
+        ShapeGraphCache cache = new ShapeGraphCache(drawing);
+        int proximityEdges = cache.getGraph().getEdgeCount();
+        
+        cache.setConstructionMode(GraphConstructionMode.NEAREST_NEIGHBORS);
+        cache.setNearestNeighborCount(4);
+        Graph knn = cache.getGraph();
+        assertTrue(knn.isConnected());
+        // Au plus n * k arêtes kNN, plus celle qui relie les deux groupes
+        assertTrue(knn.getEdgeCount() <= 200 * 4 + 1);
+        assertTrue(knn.getEdgeCount() < proximityEdges);
+        for (Node node : knn.getNodes()) {
+            assertTrue(knn.getNeighbors(node).size() >= 4);
+        }
+        
+        // Changer k ou le dessin reconstruit le graphe
+        cache.setNearestNeighborCount(2);
+        assertFalse(cache.isValid());
+        assertTrue(cache.getGraph().getEdgeCount() <= 200 * 2 + 1);
+        drawing.addShape(new Circle(2500, 50, 2, Color.BLUE, 1.0));
+        assertEquals(201, cache.getGraph().getNodeCount());
+        assertTrue(cache.getGraph().isConnected());
+        assertThrows(IllegalArgumentException.class, () -> cache.setNearestNeighborCount(0));
+    }
+    
+    private static long pairKey(int a, int b) {
+        return ((long) Math.min(a, b) << 32) | Math.max(a, b);
+    }
 }
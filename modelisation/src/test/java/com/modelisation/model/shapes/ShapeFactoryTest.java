@@ -94,4 +94,30 @@ public class ShapeFactoryTest {
         assertEquals(10, line.getPerimeter());
         assertEquals(10, line.getLength());
     }
+    
+    @Test
+    public void testShapeBounds() {
+        Rectangle rect = new Rectangle(10, 20, 100, 50, Color.BLACK, 2.0);
+        assertEquals(9, rect.getBounds().getMinX(), 0.001);
+        assertEquals(111, rect.getBounds().getMaxX(), 0.001);
+        assertEquals(71, rect.getBounds().getMaxY(), 0.001);
+        
+        // Les bornes en cache sont invalidées par les setters de géométrie
+        rect.setWidth(200);
+        assertEquals(211, rect.getBounds().getMaxX(), 0.001);
+        rect.setX(0);
+        assertEquals(-1, rect.getBounds().getMinX(), 0.001);
+        
+        Circle circle = new Circle(50, 50, 10, Color.BLACK, 2.0);
+        assertEquals(39, circle.getBounds().getMinX(), 0.001);
+        circle.setRadius(20);
+        assertEquals(71, circle.getBounds().getMaxY(), 0.001);
+        
+        // La boîte d'une ligne couvre sa tolérance de sélection
+        Line line = new Line(0, 0, 100, 0, Color.BLACK, 1.0);
+        assertTrue(line.contains(50, 4));
+        assertTrue(line.getBounds().contains(50, 4));
+        line.setEndX(300);
+        assertEquals(305, line.getBounds().getMaxX(), 0.001);
+    }
 }